@@ -0,0 +1,71 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.DirectoryEntry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ls -la fallback 파서 (SFTP 를 쓸 수 없는 서버의 디렉토리 조회).
+ * parse 는 전체 출력을 한 번에, parseLines 는 스트리밍 조회처럼 줄 단위로 처리.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LsOutputParserBenchmark {
+
+    @Param({"10000", "100000"})
+    int lines;
+
+    // long-iso: --time-style=long-iso, default: 기본 날짜 형식 (Jan 15 10:30)
+    @Param({"long-iso", "default"})
+    String timeStyle;
+
+    private String output;
+    private String[] outputLines;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder builder = new StringBuilder(lines * 64);
+        builder.append("total ").append(lines * 4).append('\n');
+        builder.append("drwxr-xr-x  2 user group     4096 ").append(date(0)).append(" .\n");
+        builder.append("drwxr-xr-x 18 user group     4096 ").append(date(1)).append(" ..\n");
+        for (int i = 0; i < lines; i++) {
+            if (i % 10 == 0) {
+                builder.append("drwxr-xr-x  3 user group     4096 ").append(date(i)).append(" dir_").append(i).append('\n');
+            } else if (i % 25 == 0) {
+                builder.append("lrwxrwxrwx  1 user group       12 ").append(date(i)).append(" link_").append(i)
+                    .append(" -> target_").append(i).append('\n');
+            } else {
+                builder.append("-rw-r--r--  1 user group ").append(String.format("%8d", i * 37L))
+                    .append(' ').append(date(i)).append(" file with space_").append(i).append(".log\n");
+            }
+        }
+        output = builder.toString();
+        outputLines = output.split("\n");
+    }
+
+    private String date(int i) {
+        int day = 1 + i % 28;
+        return timeStyle.equals("long-iso")
+            ? String.format("2024-01-%02d 10:%02d", day, i % 60)
+            : String.format("Jan %2d 10:%02d", day, i % 60);
+    }
+
+    @Benchmark
+    public List<DirectoryEntry> parse() {
+        return LsOutputParser.parse(output);
+    }
+
+    @Benchmark
+    public void parseLines(Blackhole blackhole) {
+        for (String line : outputLines) {
+            blackhole.consume(LsOutputParser.parseLine(line));
+        }
+    }
+}
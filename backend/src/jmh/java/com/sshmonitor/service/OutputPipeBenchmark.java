@@ -0,0 +1,175 @@
+package com.sshmonitor.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 출력 전달 경로 처리량: 연산 1회 = 채널 쪽 스레드가 PAYLOAD_BYTES 를 chunkSize 단위로 쓰고 읽는 쪽이 모두 받을 때까지.
+ * <ul>
+ *   <li>piped*: output-mode=pipe (PipedOutputStream -> PipedInputStream -> reader 스레드)</li>
+ *   <li>queueHandoff: 청크 복사본을 큐로 넘기는 스레드 간 전달</li>
+ *   <li>directCallback: output-mode=async (읽기 콜백에서 바로 처리, 스레드 전환 없음)</li>
+ * </ul>
+ * ops/s * 1MB = MB/s
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputPipeBenchmark {
+
+    private static final int PAYLOAD_BYTES = 1 << 20;
+    // terminal.buffer-size 기본값
+    private static final int DEFAULT_PIPE_BUFFER = 8192;
+
+    @Param({"256", "4096", "32768"})
+    int chunkSize;
+
+    private byte[] chunk;
+    private byte[] readBuffer;
+    private byte[] callbackBuffer;
+    private PipeWriter defaultPipe;
+    private PipeWriter largePipe;
+    private QueueWriter queue;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        chunk = new byte[chunkSize];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = (byte) ('a' + i % 26);
+        }
+        readBuffer = new byte[DEFAULT_PIPE_BUFFER];
+        callbackBuffer = new byte[chunkSize];
+        defaultPipe = new PipeWriter(chunk, DEFAULT_PIPE_BUFFER);
+        largePipe = new PipeWriter(chunk, 65536);
+        queue = new QueueWriter(chunk);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        defaultPipe.close();
+        largePipe.close();
+        queue.close();
+    }
+
+    @Benchmark
+    public long pipedDefaultBuffer() throws IOException {
+        return defaultPipe.transfer(readBuffer);
+    }
+
+    @Benchmark
+    public long pipedLargeBuffer() throws IOException {
+        return largePipe.transfer(readBuffer);
+    }
+
+    @Benchmark
+    public long queueHandoff(Blackhole blackhole) throws InterruptedException {
+        return queue.transfer(blackhole);
+    }
+
+    @Benchmark
+    public long directCallback(Blackhole blackhole) {
+        long received = 0;
+        while (received < PAYLOAD_BYTES) {
+            // 비동기 읽기 콜백: 읽기 버퍼를 출력 병합 버퍼로 한 번 복사
+            System.arraycopy(chunk, 0, callbackBuffer, 0, chunk.length);
+            blackhole.consume(callbackBuffer);
+            received += chunk.length;
+        }
+        return received;
+    }
+
+    /**
+     * 요청마다 PAYLOAD_BYTES 를 파이프에 쓰는 스레드 (MINA 채널 쪽 역할)
+     */
+    private static final class PipeWriter {
+        private final PipedInputStream input;
+        private final PipedOutputStream output;
+        private final Semaphore requests = new Semaphore(0);
+        private final Thread thread;
+
+        PipeWriter(byte[] chunk, int pipeBuffer) throws IOException {
+            input = new PipedInputStream(pipeBuffer);
+            output = new PipedOutputStream(input);
+            thread = Thread.ofPlatform().daemon().name("pipe-writer-" + pipeBuffer).start(() -> {
+                try {
+                    while (true) {
+                        requests.acquire();
+                        for (int written = 0; written < PAYLOAD_BYTES; written += chunk.length) {
+                            output.write(chunk);
+                        }
+                        output.flush();
+                    }
+                } catch (InterruptedException | IOException e) {
+                    // 종료
+                }
+            });
+        }
+
+        long transfer(byte[] buffer) throws IOException {
+            requests.release();
+            long received = 0;
+            while (received < PAYLOAD_BYTES) {
+                int read = input.read(buffer);
+                if (read < 0) {
+                    throw new IOException("Pipe closed");
+                }
+                received += read;
+            }
+            return received;
+        }
+
+        void close() {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * 청크 복사본을 큐로 넘기는 스레드
+     */
+    private static final class QueueWriter {
+        private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(64);
+        private final Semaphore requests = new Semaphore(0);
+        private final Thread thread;
+
+        QueueWriter(byte[] chunk) {
+            thread = Thread.ofPlatform().daemon().name("queue-writer").start(() -> {
+                try {
+                    while (true) {
+                        requests.acquire();
+                        for (int written = 0; written < PAYLOAD_BYTES; written += chunk.length) {
+                            chunks.put(chunk.clone());
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // 종료
+                }
+            });
+        }
+
+        long transfer(Blackhole blackhole) throws InterruptedException {
+            requests.release();
+            long received = 0;
+            while (received < PAYLOAD_BYTES) {
+                byte[] data = chunks.take();
+                blackhole.consume(data);
+                received += data.length;
+            }
+            return received;
+        }
+
+        void close() {
+            thread.interrupt();
+        }
+    }
+}
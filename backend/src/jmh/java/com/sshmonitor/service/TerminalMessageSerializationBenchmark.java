@@ -0,0 +1,83 @@
+package com.sshmonitor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sshmonitor.dto.BinaryTerminalFrame;
+import com.sshmonitor.dto.TerminalMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 출력 프레임 하나의 직렬화 비용.
+ * stompJson 은 StompTerminalOutputSink + SimpMessagingTemplate 경로 (UTF-8 디코딩 -> TerminalMessage -> Jackson 변환기),
+ * binaryFrame 은 /ws/terminal-binary 경로 (원본 바이트 복사).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TerminalMessageSerializationBenchmark {
+
+    private static final String SESSION_ID = "pane-0f8a2c1e-7d44-4b1a-9e0b-3c6f5a1d2e90";
+
+    @Param({"64", "4096", "32768"})
+    int payloadBytes;
+
+    // plain: 일반 텍스트, ansi: 색상 escape 시퀀스가 많은 출력 (JSON 에서 \u001b 로 이스케이프됨)
+    @Param({"plain", "ansi"})
+    String content;
+
+    private byte[] data;
+    private TerminalMessage message;
+    private ObjectMapper objectMapper;
+    private MappingJackson2MessageConverter converter;
+    private MessageHeaders headers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String unit = content.equals("ansi")
+            ? "\u001b[01;34mdirectory\u001b[0m  \u001b[01;32mscript.sh\u001b[0m\r\n"
+            : "-rw-r--r-- 1 user group 4096 2024-01-15 10:30 file.txt\r\n";
+        StringBuilder text = new StringBuilder(payloadBytes);
+        while (text.length() < payloadBytes) {
+            text.append(unit);
+        }
+        data = text.substring(0, payloadBytes).getBytes(StandardCharsets.UTF_8);
+        message = TerminalMessage.output(SESSION_ID, new String(data, StandardCharsets.UTF_8), 123_456L);
+
+        // Spring Boot 가 브로커 변환기에 넣는 ObjectMapper 와 같은 기본 설정
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination("/topic/terminal/" + SESSION_ID);
+        accessor.setLeaveMutable(true);
+        headers = accessor.getMessageHeaders();
+    }
+
+    @Benchmark
+    public Message<?> stompJson() {
+        TerminalMessage output = TerminalMessage.output(SESSION_ID, new String(data, StandardCharsets.UTF_8), 123_456L);
+        return converter.toMessage(output, headers);
+    }
+
+    @Benchmark
+    public byte[] objectMapperOnly() throws Exception {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public ByteBuffer binaryFrame() {
+        return BinaryTerminalFrame.encode(BinaryTerminalFrame.OUTPUT, SESSION_ID, data, 0, data.length);
+    }
+}
@@ -0,0 +1,73 @@
+package com.sshmonitor.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 출력 청크의 UTF-8 디코딩 (STOMP 출력 경로의 new String) 과 청크 끝 경계 검사 비용
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Utf8DecodeBenchmark {
+
+    @Param({"256", "8192", "32768"})
+    int chunkBytes;
+
+    // ascii: 영문 출력, mixed: 한글 파일명이 섞인 ls 출력, korean: 한글 위주 (3바이트 문자)
+    @Param({"ascii", "mixed", "korean"})
+    String content;
+
+    private byte[] chunk;
+    private int completeLength;
+    private CharsetDecoder decoder;
+    private CharBuffer chars;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String unit = switch (content) {
+            case "korean" -> "한글 출력 결과입니다 서버 상태 정상\r\n";
+            case "mixed" -> "-rw-r--r-- 1 user group 4096 2024-01-15 10:30 보고서_최종.txt\r\n";
+            default -> "-rw-r--r-- 1 user group 4096 2024-01-15 10:30 report-final.txt\r\n";
+        };
+        byte[] unitBytes = unit.getBytes(StandardCharsets.UTF_8);
+        chunk = new byte[chunkBytes];
+        for (int i = 0; i < chunkBytes; i++) {
+            chunk[i] = unitBytes[i % unitBytes.length];
+        }
+        // 실제 출력처럼 청크 끝이 문자 중간에서 잘릴 수 있음
+        completeLength = TerminalOutputCoalescer.completeUtf8Length(chunk, chunk.length);
+        decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        chars = CharBuffer.allocate(chunkBytes);
+    }
+
+    @Benchmark
+    public String newString() {
+        return new String(chunk, 0, completeLength, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public CharBuffer reusedDecoder() {
+        chars.clear();
+        decoder.reset();
+        decoder.decode(ByteBuffer.wrap(chunk, 0, completeLength), chars, true);
+        decoder.flush(chars);
+        return chars.flip();
+    }
+
+    @Benchmark
+    public int completeUtf8Length() {
+        return TerminalOutputCoalescer.completeUtf8Length(chunk, chunk.length);
+    }
+}
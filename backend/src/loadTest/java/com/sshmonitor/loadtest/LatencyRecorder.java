@@ -0,0 +1,51 @@
+package com.sshmonitor.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 지연 시간 표본 (마이크로초). 부하 테스트 한 번의 표본 수는 많지 않으므로 모두 보관했다가 정렬해 백분위를 구한다.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+
+    synchronized void record(long micros) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = micros;
+    }
+
+    synchronized Summary summarize() {
+        if (count == 0) {
+            return new Summary(0, 0, 0, 0, 0, 0);
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        long sum = 0;
+        for (long sample : sorted) {
+            sum += sample;
+        }
+        return new Summary(count, toMillis(sum / count), toMillis(percentile(sorted, 0.50)),
+            toMillis(percentile(sorted, 0.90)), toMillis(percentile(sorted, 0.99)), toMillis(sorted[count - 1]));
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double toMillis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    record Summary(
+        long count,
+        double meanMs,
+        double p50Ms,
+        double p90Ms,
+        double p99Ms,
+        double maxMs
+    ) {}
+}
@@ -0,0 +1,234 @@
+package com.sshmonitor.loadtest;
+
+import com.sshmonitor.dto.TerminalConnectRequest;
+import com.sshmonitor.dto.TerminalDisconnectRequest;
+import com.sshmonitor.dto.TerminalInputRequest;
+import com.sshmonitor.dto.TerminalMessage;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.simp.stomp.StompSession.Subscription;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 브라우저 탭 하나에 해당하는 STOMP 클라이언트 (/ws/terminal, SockJS).
+ * 한 번에 터미널 하나를 열고, 입력마다 고유한 표식을 보내 그 표식이 출력으로 돌아올 때까지의 시간을 에코 지연으로 기록한다.
+ * 전송은 클라이언트를 소유한 스레드 하나에서만 한다 (WebSocket 세션은 동시 전송 불가).
+ */
+final class LoadTestClient {
+
+    private static final long RESPONSE_TIMEOUT_MS = 10000;
+    private static final long ECHO_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final int TAIL_CHARS = 32;
+
+    private final int index;
+    private final LoadTestStats stats;
+    private StompSession stomp;
+
+    // 현재 터미널 (소유 스레드에서 교체, 수신 스레드에서 읽음)
+    private volatile Terminal terminal;
+    private long nextTerminal;
+    private long nextKeystroke;
+
+    LoadTestClient(int index, LoadTestStats stats) {
+        this.index = index;
+        this.stats = stats;
+    }
+
+    void open(WebSocketStompClient stompClient, String url) throws Exception {
+        stomp = stompClient.connectAsync(url, new StompSessionHandlerAdapter() {
+            @Override
+            public void handleTransportError(StompSession session, Throwable exception) {
+                stats.transportErrors.incrementAndGet();
+            }
+        }).get(RESPONSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    boolean isOpen() {
+        return stomp != null && stomp.isConnected();
+    }
+
+    /**
+     * 터미널 세션을 열고 connected 응답까지 대기
+     *
+     * @return 성공 여부 (실패는 stats.connectFailures 에 집계)
+     */
+    boolean openTerminal(String host, int port) {
+        Terminal current = new Terminal("load-" + index + "-" + nextTerminal++);
+        terminal = current;
+        try {
+            current.subscription = stomp.subscribe("/topic/terminal/" + current.sessionId, current);
+            // 구독이 브로커에 등록된 뒤에 connect 를 보내도록 ping 응답(pong)으로 확인 (inbound 채널은 순서 보장 없음)
+            StompHeaders ping = new StompHeaders();
+            ping.setDestination("/app/terminal/ping");
+            ping.setContentType(MimeTypeUtils.TEXT_PLAIN);
+            stomp.send(ping, current.sessionId);
+            current.subscribed.get(RESPONSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+            long start = System.nanoTime();
+            stomp.send("/app/terminal/connect", new TerminalConnectRequest(current.sessionId, host, port, "load",
+                "password", "load", null, null, null));
+            TerminalMessage response = current.connected.get(RESPONSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (!"connected".equals(response.type())) {
+                stats.connectFailures.incrementAndGet();
+                stats.recordFailure(response.errorCode() != null ? response.errorCode() : response.type());
+                unsubscribe(current);
+                return false;
+            }
+            stats.connectLatency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            stats.sessionsOpened.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            stats.connectFailures.incrementAndGet();
+            stats.recordFailure(e.getClass().getSimpleName());
+            unsubscribe(current);
+            return false;
+        }
+    }
+
+    /**
+     * 응답을 기다리는 입력이 없으면 새 표식 입력 전송
+     *
+     * @return 보낸 입력의 에코 완료 future (보내지 않았으면 null)
+     */
+    CompletableFuture<Void> sendKeystroke() {
+        Terminal current = terminal;
+        if (current == null || !isOpen()) {
+            return null;
+        }
+        Keystroke keystroke = new Keystroke("#" + index + "." + nextKeystroke++ + ";", System.nanoTime());
+        synchronized (current) {
+            if (current.pending != null) {
+                if (keystroke.sentAt - current.pending.sentAt < ECHO_TIMEOUT_NANOS) {
+                    return null;
+                }
+                stats.echoTimeouts.incrementAndGet();
+            }
+            current.pending = keystroke;
+        }
+        stomp.send("/app/terminal/input", new TerminalInputRequest(current.sessionId, keystroke.marker));
+        return keystroke.echoed;
+    }
+
+    /**
+     * 입력 하나를 보내고 에코까지 대기 (가상 스레드에서 호출해도 캐리어 스레드를 붙잡지 않도록 모니터 대기 없음)
+     */
+    boolean roundTrip() {
+        CompletableFuture<Void> echoed = sendKeystroke();
+        if (echoed == null) {
+            return false;
+        }
+        try {
+            echoed.get(ECHO_TIMEOUT_NANOS, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (Exception e) {
+            stats.echoTimeouts.incrementAndGet();
+            Terminal current = terminal;
+            if (current != null) {
+                synchronized (current) {
+                    current.pending = null;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * disconnect 요청 후 disconnected 응답까지 대기
+     */
+    void closeTerminal() {
+        Terminal current = terminal;
+        if (current == null) {
+            return;
+        }
+        terminal = null;
+        try {
+            if (isOpen()) {
+                stomp.send("/app/terminal/disconnect", new TerminalDisconnectRequest(current.sessionId));
+                current.disconnected.get(RESPONSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            }
+        } catch (Exception e) {
+            stats.recordFailure("disconnect_" + e.getClass().getSimpleName());
+        } finally {
+            unsubscribe(current);
+        }
+    }
+
+    void close() {
+        closeTerminal();
+        if (isOpen()) {
+            stomp.disconnect();
+        }
+    }
+
+    private void unsubscribe(Terminal current) {
+        if (current.subscription != null && isOpen()) {
+            current.subscription.unsubscribe();
+        }
+    }
+
+    private final class Terminal implements StompFrameHandler {
+
+        final String sessionId;
+        final CompletableFuture<Void> subscribed = new CompletableFuture<>();
+        final CompletableFuture<TerminalMessage> connected = new CompletableFuture<>();
+        final CompletableFuture<Void> disconnected = new CompletableFuture<>();
+        volatile Subscription subscription;
+        // 에코 대기 중인 입력 (this 로 동기화)
+        Keystroke pending;
+        // 프레임 경계에 걸친 표식을 찾기 위한 직전 출력 끝부분
+        private String tail = "";
+
+        Terminal(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return TerminalMessage.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            TerminalMessage message = (TerminalMessage) payload;
+            switch (message.type()) {
+                case "pong" -> subscribed.complete(null);
+                case "connected", "error" -> connected.complete(message);
+                case "disconnected" -> disconnected.complete(null);
+                case "output" -> onOutput(message.data());
+                default -> {
+                    // resized, health_check 등은 무시
+                }
+            }
+        }
+
+        private void onOutput(String data) {
+            if (data == null) {
+                return;
+            }
+            stats.outputChars.addAndGet(data.length());
+            stats.outputFrames.incrementAndGet();
+            synchronized (this) {
+                String text = tail + data;
+                tail = text.length() > TAIL_CHARS ? text.substring(text.length() - TAIL_CHARS) : text;
+                if (pending != null && text.contains(pending.marker)) {
+                    stats.echoLatency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - pending.sentAt));
+                    pending.echoed.complete(null);
+                    pending = null;
+                }
+            }
+        }
+    }
+
+    private record Keystroke(String marker, long sentAt, CompletableFuture<Void> echoed) {
+        Keystroke(String marker, long sentAt) {
+            this(marker, sentAt, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.sshmonitor.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 부하 테스트 옵션 (--name=value). 여기 없는 인자(--terminal.output-mode=pipe 등)는 백엔드 설정으로 전달한다.
+ *
+ * @param profile            throughput = N개 세션 유지하며 출력/에코 측정, churn = 연결/종료 반복
+ * @param clients            동시 클라이언트 수 (클라이언트마다 STOMP 연결 하나)
+ * @param durationSeconds    측정 시간
+ * @param outputRate         셸이 세션마다 초당 내보내는 출력 바이트 (0 = 에코만)
+ * @param echoDelayMs        셸이 입력을 되돌려 보내기까지의 지연 (원격 셸 응답 시간 흉내)
+ * @param keystrokeIntervalMs 클라이언트별 입력 간격 (응답을 기다리는 입력이 있으면 건너뜀)
+ * @param rampConcurrency    throughput 시작 시 동시에 여는 세션 수
+ * @param settleMs           종료 후 세션/연결/정리 작업이 0이 되기를 기다리는 최대 시간
+ * @param reportDir          결과 JSON 저장 위치
+ */
+record LoadTestOptions(
+    String profile,
+    int clients,
+    int durationSeconds,
+    int outputRate,
+    int echoDelayMs,
+    int keystrokeIntervalMs,
+    int rampConcurrency,
+    long settleMs,
+    String reportDir,
+    List<String> backendArgs
+) {
+    static final String THROUGHPUT = "throughput";
+    static final String CHURN = "churn";
+
+    static LoadTestOptions parse(String[] args) {
+        String profile = THROUGHPUT;
+        int clients = 32;
+        int durationSeconds = 30;
+        Integer outputRate = null;
+        int echoDelayMs = 0;
+        int keystrokeIntervalMs = 200;
+        int rampConcurrency = 8;
+        long settleMs = 15000;
+        String reportDir = "build/reports/load-test";
+        List<String> backendArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "profile" -> profile = value;
+                case "clients" -> clients = Integer.parseInt(value);
+                case "duration" -> durationSeconds = Integer.parseInt(value);
+                case "output-rate" -> outputRate = Integer.parseInt(value);
+                case "echo-delay-ms" -> echoDelayMs = Integer.parseInt(value);
+                case "keystroke-interval-ms" -> keystrokeIntervalMs = Integer.parseInt(value);
+                case "ramp-concurrency" -> rampConcurrency = Integer.parseInt(value);
+                case "settle-ms" -> settleMs = Long.parseLong(value);
+                case "report-dir" -> reportDir = value;
+                default -> backendArgs.add(arg);
+            }
+        }
+        if (!THROUGHPUT.equals(profile) && !CHURN.equals(profile)) {
+            throw new IllegalArgumentException("Unknown profile: " + profile + " (throughput, churn)");
+        }
+        if (outputRate == null) {
+            // churn 은 연결/종료 비용만 보도록 기본 출력 없음
+            outputRate = THROUGHPUT.equals(profile) ? 16384 : 0;
+        }
+        return new LoadTestOptions(profile, Math.max(1, clients), Math.max(1, durationSeconds), Math.max(0, outputRate),
+            Math.max(0, echoDelayMs), Math.max(10, keystrokeIntervalMs), Math.max(1, rampConcurrency),
+            Math.max(0, settleMs), reportDir, List.copyOf(backendArgs));
+    }
+}
@@ -0,0 +1,106 @@
+package com.sshmonitor.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 결과 (build/reports/load-test/{profile}.json, 변경 전후 비교용)
+ */
+record LoadTestReport(
+    String profile,
+    int clients,
+    double elapsedSeconds,
+    Map<String, String> backendSettings,
+    Throughput throughput,
+    LatencyRecorder.Summary connectLatency,
+    LatencyRecorder.Summary echoLatency,
+    Resources resources,
+    Leaks leaks
+) {
+    /**
+     * @param sessionsPerSecond throughput = 시작 시 세션을 여는 속도, churn = 열고 닫은 세션 수 / 측정 시간
+     * @param outputCharsPerSecond 클라이언트가 받은 터미널 출력 (전체 세션 합계)
+     */
+    record Throughput(
+        long sessionsOpened,
+        long connectFailures,
+        double sessionsPerSecond,
+        long outputCharsPerSecond,
+        long outputFramesPerSecond,
+        long echoTimeouts,
+        long transportErrors,
+        Map<String, Long> failures
+    ) {}
+
+    /**
+     * 시작(baseline, 세션 없음) / 측정 중 최댓값(peak) / 모두 닫은 뒤(final) 비교
+     */
+    record Resources(
+        long heapBaselineMb,
+        long heapPeakMb,
+        long heapFinalMb,
+        long directBaselineMb,
+        long directPeakMb,
+        long directFinalMb,
+        int threadsBaseline,
+        int threadsPeak,
+        int threadsFinal,
+        Map<String, Integer> threadGrowth      // 종료 후에도 시작 때보다 많은 스레드 그룹
+    ) {}
+
+    /**
+     * 모든 세션을 닫고 settle-ms 동안 기다린 뒤 남은 자원 (모두 0이어야 함)
+     */
+    record Leaks(
+        int terminalSessions,       // 서비스에 남은 터미널 세션
+        int sshConnections,         // 연결 관리자에 남은 SSH 연결
+        int serverSessions,         // 내장 SSHD 쪽에서 닫히지 않은 SSH 세션
+        int serverShells,           // 내장 SSHD 쪽에서 종료되지 않은 셸
+        int pendingTeardowns,       // 정리 대기 중인 작업
+        int pipeReaders,            // PipedInputStream 에서 대기 중인 reader 스레드
+        long settleMs               // 0이 될 때까지 걸린 시간 (제한 시간 초과 시 settle-ms)
+    ) {
+        boolean detected() {
+            return terminalSessions + sshConnections + serverSessions + serverShells + pendingTeardowns + pipeReaders > 0;
+        }
+    }
+
+    void print() {
+        System.out.println();
+        System.out.printf("== %s: %d clients, %.1fs ==%n", profile, clients, elapsedSeconds);
+        backendSettings.forEach((key, value) -> System.out.printf("  %-36s %s%n", key, value));
+        System.out.printf("sessions      opened %d, failed %d, %.1f sessions/s%n",
+            throughput.sessionsOpened(), throughput.connectFailures(), throughput.sessionsPerSecond());
+        System.out.printf("output        %d chars/s, %d frames/s%n",
+            throughput.outputCharsPerSecond(), throughput.outputFramesPerSecond());
+        printLatency("connect", connectLatency);
+        printLatency("echo", echoLatency);
+        System.out.printf("errors        echo timeouts %d, transport %d %s%n",
+            throughput.echoTimeouts(), throughput.transportErrors(), throughput.failures());
+        System.out.printf("heap MB       baseline %d, peak %d, final %d%n",
+            resources.heapBaselineMb(), resources.heapPeakMb(), resources.heapFinalMb());
+        System.out.printf("direct MB     baseline %d, peak %d, final %d%n",
+            resources.directBaselineMb(), resources.directPeakMb(), resources.directFinalMb());
+        System.out.printf("threads       baseline %d, peak %d, final %d %s%n",
+            resources.threadsBaseline(), resources.threadsPeak(), resources.threadsFinal(), resources.threadGrowth());
+        System.out.printf("leaks         %s (sessions %d, ssh connections %d, server sessions %d, server shells %d, "
+                + "pending teardowns %d, pipe readers %d, settled in %d ms)%n",
+            leaks.detected() ? "DETECTED" : "none", leaks.terminalSessions(), leaks.sshConnections(),
+            leaks.serverSessions(), leaks.serverShells(), leaks.pendingTeardowns(), leaks.pipeReaders(), leaks.settleMs());
+    }
+
+    private static void printLatency(String name, LatencyRecorder.Summary summary) {
+        System.out.printf("%-13s n=%d mean %.2f ms, p50 %.2f, p90 %.2f, p99 %.2f, max %.2f%n", name + " latency",
+            summary.count(), summary.meanMs(), summary.p50Ms(), summary.p90Ms(), summary.p99Ms(), summary.maxMs());
+    }
+
+    static final List<String> REPORTED_SETTINGS = List.of(
+        "terminal.output-mode",
+        "terminal.coalesce.enabled",
+        "terminal.flow-control.policy",
+        "ssh.shared-session.enabled",
+        "ssh.shared-session.max-channels",
+        "ssh.shared-session.reserved-channels",
+        "spring.threads.virtual.enabled"
+    );
+}
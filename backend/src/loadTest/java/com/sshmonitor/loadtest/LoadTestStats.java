@@ -0,0 +1,35 @@
+package com.sshmonitor.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 전체 클라이언트 공용 집계
+ */
+final class LoadTestStats {
+
+    final LatencyRecorder connectLatency = new LatencyRecorder();
+    final LatencyRecorder echoLatency = new LatencyRecorder();
+    final AtomicLong sessionsOpened = new AtomicLong();
+    final AtomicLong connectFailures = new AtomicLong();
+    final AtomicLong echoTimeouts = new AtomicLong();
+    final AtomicLong transportErrors = new AtomicLong();
+    final AtomicLong outputChars = new AtomicLong();
+    final AtomicLong outputFrames = new AtomicLong();
+    private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+
+    /**
+     * @param reason 오류 코드 또는 예외 클래스 이름
+     */
+    void recordFailure(String reason) {
+        failures.computeIfAbsent(reason, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    Map<String, Long> getFailures() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        failures.forEach((reason, count) -> snapshot.put(reason, count.get()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,98 @@
+package com.sshmonitor.loadtest;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JVM 자원 사용량: 힙, direct 메모리(스크롤백), 스레드 수.
+ * 측정 중에는 1초마다 최댓값을 기록하고, 시작/종료 시점 값은 GC 후에 읽는다.
+ */
+final class ResourceSampler {
+
+    private static final long MB = 1024 * 1024;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("loadtest-sampler").daemon().factory());
+    private volatile long peakHeapBytes;
+    private volatile long peakDirectBytes;
+
+    void start() {
+        threads.resetPeakThreadCount();
+        scheduler.scheduleAtFixedRate(this::sample, 0, 1, TimeUnit.SECONDS);
+    }
+
+    void stop() {
+        scheduler.shutdownNow();
+        sample();
+    }
+
+    Snapshot snapshotAfterGc() {
+        System.gc();
+        System.gc();
+        return new Snapshot(memory.getHeapMemoryUsage().getUsed() / MB, directBytes() / MB, threads.getThreadCount());
+    }
+
+    long getPeakHeapMb() {
+        return peakHeapBytes / MB;
+    }
+
+    long getPeakDirectMb() {
+        return peakDirectBytes / MB;
+    }
+
+    int getPeakThreads() {
+        return threads.getPeakThreadCount();
+    }
+
+    /**
+     * 이름의 숫자를 지운 스레드 그룹별 개수 (시작 시점과 비교해 늘어난 그룹 확인용)
+     */
+    static Map<String, Integer> threadGroups() {
+        Map<String, Integer> groups = new TreeMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            groups.merge(thread.getName().replaceAll("\\d+", "N"), 1, Integer::sum);
+        }
+        return groups;
+    }
+
+    /**
+     * PipedInputStream 에서 대기 중인 스레드 수 (output-mode=pipe 의 reader, 세션이 모두 닫힌 뒤 남아 있으면 누수)
+     */
+    static int pipeReaders() {
+        int count = 0;
+        for (StackTraceElement[] stack : Thread.getAllStackTraces().values()) {
+            for (StackTraceElement frame : stack) {
+                if ("java.io.PipedInputStream".equals(frame.getClassName())) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    private void sample() {
+        peakHeapBytes = Math.max(peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+        peakDirectBytes = Math.max(peakDirectBytes, directBytes());
+    }
+
+    private static long directBytes() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+
+    record Snapshot(long heapMb, long directMb, int threads) {}
+}
@@ -0,0 +1,222 @@
+package com.sshmonitor.loadtest;
+
+import org.apache.sshd.common.io.IoInputStream;
+import org.apache.sshd.common.io.IoOutputStream;
+import org.apache.sshd.common.util.buffer.Buffer;
+import org.apache.sshd.common.util.buffer.ByteArrayBuffer;
+import org.apache.sshd.server.Environment;
+import org.apache.sshd.server.ExitCallback;
+import org.apache.sshd.server.channel.ChannelSession;
+import org.apache.sshd.server.command.AsyncCommand;
+import org.apache.sshd.server.command.Command;
+import org.apache.sshd.server.shell.ShellFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하 테스트용 셸: 입력을 echoDelayMs 뒤에 그대로 되돌려 보내고, 세션마다 초당 outputRate 바이트의 출력을 만든다.
+ * 비동기 채널 스트림만 사용해 세션 수가 늘어도 셸 쪽 스레드는 공용 스케줄러 두 개뿐이다
+ * (측정하는 JVM 스레드 수에 셸 스레드가 섞이지 않도록).
+ * 출력은 a-z, 0-9, 공백, 줄바꿈만 쓰므로 클라이언트의 에코 표식(#...;)과 겹치지 않는다.
+ */
+final class ScriptedShellFactory implements ShellFactory {
+
+    private static final long TICK_MS = 10;
+    private static final int READ_BUFFER_SIZE = 8192;
+    // 채널로 전달되지 못한 출력이 이만큼 쌓이면 출력 생성을 멈춤 (쓰기가 막힌 원격 프로세스)
+    private static final long MAX_PENDING_BYTES = 256 * 1024;
+    private static final byte[] PATTERN = buildPattern();
+
+    private final int bytesPerTick;
+    private final long echoDelayMs;
+    private final Set<ScriptedShell> shells = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2,
+        Thread.ofPlatform().name("loadtest-shell-", 0).daemon().factory());
+
+    ScriptedShellFactory(int outputRate, long echoDelayMs) {
+        this.bytesPerTick = (int) (outputRate * TICK_MS / 1000);
+        this.echoDelayMs = echoDelayMs;
+        if (bytesPerTick > 0) {
+            scheduler.scheduleAtFixedRate(() -> shells.forEach(ScriptedShell::tick), TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Command createShell(ChannelSession channel) {
+        return new ScriptedShell();
+    }
+
+    int getOpenShells() {
+        return shells.size();
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private static byte[] buildPattern() {
+        StringBuilder text = new StringBuilder();
+        for (int line = 0; text.length() < 64 * 1024; line++) {
+            text.append(String.format("%06d ", line)).append("the quick brown fox jumps over the lazy dog 0123456789\r\n");
+        }
+        return text.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private final class ScriptedShell implements AsyncCommand {
+
+        private final Queue<byte[]> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private final AtomicLong pendingBytes = new AtomicLong();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private IoInputStream in;
+        private IoOutputStream out;
+        private ExitCallback exitCallback;
+        private int patternOffset;
+
+        @Override
+        public void setIoInputStream(IoInputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public void setIoOutputStream(IoOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void setIoErrorStream(IoOutputStream err) {
+            // stderr 사용 안 함
+        }
+
+        @Override
+        public void setInputStream(InputStream in) {
+            // 비동기 스트림 사용
+        }
+
+        @Override
+        public void setOutputStream(OutputStream out) {
+            // 비동기 스트림 사용
+        }
+
+        @Override
+        public void setErrorStream(OutputStream err) {
+            // 비동기 스트림 사용
+        }
+
+        @Override
+        public void setExitCallback(ExitCallback callback) {
+            this.exitCallback = callback;
+        }
+
+        @Override
+        public void start(ChannelSession channel, Environment env) {
+            shells.add(this);
+            write("$ ".getBytes(StandardCharsets.US_ASCII));
+            readNext();
+        }
+
+        @Override
+        public void destroy(ChannelSession channel) {
+            closed.set(true);
+            shells.remove(this);
+        }
+
+        /**
+         * 출력 생성 (스케줄러 스레드 하나에서만 호출)
+         */
+        void tick() {
+            if (closed.get() || pendingBytes.get() > MAX_PENDING_BYTES) {
+                return;
+            }
+            byte[] chunk = new byte[bytesPerTick];
+            for (int filled = 0; filled < chunk.length; ) {
+                int length = Math.min(chunk.length - filled, PATTERN.length - patternOffset);
+                System.arraycopy(PATTERN, patternOffset, chunk, filled, length);
+                filled += length;
+                patternOffset = (patternOffset + length) % PATTERN.length;
+            }
+            write(chunk);
+        }
+
+        private void readNext() {
+            if (closed.get()) {
+                return;
+            }
+            in.read(new ByteArrayBuffer(READ_BUFFER_SIZE)).addListener(future -> {
+                if (future.getException() != null || future.getRead() < 0) {
+                    exit();
+                    return;
+                }
+                Buffer buffer = future.getBuffer();
+                byte[] data = new byte[buffer.available()];
+                buffer.getRawBytes(data);
+                if (echoDelayMs > 0) {
+                    scheduler.schedule(() -> write(data), echoDelayMs, TimeUnit.MILLISECONDS);
+                } else {
+                    write(data);
+                }
+                readNext();
+            });
+        }
+
+        private void write(byte[] data) {
+            if (closed.get()) {
+                return;
+            }
+            pendingBytes.addAndGet(data.length);
+            queue.add(data);
+            drain();
+        }
+
+        /**
+         * 비동기 스트림은 이전 쓰기가 끝나기 전에 다시 쓸 수 없으므로 한 번에 하나씩 전송
+         */
+        private void drain() {
+            while (!closed.get() && writing.compareAndSet(false, true)) {
+                byte[] next = queue.poll();
+                if (next == null) {
+                    writing.set(false);
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    out.writeBuffer(new ByteArrayBuffer(next)).addListener(future -> {
+                        pendingBytes.addAndGet(-next.length);
+                        writing.set(false);
+                        if (future.isWritten()) {
+                            drain();
+                        } else {
+                            exit();
+                        }
+                    });
+                } catch (IOException e) {
+                    writing.set(false);
+                    exit();
+                }
+                return;
+            }
+        }
+
+        private void exit() {
+            if (closed.compareAndSet(false, true)) {
+                shells.remove(this);
+                queue.clear();
+                exitCallback.onExit(0);
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.sshmonitor.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sshmonitor.SshMonitorApplication;
+import com.sshmonitor.service.SshConnectionManager;
+import com.sshmonitor.service.TerminalSessionService;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 터미널 백엔드 부하/내구 테스트.
+ * 같은 JVM 에서 내장 SSHD(스크립트 셸)와 백엔드(실제 TerminalSessionServiceImpl)를 띄우고,
+ * N개의 STOMP 클라이언트가 /ws/terminal 로 터미널을 열어 부하를 준다. 외부 서버나 네트워크 없이 실행된다.
+ * <ul>
+ *   <li>throughput: N개 세션을 열어 duration 동안 출력(output-rate)을 받으며 입력 -> 에코 지연 측정</li>
+ *   <li>churn: N개 클라이언트가 duration 동안 열기 -> 입력 1회 -> 닫기 반복</li>
+ * </ul>
+ * 종료 후 세션, SSH 연결, 정리 작업, pipe reader 가 모두 0이 되는지 확인하고 남으면 종료 코드 1.
+ *
+ * 사용법: gradle loadTest -PloadTest='--profile=churn --clients=64 --duration=300 --terminal.output-mode=pipe'
+ */
+public final class TerminalLoadTest {
+
+    // 출력 병합 프레임(terminal.coalesce.max-bytes)이 JSON 으로 커져도 받을 수 있도록
+    private static final int MAX_FRAME_BYTES = 1024 * 1024;
+    private static final long SETTLE_POLL_MS = 100;
+
+    private final LoadTestOptions options;
+    private final ScriptedShellFactory shells;
+    private final SshServer sshd;
+    private final ConfigurableApplicationContext context;
+    private final LoadTestStats stats = new LoadTestStats();
+    private final ResourceSampler sampler = new ResourceSampler();
+    // 가상 스레드: 클라이언트 구동 스레드가 측정하는 JVM 스레드 수에 잡히지 않도록
+    private final ExecutorService workers = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("loadtest-client-", 0).factory());
+
+    private TerminalLoadTest(LoadTestOptions options, ScriptedShellFactory shells, SshServer sshd,
+                             ConfigurableApplicationContext context) {
+        this.options = options;
+        this.shells = shells;
+        this.sshd = sshd;
+        this.context = context;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ScriptedShellFactory shells = new ScriptedShellFactory(options.outputRate(), options.echoDelayMs());
+        // 로그 설정이 적용된 뒤에 SSHD 시작
+        ConfigurableApplicationContext context = startBackend(options);
+        SshServer sshd = startSshServer(shells);
+
+        int exitCode;
+        try {
+            exitCode = new TerminalLoadTest(options, shells, sshd, context).run();
+        } finally {
+            context.close();
+            sshd.stop(true);
+            shells.shutdown();
+        }
+        System.exit(exitCode);
+    }
+
+    private static SshServer startSshServer(ScriptedShellFactory shells) throws Exception {
+        SshServer sshd = SshServer.setUpDefaultServer();
+        sshd.setHost("127.0.0.1");
+        sshd.setPort(0);
+        sshd.setKeyPairProvider(new SimpleGeneratorHostKeyProvider());
+        sshd.setPasswordAuthenticator((username, password, session) -> true);
+        sshd.setShellFactory(shells);
+        sshd.start();
+        return sshd;
+    }
+
+    /**
+     * 기본값은 시스템 속성으로 넣어 application.yml 보다 우선하고, 명령행의 백엔드 설정(--terminal.* 등)이 그보다 우선한다
+     */
+    private static ConfigurableApplicationContext startBackend(LoadTestOptions options) {
+        Map<String, Object> defaults = new LinkedHashMap<>();
+        defaults.put("server.port", 0);
+        defaults.put("spring.main.banner-mode", "off");
+        defaults.put("logging.config", "classpath:loadtest-logback.xml");
+        defaults.put("logging.level.com.sshmonitor", "WARN");
+        // 구독 확인용 ping 이 세션 생성 전이라 남기는 경고 제외
+        defaults.put("logging.level.com.sshmonitor.service.TerminalSessionServiceImpl", "ERROR");
+        defaults.put("logging.level.org.apache.sshd", "WARN");
+        // 내장 SSHD 쪽 연결 종료 경고, 자체 서명 호스트 키 경고 제외
+        defaults.put("logging.level.org.apache.sshd.server", "ERROR");
+        defaults.put("logging.level.org.apache.sshd.common.channel", "ERROR");
+        defaults.put("logging.level.org.apache.sshd.client.keyverifier", "ERROR");
+        defaults.put("terminal.max-sessions", options.clients() + 16);
+        // 스크립트 셸은 exec 채널을 지원하지 않음
+        defaults.put("terminal.metrics.enabled", false);
+        // 종료 후 누수 확인 시 연결 유지 시간을 기다리지 않도록
+        defaults.put("ssh.shared-session.idle-linger-ms", 0);
+        defaults.forEach((key, value) -> {
+            if (System.getProperty(key) == null) {
+                System.setProperty(key, String.valueOf(value));
+            }
+        });
+        return new SpringApplicationBuilder(SshMonitorApplication.class)
+            .run(options.backendArgs().toArray(String[]::new));
+    }
+
+    private int run() throws Exception {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String url = "ws://127.0.0.1:" + port + "/ws/terminal";
+        WebSocketStompClient stompClient = createStompClient();
+
+        List<LoadTestClient> clients = new ArrayList<>(options.clients());
+        for (int i = 0; i < options.clients(); i++) {
+            clients.add(new LoadTestClient(i, stats));
+        }
+        runAll(clients, options.rampConcurrency(), client -> {
+            client.open(stompClient, url);
+            return null;
+        });
+
+        // 기준값: WebSocket 연결만 있고 터미널 세션은 없는 상태
+        Map<String, Integer> baselineThreads = ResourceSampler.threadGroups();
+        ResourceSampler.Snapshot baseline = sampler.snapshotAfterGc();
+        sampler.start();
+
+        long start = System.nanoTime();
+        double sessionsPerSecond;
+        long outputChars;
+        long outputFrames;
+        double measuredSeconds;
+        if (LoadTestOptions.THROUGHPUT.equals(options.profile())) {
+            runAll(clients, options.rampConcurrency(), client -> client.openTerminal("127.0.0.1", sshd.getPort()));
+            sessionsPerSecond = stats.sessionsOpened.get() / secondsSince(start);
+
+            long steadyStart = System.nanoTime();
+            long charsBefore = stats.outputChars.get();
+            long framesBefore = stats.outputFrames.get();
+            ScheduledExecutorService driver = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("loadtest-driver").daemon().factory());
+            // 예외가 나면 주기 실행이 멈추므로 클라이언트별로 처리
+            driver.scheduleAtFixedRate(() -> clients.forEach(client -> {
+                try {
+                    client.sendKeystroke();
+                } catch (RuntimeException e) {
+                    stats.recordFailure("input_" + e.getClass().getSimpleName());
+                }
+            }), 0, options.keystrokeIntervalMs(), TimeUnit.MILLISECONDS);
+            TimeUnit.SECONDS.sleep(options.durationSeconds());
+            driver.shutdown();
+            driver.awaitTermination(10, TimeUnit.SECONDS);
+            measuredSeconds = secondsSince(steadyStart);
+            outputChars = stats.outputChars.get() - charsBefore;
+            outputFrames = stats.outputFrames.get() - framesBefore;
+        } else {
+            long deadline = start + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+            runAll(clients, clients.size(), client -> {
+                while (System.nanoTime() < deadline && client.isOpen()) {
+                    if (client.openTerminal("127.0.0.1", sshd.getPort())) {
+                        client.roundTrip();
+                        client.closeTerminal();
+                    }
+                }
+                return null;
+            });
+            measuredSeconds = secondsSince(start);
+            sessionsPerSecond = stats.sessionsOpened.get() / measuredSeconds;
+            outputChars = stats.outputChars.get();
+            outputFrames = stats.outputFrames.get();
+        }
+        double elapsedSeconds = secondsSince(start);
+
+        runAll(clients, options.rampConcurrency(), client -> {
+            client.close();
+            return null;
+        });
+        sampler.stop();
+        LoadTestReport.Leaks leaks = awaitSettled();
+        ResourceSampler.Snapshot after = sampler.snapshotAfterGc();
+
+        LoadTestReport report = new LoadTestReport(
+            options.profile(),
+            options.clients(),
+            Math.round(elapsedSeconds * 10) / 10.0,
+            backendSettings(),
+            new LoadTestReport.Throughput(
+                stats.sessionsOpened.get(),
+                stats.connectFailures.get(),
+                Math.round(sessionsPerSecond * 10) / 10.0,
+                Math.round(outputChars / measuredSeconds),
+                Math.round(outputFrames / measuredSeconds),
+                stats.echoTimeouts.get(),
+                stats.transportErrors.get(),
+                stats.getFailures()
+            ),
+            stats.connectLatency.summarize(),
+            stats.echoLatency.summarize(),
+            new LoadTestReport.Resources(
+                baseline.heapMb(), Math.max(sampler.getPeakHeapMb(), baseline.heapMb()), after.heapMb(),
+                baseline.directMb(), Math.max(sampler.getPeakDirectMb(), baseline.directMb()), after.directMb(),
+                baseline.threads(), sampler.getPeakThreads(), after.threads(),
+                threadGrowth(baselineThreads, ResourceSampler.threadGroups())
+            ),
+            leaks
+        );
+        report.print();
+        writeReport(report);
+        workers.shutdownNow();
+        return leaks.detected() || stats.sessionsOpened.get() == 0 ? 1 : 0;
+    }
+
+    private WebSocketStompClient createStompClient() {
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(MAX_FRAME_BYTES);
+        SockJsClient sockJsClient = new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient(container))));
+        WebSocketStompClient stompClient = new WebSocketStompClient(sockJsClient);
+        // ping 은 text/plain 문자열, 나머지 요청/응답은 JSON
+        stompClient.setMessageConverter(new CompositeMessageConverter(
+            List.of(new StringMessageConverter(), new MappingJackson2MessageConverter())));
+        stompClient.setInboundMessageSizeLimit(MAX_FRAME_BYTES);
+        stompClient.setDefaultHeartbeat(new long[]{0, 0});
+        return stompClient;
+    }
+
+    /**
+     * 클라이언트마다 작업 하나를 실행하고 모두 끝날 때까지 대기 (동시 실행 수 제한)
+     */
+    private void runAll(List<LoadTestClient> clients, int concurrency, ClientTask task) throws Exception {
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<Object>> futures = new ArrayList<>(clients.size());
+        for (LoadTestClient client : clients) {
+            Callable<Object> callable = () -> {
+                permits.acquire();
+                try {
+                    return task.run(client);
+                } finally {
+                    permits.release();
+                }
+            };
+            futures.add(workers.submit(callable));
+        }
+        for (Future<Object> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                stats.recordFailure(e.getCause().getClass().getSimpleName());
+            }
+        }
+    }
+
+    /**
+     * 세션/연결/정리 작업이 모두 0이 될 때까지 최대 settle-ms 대기
+     */
+    private LoadTestReport.Leaks awaitSettled() throws InterruptedException {
+        TerminalSessionService terminalSessionService = context.getBean(TerminalSessionService.class);
+        SshConnectionManager sshConnectionManager = context.getBean(SshConnectionManager.class);
+        long start = System.nanoTime();
+        while (true) {
+            long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            LoadTestReport.Leaks leaks = new LoadTestReport.Leaks(
+                terminalSessionService.getActiveSessionCount(),
+                sshConnectionManager.getConnectionStats().size(),
+                sshd.getActiveSessions().size(),
+                shells.getOpenShells(),
+                terminalSessionService.getHealthStats().pendingTeardowns(),
+                ResourceSampler.pipeReaders(),
+                waitedMs
+            );
+            if (!leaks.detected() || waitedMs >= options.settleMs()) {
+                return leaks;
+            }
+            TimeUnit.MILLISECONDS.sleep(SETTLE_POLL_MS);
+        }
+    }
+
+    private Map<String, String> backendSettings() {
+        Environment environment = context.getEnvironment();
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("output-rate (bytes/s/session)", String.valueOf(options.outputRate()));
+        settings.put("echo-delay-ms", String.valueOf(options.echoDelayMs()));
+        for (String key : LoadTestReport.REPORTED_SETTINGS) {
+            settings.put(key, environment.getProperty(key, "(default)"));
+        }
+        return settings;
+    }
+
+    private static Map<String, Integer> threadGrowth(Map<String, Integer> before, Map<String, Integer> after) {
+        Map<String, Integer> growth = new LinkedHashMap<>();
+        after.forEach((group, count) -> {
+            int added = count - before.getOrDefault(group, 0);
+            if (added > 0) {
+                growth.put(group, added);
+            }
+        });
+        return growth;
+    }
+
+    private void writeReport(LoadTestReport report) throws Exception {
+        File file = new File(options.reportDir(), options.profile() + ".json");
+        file.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        System.out.println("report: " + file.getPath());
+    }
+
+    private static double secondsSince(long startNanos) {
+        return Math.max(1e-3, (System.nanoTime() - startNanos) / 1e9);
+    }
+
+    @FunctionalInterface
+    private interface ClientTask {
+        Object run(LoadTestClient client) throws Exception;
+    }
+}
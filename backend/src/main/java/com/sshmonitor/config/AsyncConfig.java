@@ -3,6 +3,11 @@ package com.sshmonitor.config;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 
+/**
+ * @Async 실행기는 Spring Boot의 applicationTaskExecutor를 사용한다.
+ * spring.threads.virtual.enabled=true 이면 가상 스레드 기반 SimpleAsyncTaskExecutor로 바뀌며,
+ * 같은 실행기가 STOMP clientInbound/OutboundChannel(@MessageMapping 핸들러)에도 적용된다.
+ */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
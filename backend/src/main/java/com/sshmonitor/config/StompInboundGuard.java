@@ -0,0 +1,49 @@
+package com.sshmonitor.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * clientInboundChannel 인터셉터.
+ * 브라우저가 보내는 메시지는 /app 으로만 허용한다 (브로커 릴레이 사용 시 /topic 으로 직접 SEND 하면
+ * 다른 노드로 넘기는 메시지나 다른 세션의 출력처럼 위장할 수 있음).
+ * 노드 간 토픽(/topic/cluster.*), 와일드카드, /queue 직접 구독도 막는다 (연결별 메시지는 /user/queue/... 로만 구독).
+ */
+@Slf4j
+@Component
+public class StompInboundGuard implements ChannelInterceptor {
+
+    private static final String APP_PREFIX = "/app/";
+    private static final String CLUSTER_TOPIC_PREFIX = "/topic/cluster.";
+    private static final String QUEUE_PREFIX = "/queue/";
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (SimpMessageType.MESSAGE.equals(type) && (destination == null || !destination.startsWith(APP_PREFIX))) {
+            log.warn("Rejected client SEND to {} | WebSocket: {}", destination,
+                SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+            return null;
+        }
+        if (SimpMessageType.SUBSCRIBE.equals(type) && destination != null
+            && (destination.startsWith(CLUSTER_TOPIC_PREFIX) || destination.startsWith(QUEUE_PREFIX) || isWildcard(destination))) {
+            log.warn("Rejected client SUBSCRIBE to {} | WebSocket: {}", destination,
+                SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+            return null;
+        }
+        return message;
+    }
+
+    /**
+     * 브로커 와일드카드 (ActiveMQ *, >, RabbitMQ *, #)
+     */
+    private static boolean isWildcard(String destination) {
+        return destination.indexOf('*') >= 0 || destination.indexOf('>') >= 0 || destination.indexOf('#') >= 0;
+    }
+}
@@ -0,0 +1,274 @@
+package com.sshmonitor.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 터미널 출력 토픽의 미전송 바이트 집계 (clientInbound/OutboundChannel 인터셉터).
+ * 출력 sink 가 발행할 때({@link #track}) 더하고, 그 메시지가 clientOutboundChannel 에서 처리되면 뺀다.
+ * preservePublishOrder 사용 시 세션별 메시지는 브로커의 순서 보장 큐에서 하나씩만 clientOutboundChannel 로 넘어가므로
+ * 채널에 들어온 시점에 세면 큐에 쌓인 양이 보이지 않는다 (구독자가 멈춰도 흐름 제어가 걸리지 않음).
+ * 발행 하나당 티켓(헤더)을 붙이고 구독자에게 가는 복사본 중 첫 번째가 처리되면 정산한다.
+ * 릴레이를 거쳐 돌아온 메시지는 헤더가 없으므로 같은 토픽의 가장 오래된 티켓을 정산한다.
+ * 구독자가 없는 토픽은 브로커가 버리므로 세지 않는다 (구독/해지/연결 종료를 inbound 에서 추적).
+ * viewer 토픽(/topic/terminal/{sessionId}/viewer/{viewerId})은 viewer 별로 따로 집계한다.
+ * ConcurrentWebSocketSessionDecorator 버퍼(sendBufferSizeLimit, 기본 512KB)에 넘어간 뒤의 바이트는 포함하지 않는다.
+ */
+@Component
+public class StompOutboundTracker implements ExecutorChannelInterceptor {
+
+    private static final String TERMINAL_TOPIC_PREFIX = "/topic/terminal/";
+    private static final String VIEWER_TOPIC_INFIX = "/viewer/";
+    private static final String TICKET_HEADER = "terminalOutboundTicket";
+
+    // 토픽 키 ("{sessionId}" 또는 "{sessionId}/viewer/{viewerId}") -> 구독자 수, 미전송 바이트
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    // WebSocket 세션 -> 구독 ID -> 토픽 키
+    private final Map<String, Map<String, String>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingMessages = new AtomicInteger();
+
+    /**
+     * 세션 토픽으로 발행하기 직전에 호출
+     *
+     * @return convertAndSend 에 넘길 헤더, 구독자가 없으면 null (세지 않음)
+     */
+    public MessageHeaders track(String sessionId, long bytes) {
+        return trackKey(sessionId, bytes);
+    }
+
+    /**
+     * viewer 토픽으로 발행하기 직전에 호출
+     */
+    public MessageHeaders trackViewer(String sessionId, String viewerId, long bytes) {
+        return trackKey(sessionId + VIEWER_TOPIC_INFIX + viewerId, bytes);
+    }
+
+    /**
+     * 발행에 실패한 메시지의 집계 취소
+     */
+    public void untrack(MessageHeaders headers) {
+        if (headers != null && headers.get(TICKET_HEADER) instanceof Ticket ticket) {
+            ticket.settle();
+        }
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (type == SimpMessageType.MESSAGE) {
+            pendingMessages.incrementAndGet();
+        } else if (type == SimpMessageType.SUBSCRIBE) {
+            subscribed(message);
+        } else if (type == SimpMessageType.UNSUBSCRIBE) {
+            unsubscribed(message);
+        } else if (type == SimpMessageType.DISCONNECT) {
+            disconnected(message);
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return;
+        }
+        pendingMessages.decrementAndGet();
+
+        if (message.getHeaders().get(TICKET_HEADER) instanceof Ticket ticket) {
+            ticket.settle();
+            return;
+        }
+        String key = resolveKey(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+        Pending entry = key != null ? pending.get(key) : null;
+        if (entry != null) {
+            entry.settleOldest();
+        }
+    }
+
+    /**
+     * 해당 세션 토픽으로 전송 대기 중인 바이트 수
+     */
+    public long getPendingBytes(String sessionId) {
+        Pending entry = pending.get(sessionId);
+        return entry != null ? entry.getBytes() : 0;
+    }
+
+    /**
+     * viewer 토픽으로 전송 대기 중인 바이트 수
+     */
+    public long getViewerPendingBytes(String sessionId, String viewerId) {
+        Pending entry = pending.get(sessionId + VIEWER_TOPIC_INFIX + viewerId);
+        return entry != null ? entry.getBytes() : 0;
+    }
+
+    public static String viewerDestination(String sessionId, String viewerId) {
+        return TERMINAL_TOPIC_PREFIX + sessionId + VIEWER_TOPIC_INFIX + viewerId;
+    }
+
+    /**
+     * clientOutboundChannel 에서 처리 중인 메시지 수
+     */
+    public int getPendingMessages() {
+        return pendingMessages.get();
+    }
+
+    /**
+     * 전체 세션 토픽의 전송 대기 바이트 합계
+     */
+    public long getTotalPendingBytes() {
+        long total = 0;
+        for (Pending entry : pending.values()) {
+            total += entry.getBytes();
+        }
+        return total;
+    }
+
+    private MessageHeaders trackKey(String key, long bytes) {
+        Pending entry = pending.get(key);
+        Ticket ticket = entry != null ? entry.add(bytes) : null;
+        if (ticket == null) {
+            return null;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setHeader(TICKET_HEADER, ticket);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
+
+    private void subscribed(Message<?> message) {
+        MessageHeaders headers = message.getHeaders();
+        String key = resolveKey(SimpMessageHeaderAccessor.getDestination(headers));
+        String wsSessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+        if (key == null || wsSessionId == null || subscriptionId == null) {
+            return;
+        }
+        if (subscriptions.computeIfAbsent(wsSessionId, id -> new ConcurrentHashMap<>()).put(subscriptionId, key) == null) {
+            pending.compute(key, (k, entry) -> {
+                Pending updated = entry != null ? entry : new Pending();
+                updated.subscribe();
+                return updated;
+            });
+        }
+    }
+
+    private void unsubscribed(Message<?> message) {
+        MessageHeaders headers = message.getHeaders();
+        String wsSessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        Map<String, String> bySubscription = wsSessionId != null ? subscriptions.get(wsSessionId) : null;
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+        String key = bySubscription != null && subscriptionId != null ? bySubscription.remove(subscriptionId) : null;
+        if (key != null) {
+            release(key);
+        }
+    }
+
+    private void disconnected(Message<?> message) {
+        String wsSessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        Map<String, String> bySubscription = wsSessionId != null ? subscriptions.remove(wsSessionId) : null;
+        if (bySubscription != null) {
+            bySubscription.values().forEach(this::release);
+        }
+    }
+
+    /**
+     * 마지막 구독자가 떠나면 항목 제거 (브로커가 더 보내지 않으므로 남은 바이트도 버림)
+     */
+    private void release(String key) {
+        pending.computeIfPresent(key, (k, entry) -> entry.unsubscribe() ? null : entry);
+    }
+
+    /**
+     * @return 세션/viewer 토픽이면 집계 키, /directory, /pwd 등 다른 하위 토픽이면 null
+     */
+    private static String resolveKey(String destination) {
+        if (destination == null || !destination.startsWith(TERMINAL_TOPIC_PREFIX)) {
+            return null;
+        }
+        String key = destination.substring(TERMINAL_TOPIC_PREFIX.length());
+        int slash = key.indexOf('/');
+        if (slash < 0) {
+            return key;
+        }
+        return key.startsWith(VIEWER_TOPIC_INFIX, slash) ? key : null;
+    }
+
+    private static final class Pending {
+
+        private final ArrayDeque<Ticket> tickets = new ArrayDeque<>();
+        private int subscribers;
+        private long bytes;
+
+        synchronized void subscribe() {
+            subscribers++;
+        }
+
+        /**
+         * @return 구독자가 더 없으면 true
+         */
+        synchronized boolean unsubscribe() {
+            if (--subscribers > 0) {
+                return false;
+            }
+            tickets.clear();
+            bytes = 0;
+            return true;
+        }
+
+        synchronized Ticket add(long size) {
+            if (subscribers <= 0) {
+                return null;
+            }
+            Ticket ticket = new Ticket(this, size);
+            tickets.add(ticket);
+            bytes += size;
+            return ticket;
+        }
+
+        synchronized void settle(Ticket ticket) {
+            if (tickets.remove(ticket)) {
+                bytes -= ticket.size;
+            }
+        }
+
+        synchronized void settleOldest() {
+            Ticket ticket = tickets.poll();
+            if (ticket != null) {
+                bytes -= ticket.size;
+            }
+        }
+
+        synchronized long getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * 발행 하나 (구독자별 복사본이 같은 티켓을 공유, 첫 번째 처리 시 정산)
+     */
+    private static final class Ticket {
+
+        final Pending owner;
+        final long size;
+
+        Ticket(Pending owner, long size) {
+            this.owner = owner;
+            this.size = size;
+        }
+
+        void settle() {
+            owner.settle(this);
+        }
+    }
+}
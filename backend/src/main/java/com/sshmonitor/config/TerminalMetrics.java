@@ -0,0 +1,172 @@
+package com.sshmonitor.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 터미널 파이프라인 지표 (Micrometer -> /actuator/prometheus).
+ * 초당 바이트 수 등 비율은 누적 카운터로 기록하고 Prometheus 에서 rate() 로 계산한다.
+ * 호출 경로(SSH I/O 콜백 포함)에서 조회가 일어나지 않도록 태그가 고정된 미터는 미리 만들어 둔다.
+ */
+@Component
+public class TerminalMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer connectSuccess;
+    private final Timer connectFailure;
+    private final Counter inputBytes;
+    private final Counter outputBytes;
+    private final Counter outputFrames;
+    private final DistributionSummary outputReadSize;
+    private final Timer broadcastDelivered;
+    private final Timer broadcastFailed;
+    private final Map<String, Timer> keystrokeLatency = new ConcurrentHashMap<>();
+
+    public TerminalMetrics(MeterRegistry registry, StompOutboundTracker stompOutboundTracker) {
+        this.registry = registry;
+        this.connectSuccess = connectTimer("success");
+        this.connectFailure = connectTimer("failure");
+        this.inputBytes = Counter.builder("terminal.input.bytes")
+            .description("Bytes written to SSH shell channels")
+            .baseUnit("bytes")
+            .register(registry);
+        this.outputBytes = Counter.builder("terminal.output.bytes")
+            .description("Bytes read from SSH shell channels")
+            .baseUnit("bytes")
+            .register(registry);
+        this.outputFrames = Counter.builder("terminal.output.frames")
+            .description("Output frames sent to clients after coalescing")
+            .register(registry);
+        this.outputReadSize = DistributionSummary.builder("terminal.output.read.size")
+            .description("Size of each SSH channel output read")
+            .baseUnit("bytes")
+            .serviceLevelObjectives(64, 256, 1024, 4096, 8192, 16384, 32768)
+            .register(registry);
+
+        this.broadcastDelivered = broadcastTimer("delivered");
+        this.broadcastFailed = broadcastTimer("failed");
+
+        Gauge.builder("terminal.stomp.outbound.pending.messages", stompOutboundTracker,
+                StompOutboundTracker::getPendingMessages)
+            .description("STOMP messages being handled on clientOutboundChannel")
+            .register(registry);
+        Gauge.builder("terminal.stomp.outbound.pending.bytes", stompOutboundTracker,
+                StompOutboundTracker::getTotalPendingBytes)
+            .description("Terminal output bytes published and not yet handled on clientOutboundChannel (excludes the per-session send buffer)")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    /**
+     * 활성 세션 수 (세션 맵 크기를 조회 시점에 읽음)
+     */
+    public void registerActiveSessions(Map<?, ?> sessions) {
+        Gauge.builder("terminal.sessions.active", sessions, Map::size)
+            .description("Open terminal sessions")
+            .register(registry);
+    }
+
+    /**
+     * 세션 공유 viewer 수 (전체 세션 합계, 조회 시점에 계산)
+     */
+    public void registerActiveViewers(Supplier<Number> viewers) {
+        Gauge.builder("terminal.viewers.active", viewers)
+            .description("Viewers attached to shared terminal sessions")
+            .register(registry);
+    }
+
+    public void recordConnect(long nanos, boolean success) {
+        (success ? connectSuccess : connectFailure).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordInput(int bytes) {
+        inputBytes.increment(bytes);
+    }
+
+    public void recordOutputRead(int bytes) {
+        outputBytes.increment(bytes);
+        outputReadSize.record(bytes);
+    }
+
+    public void recordOutputFrame() {
+        outputFrames.increment();
+    }
+
+    /**
+     * 입력 -> 에코 구간별 지연 시간 (측정 기능이 켜져 있을 때만 기록)
+     */
+    public void recordKeystrokeLatency(String stage, long nanos) {
+        keystrokeLatency.computeIfAbsent(stage, name -> Timer.builder("terminal.keystroke.latency")
+            .description("Keystroke-to-echo latency by pipeline stage")
+            .tag("stage", name)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(10_000))
+            .maximumExpectedValue(Duration.ofSeconds(5))
+            .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 브로드캐스트 입력이 구성원 세션 채널에 모두 쓰일 때까지 걸린 시간 (요청 수신 기준)
+     */
+    public void recordBroadcastDelivery(long nanos, boolean success) {
+        (success ? broadcastDelivered : broadcastFailed).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 비정상 종료로 정리한 세션
+     *
+     * @param reason 고정된 원인 코드 (예외 메시지 등 가변 문자열은 태그로 쓰지 않음)
+     */
+    public void recordSessionFailure(String reason) {
+        Counter.builder("terminal.health.failures")
+            .description("Terminal sessions torn down because the connection failed or expired")
+            .tag("reason", reason)
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * @param source cache (목록 캐시 응답) 또는 remote (SFTP/ls 조회)
+     */
+    public void recordDirectoryListing(long nanos, String source, boolean success) {
+        Timer.builder("terminal.directory.list")
+            .description("Directory listing latency")
+            .tag("source", source)
+            .tag("outcome", success ? "success" : "failure")
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer connectTimer(String outcome) {
+        return Timer.builder("terminal.connect")
+            .description("Time to open a terminal session (SSH connect/auth + shell channel)")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(10))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(registry);
+    }
+
+    private Timer broadcastTimer(String outcome) {
+        return Timer.builder("terminal.broadcast.delivery")
+            .description("Broadcast input latency per member session, from receipt to channel write")
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(10_000))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registry);
+    }
+}
@@ -1,19 +1,77 @@
 package com.sshmonitor.config;
 
+import com.sshmonitor.controller.TerminalBinaryWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
-import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
-import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.*;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
 
 @Configuration
+@EnableWebSocket
 @EnableWebSocketMessageBroker
-public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer, WebSocketConfigurer {
+
+    // STOMP 브로커 설정 -> SimpMessagingTemplate -> 터미널 서비스로 이어지는 순환 참조를 피하기 위해 지연 조회
+    private final ObjectProvider<TerminalBinaryWebSocketHandler> terminalBinaryWebSocketHandler;
+    private final StompOutboundTracker stompOutboundTracker;
+    private final StompInboundGuard stompInboundGuard;
+
+    @Value("${terminal.binary.max-message-size:1048576}")
+    private int maxBinaryMessageSize;
+
+    @Value("${terminal.cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    @Value("${terminal.cluster.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${terminal.cluster.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${terminal.cluster.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${terminal.cluster.relay.passcode:guest}")
+    private String relayPasscode;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        if (clusterEnabled) {
+            // 여러 노드가 같은 외부 브로커를 공유: 어느 노드에서 보낸 /topic 메시지든 구독한 클라이언트가 받음
+            config.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relayHost)
+                .setRelayPort(relayPort)
+                .setClientLogin(relayLogin)
+                .setClientPasscode(relayPasscode)
+                .setSystemLogin(relayLogin)
+                .setSystemPasscode(relayPasscode);
+        } else {
+            // /queue: 한 연결에만 보내는 메시지 (/user/queue/... 구독)
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         config.setApplicationDestinationPrefixes("/app");
+        // clientOutboundChannel은 스레드 풀이라 같은 세션의 메시지 순서가 바뀔 수 있음 (resume offset이 어긋남)
+        // 세션별 순서 보장 큐에 쌓인 출력은 채널에서 보이지 않으므로 미전송 바이트는 발행 시점에 집계 (StompOutboundTracker)
+        config.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // 브라우저는 /app 으로만 보내고 노드 간 토픽은 구독하지 못하도록 차단
+        // 허용된 구독/해지/연결 종료는 미전송 바이트 집계 대상 토픽의 구독자 수에 반영
+        registration.interceptors(stompInboundGuard, stompOutboundTracker);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // 세션별 미전송 출력량 집계 (흐름 제어)
+        registration.interceptors(stompOutboundTracker);
     }
 
     @Override
@@ -22,4 +80,21 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
+
+    /**
+     * 바이너리 프로토콜 엔드포인트 (STOMP/SockJS 없이 원본 WebSocket)
+     */
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(terminalBinaryWebSocketHandler.getObject(), "/ws/terminal-binary")
+                .setAllowedOriginPatterns("*");
+    }
+
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        // 대용량 붙여넣기 입력 프레임 수신 허용
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxBinaryMessageBufferSize(maxBinaryMessageSize);
+        return container;
+    }
 }
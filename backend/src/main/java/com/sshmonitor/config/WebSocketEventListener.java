@@ -1,5 +1,6 @@
 package com.sshmonitor.config;
 
+import com.sshmonitor.service.SessionOwnershipRegistry;
 import com.sshmonitor.service.TerminalSessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +20,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class WebSocketEventListener {
 
     private final TerminalSessionService terminalSessionService;
+    private final SessionOwnershipRegistry sessionOwnershipRegistry;
 
     // WebSocket 세션 ID -> SSH 세션 ID들 매핑
     private final Map<String, Set<String>> wsSessionToSshSessions = new ConcurrentHashMap<>();
@@ -37,12 +39,22 @@ public class WebSocketEventListener {
         String wsSessionId = headerAccessor.getSessionId();
         log.info("WebSocket disconnected: {}", wsSessionId);
 
-        // 해당 WebSocket 세션에 연결된 모든 SSH 세션 정리
+        // 해당 WebSocket 세션에 연결된 SSH 세션은 바로 정리하지 않고 분리 (유예 시간 안에 resume 가능)
         Set<String> sshSessions = wsSessionToSshSessions.remove(wsSessionId);
+        // 이 연결로 다른 세션을 보고 있던 viewer 는 바로 제거 (소유자 세션에는 영향 없음)
+        terminalSessionService.detachViewers(wsSessionId);
+        terminalSessionService.removeBroadcastGroups(wsSessionId);
+        // 클러스터 모드: 다른 노드의 세션을 보던 viewer 도 제거
+        sessionOwnershipRegistry.forwardToAll("/terminal/cluster/connection-closed", "", wsSessionId);
         if (sshSessions != null && !sshSessions.isEmpty()) {
-            log.info("Cleaning up {} SSH sessions for WebSocket: {}", sshSessions.size(), wsSessionId);
+            log.info("Detaching {} SSH sessions for WebSocket: {}", sshSessions.size(), wsSessionId);
             for (String sshSessionId : sshSessions) {
-                terminalSessionService.cleanupSession(sshSessionId);
+                String owner = sessionOwnershipRegistry.remoteOwnerOf(sshSessionId);
+                if (owner != null) {
+                    sessionOwnershipRegistry.forward(owner, "/terminal/cluster/detach", sshSessionId, wsSessionId, true);
+                } else {
+                    terminalSessionService.detachSession(sshSessionId);
+                }
             }
         }
     }
@@ -58,6 +70,27 @@ public class WebSocketEventListener {
         }
     }
 
+    /**
+     * 재연결(resume)한 SSH 세션을 새 WebSocket 세션으로 옮김
+     * 이전 연결의 끊김 감지가 늦게 도착해도 새 연결에 붙은 세션을 분리하지 않도록 기존 매핑에서 제거한다
+     */
+    public void transferSshSession(String wsSessionId, String sshSessionId) {
+        wsSessionToSshSessions.forEach((id, sshSessions) -> {
+            if (!id.equals(wsSessionId)) {
+                sshSessions.remove(sshSessionId);
+            }
+        });
+        registerSshSession(wsSessionId, sshSessionId);
+    }
+
+    /**
+     * 이 WebSocket 세션이 연결(또는 resume)한 SSH 세션인지 확인
+     */
+    public boolean ownsSshSession(String wsSessionId, String sshSessionId) {
+        Set<String> sshSessions = wsSessionToSshSessions.get(wsSessionId);
+        return sshSessions != null && sshSessions.contains(sshSessionId);
+    }
+
     /**
      * SSH 세션 등록 해제
      */
@@ -0,0 +1,33 @@
+package com.sshmonitor.controller;
+
+import com.sshmonitor.dto.ClusterStatusResponse;
+import com.sshmonitor.service.SessionOwnershipRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/cluster")
+@RequiredArgsConstructor
+public class ClusterController {
+
+    private final SessionOwnershipRegistry sessionOwnershipRegistry;
+
+    @GetMapping
+    public ResponseEntity<ClusterStatusResponse> getStatus() {
+        return ResponseEntity.ok(sessionOwnershipRegistry.getStatus());
+    }
+
+    /**
+     * 배포 전 drain: 새 세션은 다른 노드에서 열고, 기존 세션은 종료될 때까지 이 노드에 유지
+     */
+    @PostMapping("/drain")
+    public ResponseEntity<ClusterStatusResponse> setDraining(@RequestParam boolean enabled) {
+        sessionOwnershipRegistry.setDraining(enabled);
+        return ResponseEntity.ok(sessionOwnershipRegistry.getStatus());
+    }
+}
@@ -0,0 +1,54 @@
+package com.sshmonitor.controller;
+
+import com.sshmonitor.dto.MetricSeriesResponse;
+import com.sshmonitor.dto.MetricsMemoryReport;
+import com.sshmonitor.service.MetricsHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private static final long DEFAULT_RANGE_MILLIS = 3_600_000;
+    private static final int MAX_POINTS = 2000;
+
+    private final MetricsHistoryService metricsHistoryService;
+
+    @GetMapping("/hosts")
+    public ResponseEntity<List<String>> getHosts() {
+        return ResponseEntity.ok(metricsHistoryService.getHosts());
+    }
+
+    /**
+     * @param from 시작 (epoch ms, 기본: to - 1시간)
+     * @param to   끝 (epoch ms, 기본: 현재)
+     */
+    @GetMapping("/series")
+    public ResponseEntity<MetricSeriesResponse> getSeries(
+            @RequestParam String host,
+            @RequestParam String metric,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(defaultValue = "300") int points) {
+        long toMillis = to != null ? to : System.currentTimeMillis();
+        long fromMillis = from != null ? from : toMillis - DEFAULT_RANGE_MILLIS;
+        if (fromMillis > toMillis) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return ResponseEntity.ok(metricsHistoryService.query(host, metric, fromMillis, toMillis,
+            Math.min(Math.max(points, 1), MAX_POINTS)));
+    }
+
+    @GetMapping("/memory")
+    public ResponseEntity<MetricsMemoryReport> getMemoryReport() {
+        return ResponseEntity.ok(metricsHistoryService.getMemoryReport());
+    }
+}
@@ -0,0 +1,366 @@
+package com.sshmonitor.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sshmonitor.dto.*;
+import com.sshmonitor.exception.ErrorCode;
+import com.sshmonitor.service.TerminalOutputSink;
+import com.sshmonitor.service.TerminalSessionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 바이너리 터미널 프로토콜 핸들러 (/ws/terminal-binary)
+ * 출력은 UTF-8 디코딩/JSON 이스케이프 없이 원본 바이트로, 입력은 받은 바이트 그대로 채널에 기록한다.
+ * 프레임 형식은 {@link BinaryTerminalFrame} 참고.
+ */
+@Slf4j
+@Component
+public class TerminalBinaryWebSocketHandler extends BinaryWebSocketHandler {
+
+    private final TerminalSessionService terminalSessionService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService sendExecutor;
+
+    // WebSocket 세션 ID -> 출력 전송 대상, SSH 세션 ID들
+    private final Map<String, BinaryOutputSink> sinks = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> wsSessionToSshSessions = new ConcurrentHashMap<>();
+
+    @Value("${terminal.binary.send-time-limit-ms:10000}")
+    private int sendTimeLimit;
+
+    @Value("${terminal.binary.send-buffer-limit:1048576}")
+    private int sendBufferLimit;
+
+    @Value("${terminal.scrollback.replay-bytes:262144}")
+    private int replayBytes;
+
+    public TerminalBinaryWebSocketHandler(TerminalSessionService terminalSessionService, ObjectMapper objectMapper,
+                                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.terminalSessionService = terminalSessionService;
+        this.objectMapper = objectMapper;
+        // 소켓 쓰기는 느린 클라이언트에서 블록될 수 있으므로 SSH I/O 스레드가 아닌 별도 스레드에서 수행
+        this.sendExecutor = virtualThreads
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("terminal-binary-send-", 0).factory())
+            : Executors.newCachedThreadPool();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        log.info("Binary WebSocket connected: {}", session.getId());
+        // 출력은 MINA I/O 스레드 등 여러 스레드에서 동시에 전송되므로 직렬화 데코레이터 사용
+        ConcurrentWebSocketSessionDecorator decorated =
+            new ConcurrentWebSocketSessionDecorator(session, sendTimeLimit, sendBufferLimit);
+        sinks.put(session.getId(), new BinaryOutputSink(decorated, objectMapper, sendExecutor));
+        wsSessionToSshSessions.put(session.getId(), ConcurrentHashMap.newKeySet());
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        BinaryOutputSink sink = sinks.get(session.getId());
+        if (sink == null) {
+            return;
+        }
+
+        BinaryTerminalFrame frame;
+        try {
+            frame = BinaryTerminalFrame.decode(message.getPayload());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid binary frame from {}: {}", session.getId(), e.getMessage());
+            return;
+        }
+
+        String sessionId = frame.sessionId();
+        switch (frame.type()) {
+            case BinaryTerminalFrame.INPUT -> {
+                if (canWrite(session.getId(), sessionId) && !terminalSessionService.handleInput(sessionId, frame.payload())) {
+                    // STOMP 토픽이 아닌 이 연결로 응답
+                    sink.sendMessage(sessionId, TerminalMessage.error(sessionId,
+                        ErrorCode.SESSION_NOT_FOUND.getCode(), "Session not found"));
+                }
+            }
+            case BinaryTerminalFrame.CONNECT -> connect(session, sink, frame);
+            case BinaryTerminalFrame.RESUME -> resume(session, sink, frame);
+            case BinaryTerminalFrame.ATTACH -> attachViewer(session, sink, frame);
+            case BinaryTerminalFrame.VIEWER_DETACH -> detachViewer(session, sink, frame);
+            case BinaryTerminalFrame.RESIZE -> {
+                if (!canWrite(session.getId(), sessionId)) {
+                    return;
+                }
+                if (frame.payload().length < 4) {
+                    sink.sendMessage(sessionId, TerminalMessage.error(sessionId,
+                        ErrorCode.INVALID_REQUEST.getCode(), "Invalid resize frame"));
+                    return;
+                }
+                TerminalMessage response = terminalSessionService.resize(
+                    new TerminalResizeRequest(sessionId, frame.resizeCols(), frame.resizeRows()));
+                sink.sendMessage(sessionId, response);
+            }
+            case BinaryTerminalFrame.PING -> {
+                TerminalMessage response = terminalSessionService.handlePing(sessionId);
+                boolean healthy = "healthy".equals(response.status());
+                sink.send(BinaryTerminalFrame.encode(BinaryTerminalFrame.PONG, sessionId, new byte[]{(byte) (healthy ? 1 : 0)}));
+            }
+            case BinaryTerminalFrame.REPLAY -> {
+                Integer maxBytes = frame.replayMaxBytes();
+                byte[] data = terminalSessionService.getScrollback(sessionId, maxBytes != null ? maxBytes : replayBytes);
+                if (data == null) {
+                    sink.sendMessage(sessionId, TerminalMessage.error(sessionId,
+                        ErrorCode.SESSION_NOT_FOUND.getCode(), "Session not found"));
+                    return;
+                }
+                sink.send(BinaryTerminalFrame.encode(BinaryTerminalFrame.REPLAY, sessionId, data));
+            }
+            case BinaryTerminalFrame.DISCONNECT -> {
+                if (!canWrite(session.getId(), sessionId)) {
+                    return;
+                }
+                log.info("Binary terminal disconnect request: {}", sessionId);
+                unregister(session.getId(), sessionId);
+                sink.sendMessage(sessionId, terminalSessionService.disconnect(new TerminalDisconnectRequest(sessionId)));
+            }
+            default -> log.warn("Unknown binary frame type {} from {}", frame.type(), session.getId());
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        log.info("Binary WebSocket disconnected: {} | Status: {}", session.getId(), status);
+        sinks.remove(session.getId());
+        terminalSessionService.detachViewers(session.getId());
+
+        // 유예 시간 동안 RESUME 프레임으로 다시 붙을 수 있도록 분리만 한다
+        Set<String> sshSessions = wsSessionToSshSessions.remove(session.getId());
+        if (sshSessions != null && !sshSessions.isEmpty()) {
+            log.info("Detaching {} SSH sessions for binary WebSocket: {}", sshSessions.size(), session.getId());
+            for (String sshSessionId : sshSessions) {
+                terminalSessionService.detachSession(sshSessionId);
+            }
+        }
+    }
+
+    private void connect(WebSocketSession session, BinaryOutputSink sink, BinaryTerminalFrame frame) {
+        String sessionId = frame.sessionId();
+        TerminalConnectRequest request;
+        try {
+            request = objectMapper.readValue(frame.payload(), TerminalConnectRequest.class);
+        } catch (IOException e) {
+            sink.sendMessage(sessionId, TerminalMessage.error(sessionId,
+                ErrorCode.INVALID_REQUEST.getCode(), "Invalid connect payload"));
+            return;
+        }
+
+        if (!sessionId.equals(request.sessionId())) {
+            sink.sendMessage(sessionId, TerminalMessage.error(sessionId,
+                ErrorCode.INVALID_REQUEST.getCode(), "Session id mismatch"));
+            return;
+        }
+
+        log.info("Binary terminal connect request: {} -> {}@{}:{}",
+            sessionId, request.username(), request.host(), request.port());
+
+        TerminalMessage response = terminalSessionService.connect(request, sink);
+        if ("connected".equals(response.type())) {
+            Set<String> sshSessions = wsSessionToSshSessions.get(session.getId());
+            if (sshSessions != null) {
+                sshSessions.add(sessionId);
+            }
+        }
+        sink.sendMessage(sessionId, response);
+    }
+
+    private void resume(WebSocketSession session, BinaryOutputSink sink, BinaryTerminalFrame frame) {
+        String sessionId = frame.sessionId();
+        TerminalResumeRequest request;
+        try {
+            request = objectMapper.readValue(frame.payload(), TerminalResumeRequest.class);
+        } catch (IOException e) {
+            sink.sendMessage(sessionId, TerminalMessage.error(sessionId,
+                ErrorCode.INVALID_REQUEST.getCode(), "Invalid resume payload"));
+            return;
+        }
+
+        if (!sessionId.equals(request.sessionId())) {
+            sink.sendMessage(sessionId, TerminalMessage.error(sessionId,
+                ErrorCode.INVALID_REQUEST.getCode(), "Session id mismatch"));
+            return;
+        }
+
+        log.info("Binary terminal resume request: {} (offset {})", sessionId, request.lastOffset());
+
+        if (terminalSessionService.resume(request, sink)) {
+            // 이전 소켓의 종료 처리가 늦게 와도 새 소켓에 붙은 세션을 분리하지 않도록 이동
+            wsSessionToSshSessions.forEach((wsSessionId, sshSessions) -> {
+                if (!wsSessionId.equals(session.getId())) {
+                    sshSessions.remove(sessionId);
+                }
+            });
+            Set<String> sshSessions = wsSessionToSshSessions.get(session.getId());
+            if (sshSessions != null) {
+                sshSessions.add(sessionId);
+            }
+        }
+    }
+
+    private void attachViewer(WebSocketSession session, BinaryOutputSink sink, BinaryTerminalFrame frame) {
+        String sessionId = frame.sessionId();
+        TerminalViewerAttachRequest request;
+        try {
+            request = objectMapper.readValue(frame.payload(), TerminalViewerAttachRequest.class);
+        } catch (IOException e) {
+            sink.sendMessage(sessionId, TerminalMessage.error(sessionId,
+                ErrorCode.INVALID_REQUEST.getCode(), "Invalid attach payload"));
+            return;
+        }
+
+        if (!sessionId.equals(request.sessionId())) {
+            sink.sendMessage(sessionId, TerminalMessage.error(sessionId,
+                ErrorCode.INVALID_REQUEST.getCode(), "Session id mismatch"));
+            return;
+        }
+        // 출력 프레임은 세션 ID 로만 구분되므로 소유자 연결이 같은 세션을 viewer 로 보면 출력이 중복된다
+        if (owns(session.getId(), sessionId)) {
+            sink.sendMessage(sessionId, TerminalMessage.error(sessionId,
+                ErrorCode.INVALID_REQUEST.getCode(), "Session is already open on this connection"));
+            return;
+        }
+
+        log.info("Binary terminal viewer attach request: {} / {} (mode {})", sessionId, request.viewerId(), request.mode());
+        terminalSessionService.attachViewer(request, session.getId(), sink);
+    }
+
+    private void detachViewer(WebSocketSession session, BinaryOutputSink sink, BinaryTerminalFrame frame) {
+        String sessionId = frame.sessionId();
+        TerminalViewerDetachRequest request;
+        try {
+            request = objectMapper.readValue(frame.payload(), TerminalViewerDetachRequest.class);
+        } catch (IOException e) {
+            sink.sendMessage(sessionId, TerminalMessage.error(sessionId,
+                ErrorCode.INVALID_REQUEST.getCode(), "Invalid detach payload"));
+            return;
+        }
+
+        log.info("Binary terminal viewer detach request: {} / {}", sessionId, request.viewerId());
+        terminalSessionService.detachViewer(request, session.getId());
+    }
+
+    /**
+     * 세션을 연결(resume)한 소켓이거나 쓰기 가능한 viewer 로 붙은 소켓이면 true (읽기 전용 viewer 에게는 오류 전송)
+     */
+    private boolean canWrite(String wsSessionId, String sshSessionId) {
+        return owns(wsSessionId, sshSessionId) || terminalSessionService.authorizeViewerWrite(sshSessionId, wsSessionId);
+    }
+
+    private boolean owns(String wsSessionId, String sshSessionId) {
+        Set<String> sshSessions = wsSessionToSshSessions.get(wsSessionId);
+        return sshSessions != null && sshSessions.contains(sshSessionId);
+    }
+
+    private void unregister(String wsSessionId, String sshSessionId) {
+        Set<String> sshSessions = wsSessionToSshSessions.get(wsSessionId);
+        if (sshSessions != null) {
+            sshSessions.remove(sshSessionId);
+        }
+    }
+
+    /**
+     * WebSocket 세션별 전송 큐. 출력 프레임을 큐에 넣고 한 번에 하나의 작업만 소켓에 기록하며,
+     * 큐에 쌓인 바이트 수를 흐름 제어에 제공한다.
+     */
+    private static class BinaryOutputSink implements TerminalOutputSink {
+
+        private final ConcurrentWebSocketSessionDecorator session;
+        private final ObjectMapper objectMapper;
+        private final Executor executor;
+        private final Queue<ByteBuffer> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicLong pendingBytes = new AtomicLong();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        BinaryOutputSink(ConcurrentWebSocketSessionDecorator session, ObjectMapper objectMapper, Executor executor) {
+            this.session = session;
+            this.objectMapper = objectMapper;
+            this.executor = executor;
+        }
+
+        @Override
+        public void sendOutput(String sessionId, byte[] data, int offset, int length) {
+            send(BinaryTerminalFrame.encode(BinaryTerminalFrame.OUTPUT, sessionId, data, offset, length));
+        }
+
+        @Override
+        public void sendMessage(String sessionId, TerminalMessage message) {
+            try {
+                send(BinaryTerminalFrame.encode(BinaryTerminalFrame.MESSAGE, sessionId, objectMapper.writeValueAsBytes(message)));
+            } catch (IOException e) {
+                log.warn("Failed to encode terminal message for {}: {}", sessionId, e.getMessage());
+            }
+        }
+
+        /**
+         * 전송 큐 + 데코레이터 버퍼 (다른 스레드가 소켓에 쓰는 중일 때 쌓인 프레임)
+         */
+        @Override
+        public long getPendingBytes(String sessionId) {
+            return pendingBytes.get() + session.getBufferSize();
+        }
+
+        void send(ByteBuffer frame) {
+            if (!session.isOpen()) {
+                return;
+            }
+            pendingBytes.addAndGet(frame.remaining());
+            queue.add(frame);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                ByteBuffer frame;
+                while ((frame = queue.poll()) != null) {
+                    int size = frame.remaining();
+                    try {
+                        if (session.isOpen()) {
+                            session.sendMessage(new BinaryMessage(frame));
+                        }
+                    } catch (IOException | IllegalStateException e) {
+                        log.warn("Failed to send binary frame to {}: {}", session.getId(), e.getMessage());
+                    } finally {
+                        pendingBytes.addAndGet(-size);
+                    }
+                }
+            } finally {
+                draining.set(false);
+            }
+            // drain 종료 직후 들어온 프레임 처리
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
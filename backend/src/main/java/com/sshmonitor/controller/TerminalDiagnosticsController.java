@@ -0,0 +1,60 @@
+package com.sshmonitor.controller;
+
+import com.sshmonitor.dto.KeystrokeLatencyResponse;
+import com.sshmonitor.dto.SessionHealthStatsResponse;
+import com.sshmonitor.dto.SshConnectionStatsResponse;
+import com.sshmonitor.dto.TerminalSessionStatsResponse;
+import com.sshmonitor.dto.ThreadDiagnosticsResponse;
+import com.sshmonitor.service.SshConnectionManager;
+import com.sshmonitor.service.TerminalSessionService;
+import com.sshmonitor.service.ThreadDiagnosticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/terminal")
+@RequiredArgsConstructor
+public class TerminalDiagnosticsController {
+
+    private final TerminalSessionService terminalSessionService;
+    private final ThreadDiagnosticsService threadDiagnosticsService;
+    private final SshConnectionManager sshConnectionManager;
+
+    @GetMapping("/sessions")
+    public ResponseEntity<List<TerminalSessionStatsResponse>> getSessionStats() {
+        return ResponseEntity.ok(terminalSessionService.getSessionStats());
+    }
+
+    @GetMapping("/health")
+    public ResponseEntity<SessionHealthStatsResponse> getHealthStats() {
+        return ResponseEntity.ok(terminalSessionService.getHealthStats());
+    }
+
+    @GetMapping("/latency")
+    public ResponseEntity<KeystrokeLatencyResponse> getKeystrokeLatency() {
+        return ResponseEntity.ok(terminalSessionService.getKeystrokeLatency());
+    }
+
+    @PostMapping("/latency")
+    public ResponseEntity<KeystrokeLatencyResponse> setLatencyProbeEnabled(@RequestParam boolean enabled) {
+        terminalSessionService.setLatencyProbeEnabled(enabled);
+        return ResponseEntity.ok(terminalSessionService.getKeystrokeLatency());
+    }
+
+    @GetMapping("/connections")
+    public ResponseEntity<List<SshConnectionStatsResponse>> getConnectionStats() {
+        return ResponseEntity.ok(sshConnectionManager.getConnectionStats());
+    }
+
+    @GetMapping("/threads")
+    public ResponseEntity<ThreadDiagnosticsResponse> getThreadDiagnostics() {
+        return ResponseEntity.ok(threadDiagnosticsService.getDiagnostics());
+    }
+}
@@ -2,11 +2,14 @@ package com.sshmonitor.controller;
 
 import com.sshmonitor.config.WebSocketEventListener;
 import com.sshmonitor.dto.*;
+import com.sshmonitor.service.SessionOwnershipRegistry;
 import com.sshmonitor.service.TerminalSessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
@@ -18,12 +21,21 @@ public class TerminalWebSocketController {
     private final TerminalSessionService terminalSessionService;
     private final SimpMessagingTemplate messagingTemplate;
     private final WebSocketEventListener webSocketEventListener;
+    private final SessionOwnershipRegistry sessionOwnershipRegistry;
 
     @MessageMapping("/terminal/connect")
     public void connect(TerminalConnectRequest request, SimpMessageHeaderAccessor headerAccessor) {
         log.info("Terminal connect request: {} -> {}@{}:{}",
             request.sessionId(), request.username(), request.host(), request.port());
 
+        // drain 중이면 다른 노드에서 연결 (결과는 브로커 토픽으로 클라이언트에 전달)
+        String targetNode = sessionOwnershipRegistry.selectNodeForNewSession();
+        if (!targetNode.equals(sessionOwnershipRegistry.getNodeId()) && !sessionOwnershipRegistry.isForwarded(headerAccessor)) {
+            webSocketEventListener.registerSshSession(headerAccessor.getSessionId(), request.sessionId());
+            sessionOwnershipRegistry.forward(targetNode, "/terminal/connect", request, headerAccessor.getSessionId(), true);
+            return;
+        }
+
         TerminalMessage response = terminalSessionService.connect(request);
 
         // SSH 세션을 WebSocket 세션에 등록
@@ -38,18 +50,87 @@ public class TerminalWebSocketController {
         );
     }
 
+    @MessageMapping("/terminal/resume")
+    public void resume(TerminalResumeRequest request, SimpMessageHeaderAccessor headerAccessor) {
+        log.info("Terminal resume request: {} (offset {})", request.sessionId(), request.lastOffset());
+        if (routeToOwner("/terminal/resume", request.sessionId(), request, headerAccessor)) {
+            // 끊김 시 소유 노드로 분리 요청을 보내도록 이 노드의 연결에 등록
+            webSocketEventListener.transferSshSession(headerAccessor.getSessionId(), request.sessionId());
+            return;
+        }
+
+        // 결과 메시지와 누락된 출력은 순서 보장을 위해 서비스에서 직접 전송
+        if (terminalSessionService.resume(request)) {
+            webSocketEventListener.transferSshSession(headerAccessor.getSessionId(), request.sessionId());
+        }
+    }
+
     @MessageMapping("/terminal/input")
-    public void input(TerminalInputRequest request) {
+    public void input(TerminalInputRequest request, SimpMessageHeaderAccessor headerAccessor) {
         log.trace("Terminal input for session: {}", request.sessionId());
+        if (routeToOwner("/terminal/input", request.sessionId(), request, headerAccessor)
+            || !canWrite(request.sessionId(), headerAccessor)) {
+            return;
+        }
         terminalSessionService.handleInput(request);
     }
 
+    @MessageMapping("/terminal/viewer/attach")
+    public void attachViewer(TerminalViewerAttachRequest request, SimpMessageHeaderAccessor headerAccessor) {
+        log.info("Terminal viewer attach request: {} / {} (mode {})", request.sessionId(), request.viewerId(), request.mode());
+        if (routeToOwner("/terminal/viewer/attach", request.sessionId(), request, headerAccessor)) {
+            return;
+        }
+
+        // 결과 메시지와 현재 화면은 순서 보장을 위해 서비스에서 viewer 토픽으로 직접 전송
+        terminalSessionService.attachViewer(request, headerAccessor.getSessionId());
+    }
+
+    @MessageMapping("/terminal/viewer/detach")
+    public void detachViewer(TerminalViewerDetachRequest request, SimpMessageHeaderAccessor headerAccessor) {
+        log.info("Terminal viewer detach request: {} / {}", request.sessionId(), request.viewerId());
+        if (routeToOwner("/terminal/viewer/detach", request.sessionId(), request, headerAccessor)) {
+            return;
+        }
+        terminalSessionService.detachViewer(request, headerAccessor.getSessionId());
+    }
+
+    @MessageMapping("/terminal/broadcast")
+    public void broadcast(TerminalBroadcastRequest request, SimpMessageHeaderAccessor headerAccessor) {
+        log.debug("Terminal broadcast request: group {} ({} members)", request.groupId(),
+            request.sessionIds() != null ? request.sessionIds().size() : "current");
+
+        // 입력은 세션별 큐에 넣고 바로 반환, 결과 보고는 구성원 전달이 모두 끝나거나 제한 시간이 지나면 전송
+        // 그룹은 이 연결 안에서만 유효하고, 구성원은 이 연결이 입력할 수 있는 세션만 허용
+        String wsSessionId = headerAccessor.getSessionId();
+        terminalSessionService.broadcastInput(request, wsSessionId, sessionId -> canWrite(sessionId, headerAccessor))
+            .thenAccept(response -> {
+                if (response.groupId() != null) {
+                    // 구성원 세션 ID 가 포함되므로 공유 토픽이 아닌 요청한 연결에만 전송
+                    messagingTemplate.convertAndSendToUser(
+                        wsSessionId,
+                        "/queue/terminal/broadcast",
+                        response,
+                        sessionHeaders(wsSessionId)
+                    );
+                }
+            });
+    }
+
     @MessageMapping("/terminal/disconnect")
     public void disconnect(TerminalDisconnectRequest request, SimpMessageHeaderAccessor headerAccessor) {
         log.info("Terminal disconnect request: {}", request.sessionId());
 
-        // SSH 세션 등록 해제
         String wsSessionId = headerAccessor.getSessionId();
+        if (routeToOwner("/terminal/disconnect", request.sessionId(), request, headerAccessor)) {
+            webSocketEventListener.unregisterSshSession(wsSessionId, request.sessionId());
+            return;
+        }
+        if (!canWrite(request.sessionId(), headerAccessor)) {
+            return;
+        }
+
+        // SSH 세션 등록 해제
         webSocketEventListener.unregisterSshSession(wsSessionId, request.sessionId());
 
         TerminalMessage response = terminalSessionService.disconnect(request);
@@ -60,9 +141,13 @@ public class TerminalWebSocketController {
     }
 
     @MessageMapping("/terminal/resize")
-    public void resize(TerminalResizeRequest request) {
+    public void resize(TerminalResizeRequest request, SimpMessageHeaderAccessor headerAccessor) {
         log.debug("Terminal resize request: {} -> {}x{}",
             request.sessionId(), request.cols(), request.rows());
+        if (routeToOwner("/terminal/resize", request.sessionId(), request, headerAccessor)
+            || !canWrite(request.sessionId(), headerAccessor)) {
+            return;
+        }
 
         TerminalMessage response = terminalSessionService.resize(request);
         messagingTemplate.convertAndSend(
@@ -71,9 +156,28 @@ public class TerminalWebSocketController {
         );
     }
 
+    @MessageMapping("/terminal/replay")
+    public void replay(TerminalReplayRequest request, SimpMessageHeaderAccessor headerAccessor) {
+        log.debug("Terminal replay request: {} ({} bytes)", request.sessionId(), request.maxBytes());
+        if (routeToOwner("/terminal/replay", request.sessionId(), request, headerAccessor)) {
+            return;
+        }
+
+        // 기존 패널에 중복 출력되지 않도록 별도 토픽으로 전송
+        TerminalMessage response = terminalSessionService.replay(request);
+        messagingTemplate.convertAndSend(
+            "/topic/terminal/" + request.sessionId() + "/replay",
+            response
+        );
+    }
+
     @MessageMapping("/terminal/listdir")
-    public void listDirectory(DirectoryListRequest request) {
+    public void listDirectory(DirectoryListRequest request, SimpMessageHeaderAccessor headerAccessor) {
         log.debug("Directory list request: {} -> {}", request.sessionId(), request.path());
+        if (routeToOwner("/terminal/listdir", request.sessionId(), request, headerAccessor)
+            || !canWrite(request.sessionId(), headerAccessor)) {
+            return;
+        }
 
         DirectoryListResponse response = terminalSessionService.listDirectory(request);
         messagingTemplate.convertAndSend(
@@ -82,9 +186,45 @@ public class TerminalWebSocketController {
         );
     }
 
+    @MessageMapping("/terminal/listdir/stream")
+    public void streamDirectory(DirectoryStreamRequest request, SimpMessageHeaderAccessor headerAccessor) {
+        log.debug("Directory stream request: {} -> {} (listing {}, sort {}, filter {})",
+            request.sessionId(), request.path(), request.listingId(), request.sortBy(), request.filter());
+        if (routeToOwner("/terminal/listdir/stream", request.sessionId(), request, headerAccessor)
+            || !canWrite(request.sessionId(), headerAccessor)) {
+            return;
+        }
+
+        // 페이지는 서비스에서 조회 진행에 따라 /directory/page 토픽으로 전송
+        terminalSessionService.streamDirectory(request);
+    }
+
+    @MessageMapping("/terminal/listdir/page")
+    public void requestDirectoryPage(DirectoryPageRequest request, SimpMessageHeaderAccessor headerAccessor) {
+        log.debug("Directory page request: {} (listing {}, page {})", request.sessionId(), request.listingId(), request.page());
+        if (routeToOwner("/terminal/listdir/page", request.sessionId(), request, headerAccessor)
+            || !canWrite(request.sessionId(), headerAccessor)) {
+            return;
+        }
+        terminalSessionService.requestDirectoryPage(request);
+    }
+
+    @MessageMapping("/terminal/listdir/cancel")
+    public void cancelDirectoryStream(DirectoryStreamCancelRequest request, SimpMessageHeaderAccessor headerAccessor) {
+        log.debug("Directory stream cancel request: {} (listing {})", request.sessionId(), request.listingId());
+        if (routeToOwner("/terminal/listdir/cancel", request.sessionId(), request, headerAccessor)
+            || !canWrite(request.sessionId(), headerAccessor)) {
+            return;
+        }
+        terminalSessionService.cancelDirectoryStream(request);
+    }
+
     @MessageMapping("/terminal/pwd")
-    public void getCurrentDirectory(String sessionId) {
+    public void getCurrentDirectory(String sessionId, SimpMessageHeaderAccessor headerAccessor) {
         log.debug("Get current directory request: {}", sessionId);
+        if (routeToOwner("/terminal/pwd", sessionId, sessionId, headerAccessor)) {
+            return;
+        }
 
         String path = terminalSessionService.getCurrentDirectory(sessionId);
         messagingTemplate.convertAndSend(
@@ -94,8 +234,11 @@ public class TerminalWebSocketController {
     }
 
     @MessageMapping("/terminal/ping")
-    public void ping(String sessionId) {
+    public void ping(String sessionId, SimpMessageHeaderAccessor headerAccessor) {
         log.trace("Terminal ping request: {}", sessionId);
+        if (routeToOwner("/terminal/ping", sessionId, sessionId, headerAccessor)) {
+            return;
+        }
 
         TerminalMessage response = terminalSessionService.handlePing(sessionId);
         messagingTemplate.convertAndSend(
@@ -103,4 +246,61 @@ public class TerminalWebSocketController {
             response
         );
     }
+
+    /**
+     * 다른 노드의 WebSocket 연결이 끊겨 그 노드가 보낸 분리 요청 (클러스터 모드)
+     */
+    @MessageMapping("/terminal/cluster/detach")
+    public void clusterDetach(String sessionId, SimpMessageHeaderAccessor headerAccessor) {
+        if (!sessionOwnershipRegistry.isForwarded(headerAccessor)) {
+            return;
+        }
+        log.info("Cluster detach request: {} (WebSocket {})", sessionId, headerAccessor.getSessionId());
+        terminalSessionService.detachSession(sessionId);
+    }
+
+    /**
+     * 다른 노드의 WebSocket 연결 종료: 그 연결로 이 노드의 세션을 보던 viewer 제거 (클러스터 모드)
+     */
+    @MessageMapping("/terminal/cluster/connection-closed")
+    public void clusterConnectionClosed(SimpMessageHeaderAccessor headerAccessor) {
+        if (sessionOwnershipRegistry.isForwarded(headerAccessor)) {
+            terminalSessionService.detachViewers(headerAccessor.getSessionId());
+        }
+    }
+
+    /**
+     * 다른 노드가 가진 세션이면 그 노드로 넘기고 true (넘겨받은 메시지는 다시 넘기지 않고 로컬에서 처리)
+     */
+    private boolean routeToOwner(String route, String sessionId, Object payload, SimpMessageHeaderAccessor headerAccessor) {
+        String owner = sessionOwnershipRegistry.remoteOwnerOf(sessionId);
+        if (owner == null || sessionOwnershipRegistry.isForwarded(headerAccessor)) {
+            return false;
+        }
+        String wsSessionId = headerAccessor.getSessionId();
+        sessionOwnershipRegistry.forward(owner, route, payload, wsSessionId,
+            webSocketEventListener.ownsSshSession(wsSessionId, sessionId));
+        return true;
+    }
+
+    /**
+     * 한 WebSocket 연결에만 보내는 메시지 헤더 (인증 사용자 없이 세션 ID 를 사용자 대상으로 사용)
+     */
+    private static MessageHeaders sessionHeaders(String wsSessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(wsSessionId);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
+
+    /**
+     * 세션을 연결(resume)한 WebSocket 연결이거나 쓰기 가능한 viewer 로 붙은 연결이면 true.
+     * 세션 ID 만 알아서는 입력, 크기 변경, 종료, 디렉토리 조회를 할 수 없다 (읽기 전용 viewer 에게는 오류 전송)
+     */
+    private boolean canWrite(String sessionId, SimpMessageHeaderAccessor headerAccessor) {
+        String wsSessionId = headerAccessor.getSessionId();
+        return webSocketEventListener.ownsSshSession(wsSessionId, sessionId)
+            || sessionOwnershipRegistry.isForwardedFromOwner(headerAccessor)
+            || terminalSessionService.authorizeViewerWrite(sessionId, wsSessionId);
+    }
 }
@@ -0,0 +1,103 @@
+package com.sshmonitor.dto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 바이너리 터미널 프로토콜 프레임 (/ws/terminal-binary)
+ *
+ * <pre>
+ * +--------+-------------+-------------------+-----------------+
+ * | type:1 | idLength:1  | sessionId (UTF-8) | payload         |
+ * +--------+-------------+-------------------+-----------------+
+ * </pre>
+ *
+ * payload 형식은 type별로 다르다.
+ * <ul>
+ *   <li>CONNECT (C→S): TerminalConnectRequest JSON</li>
+ *   <li>INPUT (C→S), OUTPUT (S→C): 원본 바이트 (인코딩/이스케이프 없음)</li>
+ *   <li>RESIZE (C→S): cols(uint16) + rows(uint16), big-endian</li>
+ *   <li>PING (C→S), DISCONNECT (C→S): 없음</li>
+ *   <li>PONG (S→C): 1바이트 (1 = healthy, 0 = unhealthy)</li>
+ *   <li>MESSAGE (S→C): connected/status/error/resized 등 TerminalMessage JSON</li>
+ *   <li>REPLAY (C→S): maxBytes(uint32, 생략 가능) / (S→C): 스크롤백 원본 바이트</li>
+ *   <li>RESUME (C→S): TerminalResumeRequest JSON, 누락된 출력은 OUTPUT 프레임으로 재전송</li>
+ *   <li>ATTACH (C→S): TerminalViewerAttachRequest JSON, 다른 연결의 세션을 viewer 로 보기 (현재 화면과 이후 출력은 OUTPUT 프레임)</li>
+ *   <li>VIEWER_DETACH (C→S): TerminalViewerDetachRequest JSON</li>
+ * </ul>
+ */
+public record BinaryTerminalFrame(
+    byte type,
+    String sessionId,
+    byte[] payload
+) {
+    public static final byte CONNECT = 0x01;
+    public static final byte INPUT = 0x02;
+    public static final byte OUTPUT = 0x03;
+    public static final byte RESIZE = 0x04;
+    public static final byte PING = 0x05;
+    public static final byte PONG = 0x06;
+    public static final byte DISCONNECT = 0x07;
+    public static final byte MESSAGE = 0x08;
+    public static final byte REPLAY = 0x09;
+    public static final byte RESUME = 0x0A;
+    public static final byte ATTACH = 0x0B;
+    public static final byte VIEWER_DETACH = 0x0C;
+
+    private static final int HEADER_LENGTH = 2;
+    private static final int MAX_SESSION_ID_LENGTH = 255;
+
+    public static BinaryTerminalFrame decode(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_LENGTH) {
+            throw new IllegalArgumentException("Frame too short: " + buffer.remaining() + " bytes");
+        }
+
+        byte type = buffer.get();
+        int idLength = buffer.get() & 0xFF;
+        if (buffer.remaining() < idLength) {
+            throw new IllegalArgumentException("Truncated session id: expected " + idLength + " bytes");
+        }
+
+        byte[] id = new byte[idLength];
+        buffer.get(id);
+        byte[] payload = new byte[buffer.remaining()];
+        buffer.get(payload);
+        return new BinaryTerminalFrame(type, new String(id, StandardCharsets.UTF_8), payload);
+    }
+
+    /**
+     * 출력 프레임은 payload 복사를 한 번만 하도록 배열 구간을 직접 인코딩
+     */
+    public static ByteBuffer encode(byte type, String sessionId, byte[] data, int offset, int length) {
+        byte[] id = sessionId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > MAX_SESSION_ID_LENGTH) {
+            throw new IllegalArgumentException("Session id too long: " + id.length + " bytes");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + id.length + length);
+        buffer.put(type);
+        buffer.put((byte) id.length);
+        buffer.put(id);
+        buffer.put(data, offset, length);
+        return buffer.flip();
+    }
+
+    public static ByteBuffer encode(byte type, String sessionId, byte[] payload) {
+        return encode(type, sessionId, payload, 0, payload.length);
+    }
+
+    public int resizeCols() {
+        return ByteBuffer.wrap(payload).getShort(0) & 0xFFFF;
+    }
+
+    public int resizeRows() {
+        return ByteBuffer.wrap(payload).getShort(2) & 0xFFFF;
+    }
+
+    /**
+     * REPLAY 요청의 maxBytes. 생략되었으면 null
+     */
+    public Integer replayMaxBytes() {
+        return payload.length < 4 ? null : ByteBuffer.wrap(payload).getInt(0) & Integer.MAX_VALUE;
+    }
+}
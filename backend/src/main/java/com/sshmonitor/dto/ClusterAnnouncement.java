@@ -0,0 +1,17 @@
+package com.sshmonitor.dto;
+
+import java.util.List;
+
+/**
+ * 노드 간 세션 소유 정보 공유 (/topic/cluster.registry)
+ *
+ * @param type       claim (세션 연결), release (세션 정리), heartbeat (주기적으로 소유 세션 전체)
+ * @param sessionIds claim/release 는 해당 세션, heartbeat 는 이 노드의 전체 세션
+ */
+public record ClusterAnnouncement(
+    String type,
+    String nodeId,
+    boolean draining,
+    int sessionCount,
+    List<String> sessionIds
+) {}
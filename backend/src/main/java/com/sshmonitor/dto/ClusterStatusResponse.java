@@ -0,0 +1,21 @@
+package com.sshmonitor.dto;
+
+import java.util.List;
+
+public record ClusterStatusResponse(
+    boolean enabled,
+    String nodeId,
+    boolean draining,
+    int localSessions,
+    int knownSessions,      // 이 노드가 알고 있는 전체 세션 소유 정보 (다른 노드 포함)
+    long forwardedOut,      // 소유 노드로 넘긴 메시지
+    long forwardedIn,       // 다른 노드에서 넘겨받은 메시지
+    List<NodeStatus> nodes
+) {
+    public record NodeStatus(
+        String nodeId,
+        int sessions,
+        boolean draining,
+        long lastSeenMillisAgo
+    ) {}
+}
@@ -7,5 +7,5 @@ public record DirectoryEntry(
     String owner,
     String group,
     long size,
-    String modified
+    String modified   // UTC, "yyyy-MM-dd HH:mm UTC" (서버 시간대와 무관하게 같은 기준)
 ) {}
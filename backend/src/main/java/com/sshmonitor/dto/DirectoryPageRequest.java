@@ -0,0 +1,13 @@
+package com.sshmonitor.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record DirectoryPageRequest(
+    @NotBlank
+    String sessionId,
+
+    @NotBlank
+    String listingId,
+
+    int page             // 0부터 시작
+) {}
@@ -0,0 +1,28 @@
+package com.sshmonitor.dto;
+
+import java.util.List;
+
+public record DirectoryPageResponse(
+    String listingId,
+    boolean success,
+    String currentPath,
+    int page,
+    int pageSize,
+    List<DirectoryEntry> entries,
+    long loadedCount,    // 지금까지 받은 항목 수 (필터 적용 후), complete면 전체 개수
+    boolean complete,    // 조회 완료 (정렬 결과 확정)
+    boolean preview,     // 조회 중 지연 예산이 지나 먼저 보낸 첫 페이지 (완료 시 다시 전송)
+    boolean truncated,   // max-entries 도달로 나머지를 읽지 않음
+    String errorMessage
+) {
+    public static DirectoryPageResponse page(String listingId, String currentPath, int page, int pageSize,
+                                             List<DirectoryEntry> entries, long loadedCount,
+                                             boolean complete, boolean preview, boolean truncated) {
+        return new DirectoryPageResponse(listingId, true, currentPath, page, pageSize, entries, loadedCount,
+            complete, preview, truncated, null);
+    }
+
+    public static DirectoryPageResponse error(String listingId, String message) {
+        return new DirectoryPageResponse(listingId, false, null, 0, 0, List.of(), 0, true, false, false, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.sshmonitor.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record DirectoryStreamCancelRequest(
+    @NotBlank
+    String sessionId,
+
+    @NotBlank
+    String listingId
+) {}
@@ -0,0 +1,21 @@
+package com.sshmonitor.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record DirectoryStreamRequest(
+    @NotBlank
+    String sessionId,
+
+    @NotBlank
+    String listingId,    // 클라이언트가 생성, 페이지 요청/취소와 응답 구분에 사용
+
+    String path,
+
+    Integer pageSize,    // null이면 terminal.directory.stream.page-size
+
+    String sortBy,       // name(기본), size, modified, type, none(받은 순서대로 페이지 전송)
+
+    Boolean descending,
+
+    String filter        // 이름 필터 (대소문자 무시, * ? 가 있으면 glob, 없으면 부분 일치)
+) {}
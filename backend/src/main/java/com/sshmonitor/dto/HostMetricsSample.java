@@ -0,0 +1,19 @@
+package com.sshmonitor.dto;
+
+public record HostMetricsSample(
+    String host,                // user@host:port
+    long timestamp,             // 수신 시각 (epoch ms)
+    double cpuUsage,            // 직전 샘플 이후 CPU 사용률 (%)
+    double load1,
+    double load5,
+    double load15,
+    long memoryTotal,           // bytes
+    long memoryUsed,            // MemTotal - MemAvailable
+    long swapTotal,
+    long swapUsed,
+    long diskReadBytesPerSec,   // /proc/diskstats 물리 디스크 합계
+    long diskWriteBytesPerSec,
+    long netRxBytesPerSec,      // /proc/net/dev (lo 제외) 합계
+    long netTxBytesPerSec,
+    long sampleMillis           // 샘플 요청부터 수신까지
+) {}
@@ -0,0 +1,35 @@
+package com.sshmonitor.dto;
+
+import java.util.List;
+
+/**
+ * 입력 -> 에코 지연 시간 측정 결과 (GET /api/terminal/latency)
+ * 구간: dispatch (입력 수신 -> 채널 기록), remote (채널 기록 -> 첫 출력 읽기: 네트워크 + 원격 셸),
+ * output (첫 출력 읽기 -> 클라이언트로 전송: 병합, 흐름 제어, 직렬화), total (수신 -> 전송)
+ */
+public record KeystrokeLatencyResponse(
+    boolean enabled,
+    long timeoutMs,         // 이 시간 안에 출력이 없으면 측정 취소 (에코 없는 입력)
+    long samples,
+    long timeouts,
+    List<StageLatency> stages,
+    List<SessionLatency> sessions
+) {
+    public record StageLatency(
+        String stage,
+        long count,
+        long meanMicros,
+        long p50Micros,
+        long p90Micros,
+        long p99Micros,
+        long maxMicros,
+        double share            // total 평균 중 이 구간이 차지하는 비율 (%)
+    ) {}
+
+    public record SessionLatency(
+        String sessionId,
+        long samples,
+        long timeouts,
+        List<StageLatency> stages
+    ) {}
+}
@@ -0,0 +1,18 @@
+package com.sshmonitor.dto;
+
+import java.util.List;
+
+public record MetricSeriesResponse(
+    String host,
+    String metric,
+    String tier,                // 1s = 원본 (최근 raw-seconds), 1m = 분 단위 집계
+    long bucketMillis,          // 점 하나가 나타내는 구간 길이
+    List<MetricPoint> points    // 데이터가 없는 구간은 생략
+) {
+    public record MetricPoint(
+        long timestamp,         // 구간 시작 (epoch ms)
+        double min,
+        double max,
+        double avg
+    ) {}
+}
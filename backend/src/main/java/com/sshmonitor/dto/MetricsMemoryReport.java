@@ -0,0 +1,13 @@
+package com.sshmonitor.dto;
+
+public record MetricsMemoryReport(
+    int hosts,
+    int maxHosts,
+    int metricsPerHost,
+    int rawSlots,           // 1초 단위 보관 개수
+    int rollupSlots,        // 1분 단위 보관 개수
+    long bytesPerHost,      // 호스트당 배열 크기 (생성 시 한 번에 할당)
+    long totalBytes,
+    long maxBytes,          // maxHosts * bytesPerHost
+    long evictions          // max-hosts 초과로 제거된 호스트 수
+) {}
@@ -1,5 +1,7 @@
 package com.sshmonitor.dto;
 
+import java.util.List;
+
 public record ServerInfoResponse(
     String hostname,
     String osType,
@@ -7,5 +9,20 @@ public record ServerInfoResponse(
     String uptime,
     Integer cpuCores,
     String memoryTotal,
-    String diskUsage
-) {}
+    String diskUsage,
+    ProbeDiagnostics diagnostics
+) {
+    public record ProbeDiagnostics(
+        String mode,            // script = exec 한 번으로 전체 수집, parallel = 항목별 exec 채널 동시 실행
+        boolean cached,         // 서버 정보 캐시에서 반환 (아래 시간은 원래 수집 당시 값)
+        long connectMillis,     // SSH 연결 + 인증 (공유 연결 재사용 시 0에 가까움)
+        long collectMillis,     // 전체 항목 수집
+        List<ProbeTiming> probes
+    ) {}
+
+    public record ProbeTiming(
+        String name,
+        String status,          // ok, empty, failed, timeout
+        long durationMillis     // 항목 시작부터 결과 수신까지 (수신하지 못했으면 수집 제한 시간)
+    ) {}
+}
@@ -0,0 +1,16 @@
+package com.sshmonitor.dto;
+
+public record SessionHealthStatsResponse(
+    long eventTeardowns,        // SSH 연결/채널 종료, 예외 이벤트로 정리한 세션 수
+    long sweepTeardowns,        // 주기 점검에서 발견해 정리한 세션 수 (이벤트를 놓친 경우)
+    int pendingTeardowns,       // 정리 대기 중인 작업 수
+    long sweepIntervalMs,
+    long sweeps,
+    Long lastSweepAt,           // epoch ms (아직 실행 전이면 null)
+    long lastSweepMicros,
+    long maxSweepMicros,
+    int lastSweepChecked,
+    int lastSweepUnhealthy,
+    long idleExpirations,       // 유휴 제한 시간으로 정리한 세션 수
+    int idleTimers              // 타이밍 휠에 등록된 만료 확인 수
+) {}
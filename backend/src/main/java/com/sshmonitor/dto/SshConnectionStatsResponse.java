@@ -0,0 +1,10 @@
+package com.sshmonitor.dto;
+
+public record SshConnectionStatsResponse(
+    String target,          // user@host:port
+    boolean shared,         // 공유 대상 여부 (false = ssh.shared-session.enabled=false 로 생성된 전용 연결)
+    int references,         // 이 연결 위에서 열린 터미널 세션 수
+    boolean acceptingNew,   // 새 터미널 세션을 받을 수 있는지 (max-channels - reserved-channels 미만, 연결 정상)
+    boolean open,
+    long uptimeSeconds
+) {}
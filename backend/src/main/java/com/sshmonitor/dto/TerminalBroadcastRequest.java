@@ -0,0 +1,20 @@
+package com.sshmonitor.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.List;
+
+/**
+ * 여러 세션에 같은 입력 전송 (/app/terminal/broadcast)
+ * 그룹은 요청한 WebSocket 연결마다 따로 관리한다 (다른 연결의 같은 groupId 와 무관, 연결이 끊기면 삭제).
+ * sessionIds 가 있으면 그룹 구성원을 그 목록으로 바꾸고 (빈 목록 = 그룹 삭제), 없으면 기존 구성원에게 전송한다.
+ * data 가 없으면 구성원만 변경한다.
+ */
+public record TerminalBroadcastRequest(
+    @NotBlank
+    String groupId,
+
+    List<String> sessionIds,
+
+    String data
+) {}
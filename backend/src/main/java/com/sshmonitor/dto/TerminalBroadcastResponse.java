@@ -0,0 +1,30 @@
+package com.sshmonitor.dto;
+
+import java.util.List;
+
+/**
+ * 브로드캐스트 전달 결과 (요청한 연결에만 전송: /user/queue/terminal/broadcast)
+ * 지연 시간은 요청 수신부터 세션 채널에 입력이 모두 쓰일 때까지
+ */
+public record TerminalBroadcastResponse(
+    String groupId,
+    int bytes,
+    int members,
+    int delivered,
+    int failed,             // delivered 가 아닌 구성원 수 (not_found, forbidden, rejected, failed, timeout)
+    long maxMicros,
+    String slowestSessionId,
+    List<MemberDelivery> results
+) {
+    /**
+     * @param status delivered, not_found, forbidden (요청한 연결이 입력할 수 없는 세션),
+     *               rejected (대기 입력 한도 초과), failed (채널 쓰기 실패),
+     *               timeout (report-timeout-ms 안에 쓰이지 않음, 쓰기는 계속 진행), member (구성원 변경만)
+     */
+    public record MemberDelivery(
+        String sessionId,
+        String status,
+        long latencyMicros,
+        String message
+    ) {}
+}
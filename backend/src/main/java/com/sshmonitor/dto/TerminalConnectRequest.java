@@ -21,7 +21,10 @@ public record TerminalConnectRequest(
 
     String privateKey,
 
-    TerminalConfig terminalConfig
+    TerminalConfig terminalConfig,
+
+    // 세션별 유휴 제한 시간 (없으면 ssh.session-timeout, terminal.idle.max-timeout-ms 이하로 제한)
+    Long idleTimeoutMs
 ) {
     public record TerminalConfig(
         Integer cols,
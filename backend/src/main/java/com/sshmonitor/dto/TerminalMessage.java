@@ -8,9 +8,11 @@ public record TerminalMessage(
     String message,
     String errorCode,
     Integer cols,
-    Integer rows
+    Integer rows,
+    Long offset,        // output/resumed: 이 메시지까지 전송된 출력 누적 바이트 (재연결 시 이어받기 기준)
+    String resumeToken  // connected: 재연결(resume) 시 제시할 토큰
 ) {
-    public static TerminalMessage connected(String sessionId) {
+    public static TerminalMessage connected(String sessionId, String resumeToken) {
         return new TerminalMessage(
             "connected",
             sessionId,
@@ -19,6 +21,41 @@ public record TerminalMessage(
             "SSH connection established",
             null,
             null,
+            null,
+            null,
+            resumeToken
+        );
+    }
+
+    public static TerminalMessage resumed(String sessionId, long offset, long lostBytes) {
+        return new TerminalMessage(
+            "resumed",
+            sessionId,
+            null,
+            null,
+            lostBytes > 0 ? "Session resumed (" + lostBytes + " bytes of output no longer available)" : "Session resumed",
+            null,
+            null,
+            null,
+            offset,
+            null
+        );
+    }
+
+    /**
+     * viewer 로 붙음 (status = read/write, offset = 이어서 보내는 초기 화면의 시작 위치)
+     */
+    public static TerminalMessage attached(String sessionId, String mode, long offset) {
+        return new TerminalMessage(
+            "attached",
+            sessionId,
+            null,
+            mode,
+            "write".equals(mode) ? "Attached as read-write viewer" : "Attached as read-only viewer",
+            null,
+            null,
+            null,
+            offset,
             null
         );
     }
@@ -32,6 +69,38 @@ public record TerminalMessage(
             null,
             null,
             null,
+            null,
+            null,
+            null
+        );
+    }
+
+    public static TerminalMessage output(String sessionId, String data, long offset) {
+        return new TerminalMessage(
+            "output",
+            sessionId,
+            data,
+            null,
+            null,
+            null,
+            null,
+            null,
+            offset,
+            null
+        );
+    }
+
+    public static TerminalMessage replay(String sessionId, String data) {
+        return new TerminalMessage(
+            "replay",
+            sessionId,
+            data,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
             null
         );
     }
@@ -45,6 +114,8 @@ public record TerminalMessage(
             message,
             errorCode,
             null,
+            null,
+            null,
             null
         );
     }
@@ -58,6 +129,8 @@ public record TerminalMessage(
             "SSH session closed",
             null,
             null,
+            null,
+            null,
             null
         );
     }
@@ -71,7 +144,9 @@ public record TerminalMessage(
             null,
             null,
             cols,
-            rows
+            rows,
+            null,
+            null
         );
     }
 
@@ -84,6 +159,8 @@ public record TerminalMessage(
             message,
             null,
             null,
+            null,
+            null,
             null
         );
     }
@@ -97,6 +174,8 @@ public record TerminalMessage(
             null,
             null,
             null,
+            null,
+            null,
             null
         );
     }
@@ -110,6 +189,8 @@ public record TerminalMessage(
             null,
             null,
             null,
+            null,
+            null,
             null
         );
     }
@@ -123,6 +204,8 @@ public record TerminalMessage(
             status.equals("unhealthy") ? "Session health check failed" : null,
             null,
             null,
+            null,
+            null,
             null
         );
     }
@@ -0,0 +1,10 @@
+package com.sshmonitor.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record TerminalReplayRequest(
+    @NotBlank
+    String sessionId,
+
+    Integer maxBytes  // null이면 terminal.scrollback.replay-bytes
+) {}
@@ -0,0 +1,13 @@
+package com.sshmonitor.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record TerminalResumeRequest(
+    @NotBlank
+    String sessionId,
+
+    @NotBlank
+    String resumeToken,  // connected 메시지로 받은 토큰
+
+    Long lastOffset      // 클라이언트가 마지막으로 받은 출력 offset (null이면 다시 보내지 않음)
+) {}
@@ -0,0 +1,85 @@
+package com.sshmonitor.dto;
+
+import java.util.List;
+
+public record TerminalSessionStatsResponse(
+    String sessionLabel,    // sessionId 의 HMAC 앞부분 (sessionId 만으로 조회/구독이 가능하므로 원본은 노출하지 않음)
+    String outputMode,
+    long uptimeSeconds,
+    long idleSeconds,
+    Long detachedSeconds,   // WebSocket 분리 후 경과 시간 (연결 중이면 null)
+    InputStats input,
+    CoalescingStats coalescing,
+    FlowControlStats flowControl,
+    ScrollbackStats scrollback,
+    DirectoryCacheStats directoryCache,
+    List<ViewerStats> viewers
+) {
+    public record InputStats(
+        long framesIn,          // 받은 입력 메시지 수
+        long chunksOut,         // 채널 쓰기 횟수
+        long mergedWrites,      // 여러 메시지를 합쳐 한 번에 쓴 횟수 (쓰기 중에 쌓인 연속 입력)
+        long splitFrames,       // 여러 청크로 나눠 쓴 메시지 수 (큰 붙여넣기)
+        long bytesOut,
+        long pendingBytes,      // 아직 채널에 쓰지 못한 입력
+        long maxPendingBytes,
+        long rejectedFrames,    // 대기 입력 한도 초과로 거부한 메시지 수
+        long rejectedBytes,
+        long writeFailures
+    ) {}
+
+    public record CoalescingStats(
+        long chunksIn,          // SSH 채널에서 읽은 청크 수
+        long framesOut,         // 실제 전송한 STOMP 프레임 수
+        long mergedChunks,      // 병합으로 줄어든 프레임 수 (chunksIn - framesOut)
+        long bytesOut,
+        long immediateFlushes,  // 유휴 상태라 즉시 전송 (타이핑 에코)
+        long timerFlushes,      // 시간 창 만료로 전송
+        long sizeFlushes        // 바이트 예산 초과로 전송
+    ) {}
+
+    public record FlowControlStats(
+        String policy,          // pause, drop, off
+        long pendingBytes,      // 클라이언트로 아직 전달되지 않은 출력 (outbound 큐 깊이)
+        long maxPendingBytes,
+        boolean throttled,      // 현재 지연 상태 여부
+        long pauseCount,        // high-watermark 도달 횟수
+        long pausedMillis,      // 지연 상태로 보낸 누적 시간
+        long droppedBytes,      // drop 정책으로 버린 출력
+        long dropEvents
+    ) {}
+
+    public record ScrollbackStats(
+        long capacityBytes,     // 세션별 최대 보관량
+        long retainedBytes,     // 현재 보관 중인 출력
+        long allocatedBytes,    // 확보한 off-heap 세그먼트 크기
+        long startOffset,       // 보관 중인 가장 오래된 출력의 절대 위치
+        long endOffset          // 지금까지 전송한 출력 총량
+    ) {}
+
+    public record DirectoryCacheStats(
+        int entries,            // 캐시된 디렉토리 수
+        long estimatedBytes,    // 캐시 메모리 추정치
+        long hits,              // ttl 이내 캐시 응답
+        long staleHits,         // 캐시 응답 후 백그라운드 재검증
+        long misses,            // 원격 조회
+        long revalidations,
+        long unchangedRevalidations,  // 디렉토리 수정 시각이 같아 목록 조회 생략
+        long invalidations,     // 명령 실행, 조회 실패로 무효화
+        long evictions          // LRU 한도 초과로 제거
+    ) {}
+
+    public record ViewerStats(
+        String viewerId,
+        String mode,            // read, write
+        long attachedSeconds,
+        long pendingBytes,      // viewer 토픽으로 아직 전달되지 않은 출력 (viewer 별 outbound 큐 깊이)
+        long maxPendingBytes,
+        long lagBytes,          // 세션 출력 위치 - viewer 에게 보낸 위치
+        boolean lagging,        // max-lag-bytes 를 넘어 전송을 건너뛰는 중
+        long lagEvents,
+        long resyncs,           // 따라잡은 뒤 스크롤백에서 다시 보낸 횟수
+        long skippedBytes,      // 밀린 동안 건너뛴 출력
+        long lostBytes          // 다시 보내지 못한 출력 (resync-bytes 초과, 스크롤백에서 사라짐)
+    ) {}
+}
@@ -0,0 +1,19 @@
+package com.sshmonitor.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * 다른 WebSocket 연결에서 실행 중인 세션을 함께 보기 (/app/terminal/viewer/attach)
+ * 출력은 /topic/terminal/{sessionId}/viewer/{viewerId} 로 전송된다.
+ */
+public record TerminalViewerAttachRequest(
+    @NotBlank
+    String sessionId,
+
+    @NotBlank
+    String viewerId,     // 클라이언트가 정한 viewer ID ('/' 제외), 같은 ID 로 다시 붙으면 교체
+
+    String mode,         // read (기본값) 또는 write
+
+    String resumeToken   // write 모드는 세션 소유자가 받은 토큰 필요
+) {}
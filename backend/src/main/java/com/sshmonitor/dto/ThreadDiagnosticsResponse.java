@@ -0,0 +1,22 @@
+package com.sshmonitor.dto;
+
+import java.util.List;
+
+public record ThreadDiagnosticsResponse(
+    boolean virtualThreadsEnabled,
+    int platformThreadCount,
+    int peakPlatformThreadCount,
+    int daemonThreadCount,
+    int carrierThreadCount,           // 가상 스레드 스케줄러(ForkJoinPool) 워커 수
+    long threadStackSizeBytes,        // 플랫폼 스레드당 스택 크기 (-Xss / ThreadStackSize)
+    long estimatedPlatformStackBytes, // platformThreadCount * threadStackSizeBytes
+    long pinnedEventCount,            // jdk.VirtualThreadPinned 이벤트 수
+    long pinnedTotalMillis,
+    List<PinnedSite> topPinnedSites
+) {
+    public record PinnedSite(
+        String frame,
+        long count,
+        long totalMillis
+    ) {}
+}
@@ -8,7 +8,9 @@ public enum ErrorCode {
     INVALID_REQUEST("INVALID_REQUEST", "Invalid request"),
     SESSION_LIMIT("SESSION_LIMIT", "Session limit exceeded"),
     COMMAND_FAILED("COMMAND_FAILED", "Command execution failed"),
-    SESSION_NOT_FOUND("SESSION_NOT_FOUND", "Session not found");
+    SESSION_NOT_FOUND("SESSION_NOT_FOUND", "Session not found"),
+    INPUT_OVERFLOW("INPUT_OVERFLOW", "Input buffer full"),
+    READ_ONLY("READ_ONLY", "Read-only viewer");
 
     private final String code;
     private final String message;
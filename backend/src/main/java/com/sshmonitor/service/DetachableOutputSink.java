@@ -0,0 +1,39 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.TerminalMessage;
+
+/**
+ * 세션의 현재 출력 대상. WebSocket 재연결(resume) 시 새 연결의 전송 대상으로 교체된다.
+ */
+class DetachableOutputSink implements TerminalOutputSink {
+
+    private volatile TerminalOutputSink delegate;
+
+    DetachableOutputSink(TerminalOutputSink delegate) {
+        this.delegate = delegate;
+    }
+
+    void attach(TerminalOutputSink delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void sendOutput(String sessionId, byte[] data, int offset, int length) {
+        delegate.sendOutput(sessionId, data, offset, length);
+    }
+
+    @Override
+    public void sendOutput(String sessionId, byte[] data, int offset, int length, long endOffset) {
+        delegate.sendOutput(sessionId, data, offset, length, endOffset);
+    }
+
+    @Override
+    public void sendMessage(String sessionId, TerminalMessage message) {
+        delegate.sendMessage(sessionId, message);
+    }
+
+    @Override
+    public long getPendingBytes(String sessionId) {
+        return delegate.getPendingBytes(sessionId);
+    }
+}
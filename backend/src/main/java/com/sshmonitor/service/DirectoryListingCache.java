@@ -0,0 +1,219 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.DirectoryEntry;
+import com.sshmonitor.dto.DirectoryListResponse;
+import com.sshmonitor.dto.TerminalSessionStatsResponse.DirectoryCacheStats;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 세션별 디렉토리 목록 캐시 (LRU, 항목 수 + 추정 메모리 한도).
+ * 키는 절대 경로이고, 요청에 쓰인 경로(~, 상대 경로 등)는 별칭으로 절대 경로에 연결한다.
+ * <ul>
+ *   <li>ttl 이내: 그대로 반환 (fresh)</li>
+ *   <li>ttl + stale 이내 또는 같은 세션에서 명령을 실행한 뒤: 캐시를 바로 반환하고 백그라운드에서 재검증 (stale)</li>
+ *   <li>그 이후: 제거하고 원격 조회 (miss)</li>
+ * </ul>
+ */
+class DirectoryListingCache {
+
+    /**
+     * @param dirty 같은 세션에서 명령을 실행한 뒤라 내용이 바뀌었을 수 있음 (디렉토리 수정 시각만으로 판단 불가)
+     */
+    record Lookup(String path, DirectoryListResponse response, Long modifiedTime, boolean stale, boolean dirty) {}
+
+    // 항목 크기 추정용 (객체 헤더, 참조, 리스트 슬롯)
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int LISTING_OVERHEAD_BYTES = 128;
+
+    private final long ttlMillis;
+    private final long staleMillis;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    private final LinkedHashMap<String, CachedListing> listings = new LinkedHashMap<>(16, 0.75f, true);
+    // 요청 경로 -> 절대 경로
+    private final LinkedHashMap<String, String> aliases = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<String> revalidating = new HashSet<>();
+    private long totalBytes;
+
+    private long hits;
+    private long staleHits;
+    private long misses;
+    private long revalidations;
+    private long unchangedRevalidations;
+    private long invalidations;
+    private long evictions;
+
+    DirectoryListingCache(long ttlMillis, long staleMillis, int maxEntries, long maxBytes) {
+        this.ttlMillis = ttlMillis;
+        this.staleMillis = staleMillis;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return 캐시된 목록, 없거나 stale 기간까지 지났으면 null
+     */
+    synchronized Lookup lookup(String requestedPath, long nowMillis) {
+        String path = aliases.getOrDefault(normalize(requestedPath), requestedPath);
+        CachedListing cached = listings.get(path);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+
+        long age = nowMillis - cached.loadedAt;
+        if (age > ttlMillis + staleMillis) {
+            remove(path);
+            misses++;
+            return null;
+        }
+
+        boolean stale = cached.dirty || age > ttlMillis;
+        if (stale) {
+            staleHits++;
+        } else {
+            hits++;
+        }
+        return new Lookup(path, cached.response, cached.modifiedTime, stale, cached.dirty);
+    }
+
+    synchronized void put(String requestedPath, DirectoryListResponse response, Long modifiedTime, long nowMillis) {
+        String path = response.currentPath();
+        aliases.put(normalize(requestedPath), path);
+        aliases.put(path, path);
+
+        CachedListing previous = listings.put(path, new CachedListing(response, modifiedTime, nowMillis, estimateBytes(response)));
+        if (previous != null) {
+            totalBytes -= previous.bytes;
+        }
+        totalBytes += listings.get(path).bytes;
+
+        // 가장 오래 쓰지 않은 목록부터 제거 (방금 넣은 목록은 한도를 넘어도 유지)
+        Iterator<Map.Entry<String, CachedListing>> iterator = listings.entrySet().iterator();
+        while ((listings.size() > maxEntries || totalBytes > maxBytes) && listings.size() > 1) {
+            Map.Entry<String, CachedListing> eldest = iterator.next();
+            totalBytes -= eldest.getValue().bytes;
+            iterator.remove();
+            evictions++;
+        }
+        while (aliases.size() > maxEntries * 4) {
+            aliases.pollFirstEntry();
+        }
+    }
+
+    /**
+     * 재검증 결과 변경이 없으면 캐시 시각만 갱신
+     */
+    synchronized void touch(String path, long nowMillis) {
+        CachedListing cached = listings.get(path);
+        if (cached != null) {
+            cached.loadedAt = nowMillis;
+            cached.dirty = false;
+        }
+        unchangedRevalidations++;
+    }
+
+    /**
+     * @return 이미 같은 경로를 재검증 중이면 false
+     */
+    synchronized boolean beginRevalidation(String path) {
+        if (!revalidating.add(path)) {
+            return false;
+        }
+        revalidations++;
+        return true;
+    }
+
+    synchronized void endRevalidation(String path) {
+        revalidating.remove(path);
+    }
+
+    /**
+     * 같은 세션에서 명령을 실행함: 어떤 경로가 바뀌었는지 알 수 없으므로 전체를 stale로 표시
+     */
+    synchronized void markAllDirty() {
+        if (listings.isEmpty()) {
+            return;
+        }
+        listings.values().forEach(cached -> cached.dirty = true);
+        invalidations++;
+    }
+
+    synchronized void invalidate(String path) {
+        if (remove(path)) {
+            invalidations++;
+        }
+    }
+
+    synchronized void clear() {
+        listings.clear();
+        aliases.clear();
+        totalBytes = 0;
+    }
+
+    synchronized DirectoryCacheStats getStats() {
+        return new DirectoryCacheStats(
+            listings.size(),
+            totalBytes,
+            hits,
+            staleHits,
+            misses,
+            revalidations,
+            unchangedRevalidations,
+            invalidations,
+            evictions
+        );
+    }
+
+    private boolean remove(String path) {
+        CachedListing removed = listings.remove(path);
+        if (removed == null) {
+            return false;
+        }
+        totalBytes -= removed.bytes;
+        return true;
+    }
+
+    // 빈 경로와 . 은 모두 홈 디렉토리
+    private static String normalize(String path) {
+        return path == null || path.isEmpty() || path.equals(".") ? "~" : path;
+    }
+
+    private static long estimateBytes(DirectoryListResponse response) {
+        long bytes = LISTING_OVERHEAD_BYTES + stringBytes(response.currentPath());
+        for (DirectoryEntry entry : response.entries()) {
+            bytes += ENTRY_OVERHEAD_BYTES
+                + stringBytes(entry.name())
+                + stringBytes(entry.permissions())
+                + stringBytes(entry.owner())
+                + stringBytes(entry.group())
+                + stringBytes(entry.modified());
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value != null ? 40 + value.length() : 0;
+    }
+
+    private static class CachedListing {
+        final DirectoryListResponse response;
+        final Long modifiedTime;
+        final long bytes;
+        long loadedAt;
+        boolean dirty;
+
+        CachedListing(DirectoryListResponse response, Long modifiedTime, long loadedAt, long bytes) {
+            this.response = response;
+            this.modifiedTime = modifiedTime;
+            this.loadedAt = loadedAt;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.DirectoryEntry;
+import com.sshmonitor.dto.DirectoryPageResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * 대용량 디렉토리 스트리밍 조회 상태 (listingId 하나).
+ * <ul>
+ *   <li>정렬 없음(none): 받은 순서대로 pageSize가 찰 때마다 페이지 전송</li>
+ *   <li>정렬: 전체를 받아야 순서가 확정되므로, 첫 페이지 지연 예산이 지나면 지금까지 받은 항목으로 미리보기를 보내고
+ *       완료 시 확정된 첫 페이지를 보낸다. 나머지 페이지는 요청 시 전송 (완료 전 요청은 완료 후 응답)</li>
+ * </ul>
+ * 필터는 받는 즉시 적용하므로 보관하는 항목은 일치한 항목뿐이다.
+ */
+class DirectoryListingStream implements RemoteDirectoryService.EntryStream {
+
+    static final String SORT_NONE = "none";
+
+    private final String listingId;
+    private final int pageSize;
+    private final Comparator<DirectoryEntry> order;
+    private final Predicate<DirectoryEntry> filter;
+    private final int maxEntries;
+    private final Consumer<DirectoryPageResponse> sink;
+    final long startedAtNanos = System.nanoTime();
+
+    private final List<DirectoryEntry> entries = new ArrayList<>();
+    // 정렬 완료 전에 요청된 페이지
+    private final SortedSet<Integer> pendingPages = new TreeSet<>();
+    private String currentPath;
+    private boolean firstPageSent;
+    private boolean previewDue;
+    private int pagesPushed;
+    private boolean complete;
+    private boolean cancelled;
+    private boolean truncated;
+    private long firstPageNanos = -1;
+
+    DirectoryListingStream(String listingId, int pageSize, String sortBy, boolean descending, String filter,
+                           int maxEntries, Consumer<DirectoryPageResponse> sink) {
+        this.listingId = listingId;
+        this.pageSize = pageSize;
+        this.order = comparatorOf(sortBy, descending);
+        this.filter = filterOf(filter);
+        this.maxEntries = maxEntries;
+        this.sink = sink;
+    }
+
+    @Override
+    public synchronized void start(String currentPath) {
+        this.currentPath = currentPath;
+    }
+
+    @Override
+    public synchronized boolean accept(DirectoryEntry entry) {
+        if (cancelled) {
+            return false;
+        }
+        if (!filter.test(entry)) {
+            return true;
+        }
+        if (entries.size() >= maxEntries) {
+            truncated = true;
+            return false;
+        }
+
+        entries.add(entry);
+        if (order == null) {
+            // 정렬 없음: 받은 순서가 곧 최종 순서이므로 페이지가 찰 때마다 전송
+            if (entries.size() % pageSize == 0) {
+                sendPage(pagesPushed++, false);
+            }
+        } else if (previewDue && entries.size() == pageSize) {
+            // 예산이 지났는데 받은 항목이 없었음: 한 페이지가 모이면 바로 미리보기
+            previewDue = false;
+            sendPage(0, true);
+        }
+        return true;
+    }
+
+    /**
+     * 원격 조회가 끝남
+     * @return 취소된 조회면 false
+     */
+    synchronized boolean finish() {
+        if (cancelled || complete) {
+            return false;
+        }
+        complete = true;
+
+        if (order != null) {
+            entries.sort(order);
+            sendPage(0, false);
+            for (int page : pendingPages) {
+                if (page != 0) {
+                    sendPage(page, false);
+                }
+            }
+            pendingPages.clear();
+        } else if (pagesPushed == 0 || entries.size() % pageSize != 0) {
+            // 마지막 (덜 찬) 페이지, 빈 디렉토리면 빈 첫 페이지
+            sendPage(pagesPushed, false);
+        } else {
+            // 마지막 페이지가 이미 꽉 찬 상태로 전송됨: 완료 여부만 다시 알림
+            sendPage(pagesPushed - 1, false);
+        }
+        return true;
+    }
+
+    /**
+     * 원격 조회 실패 (경로 없음, 권한 없음 등)
+     */
+    synchronized void fail(String message) {
+        if (cancelled || complete) {
+            return;
+        }
+        complete = true;
+        entries.clear();
+        sink.accept(DirectoryPageResponse.error(listingId, message));
+    }
+
+    /**
+     * 지연 예산 만료: 아직 첫 페이지를 못 보냈으면 지금까지 받은 항목으로 미리보기 전송
+     */
+    synchronized void sendPreviewIfPending() {
+        if (cancelled || complete || firstPageSent) {
+            return;
+        }
+        if (entries.isEmpty()) {
+            // 경로 확인, 채널 열기 등으로 아직 받은 항목이 없음
+            previewDue = true;
+            return;
+        }
+        sendPage(0, true);
+    }
+
+    synchronized void sendRequestedPage(int page) {
+        if (cancelled) {
+            sink.accept(DirectoryPageResponse.error(listingId, "Listing cancelled"));
+            return;
+        }
+        if (!complete && order != null) {
+            // 정렬 순서가 확정되지 않음: 완료 후 응답
+            pendingPages.add(Math.max(0, page));
+            return;
+        }
+        sendPage(Math.max(0, page), false);
+    }
+
+    /**
+     * @return 취소 시점까지 받은 항목 수
+     */
+    synchronized int cancel() {
+        int loaded = entries.size();
+        cancelled = true;
+        entries.clear();
+        pendingPages.clear();
+        return loaded;
+    }
+
+    synchronized int getLoadedCount() {
+        return entries.size();
+    }
+
+    synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * @return 첫 페이지까지 걸린 시간 (아직 전송 전이면 -1)
+     */
+    synchronized long getFirstPageMillis() {
+        return firstPageNanos < 0 ? -1 : firstPageNanos / 1_000_000;
+    }
+
+    private void sendPage(int page, boolean preview) {
+        List<DirectoryEntry> pageEntries;
+        if (preview && order != null) {
+            pageEntries = entries.stream().sorted(order).limit(pageSize).toList();
+            page = 0;
+        } else {
+            int from = Math.min(page * pageSize, entries.size());
+            pageEntries = List.copyOf(entries.subList(from, Math.min(from + pageSize, entries.size())));
+        }
+
+        if (page == 0 && !firstPageSent) {
+            firstPageSent = !preview;
+            if (firstPageNanos < 0) {
+                firstPageNanos = System.nanoTime() - startedAtNanos;
+            }
+        }
+        sink.accept(DirectoryPageResponse.page(listingId, currentPath, page, pageSize, pageEntries,
+            entries.size(), complete, preview, truncated));
+    }
+
+    /**
+     * .. 먼저, 그 다음 디렉토리, 그 다음 파일 (각각 sortBy 기준, 같으면 이름순)
+     */
+    static Comparator<DirectoryEntry> comparatorOf(String sortBy, boolean descending) {
+        if (SORT_NONE.equalsIgnoreCase(sortBy)) {
+            return null;
+        }
+
+        Comparator<DirectoryEntry> key = switch (sortBy == null ? "name" : sortBy.toLowerCase(Locale.ROOT)) {
+            case "size" -> Comparator.comparingLong(DirectoryEntry::size);
+            case "modified" -> Comparator.comparing(DirectoryEntry::modified, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "type" -> Comparator.comparing(DirectoryListingStream::extension);
+            default -> (a, b) -> 0;
+        };
+        key = key.thenComparing(DirectoryEntry::name, String.CASE_INSENSITIVE_ORDER);
+        if (descending) {
+            key = key.reversed();
+        }
+
+        Comparator<DirectoryEntry> sortKey = key;
+        return (a, b) -> {
+            if (a.name().equals("..")) return -1;
+            if (b.name().equals("..")) return 1;
+            boolean aDir = a.type().equals("directory");
+            boolean bDir = b.type().equals("directory");
+            if (aDir != bDir) return aDir ? -1 : 1;
+            return sortKey.compare(a, b);
+        };
+    }
+
+    /**
+     * 대소문자 무시. * ? 가 있으면 glob(전체 일치), 없으면 부분 일치. .. 은 항상 포함
+     */
+    static Predicate<DirectoryEntry> filterOf(String filter) {
+        if (filter == null || filter.isBlank()) {
+            return entry -> true;
+        }
+
+        Predicate<String> nameMatch;
+        if (filter.contains("*") || filter.contains("?")) {
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            for (char c : filter.toCharArray()) {
+                if (c == '*' || c == '?') {
+                    if (!literal.isEmpty()) {
+                        regex.append(Pattern.quote(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    regex.append(c == '*' ? ".*" : ".");
+                } else {
+                    literal.append(c);
+                }
+            }
+            if (!literal.isEmpty()) {
+                regex.append(Pattern.quote(literal.toString()));
+            }
+            Pattern pattern = Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            nameMatch = name -> pattern.matcher(name).matches();
+        } else {
+            String needle = filter.toLowerCase(Locale.ROOT);
+            nameMatch = name -> name.toLowerCase(Locale.ROOT).contains(needle);
+        }
+        return entry -> entry.name().equals("..") || nameMatch.test(entry.name());
+    }
+
+    private static String extension(DirectoryEntry entry) {
+        int dot = entry.name().lastIndexOf('.');
+        return dot > 0 ? entry.name().substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+}
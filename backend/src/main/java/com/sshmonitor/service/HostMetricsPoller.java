@@ -0,0 +1,395 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.HostMetricsSample;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sshd.client.channel.ChannelExec;
+import org.apache.sshd.client.session.ClientSession;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+
+/**
+ * 호스트 하나(SSH 연결 하나)의 지표 수집기.
+ * exec 채널 하나에서 셸 루프를 계속 실행하고, 샘플이 필요할 때 stdin으로 줄바꿈을 보내면
+ * 셸 내장 명령(read, printf, case)만으로 /proc 파일을 출력한다 (샘플마다 프로세스를 만들지 않음).
+ * 누적 카운터(CPU 시간, 디스크 섹터, 네트워크 바이트)는 직전 샘플과의 차이로 비율을 계산한다.
+ * 채널은 셸 외 부가 채널이므로 SshConnectionManager 의 연결당 채널 한도에서 예약한 뒤 연다.
+ */
+@Slf4j
+class HostMetricsPoller {
+
+    private static final SecureRandom NONCE_RANDOM = new SecureRandom();
+    // 파티션을 제외한 물리 디스크 (파티션까지 더하면 중복 집계)
+    private static final Pattern WHOLE_DISK = Pattern.compile("(sd|vd|xvd|hd)[a-z]+|nvme\\d+n\\d+|mmcblk\\d+");
+    private static final int SECTOR_BYTES = 512;
+
+    final String host;
+    final ClientSession clientSession;
+    final Set<String> subscribers = new CopyOnWriteArraySet<>();
+    private final SshConnectionManager connectionManager;
+    private final Semaphore pollPermits;
+    private final BiConsumer<HostMetricsPoller, HostMetricsSample> listener;
+    private final String marker = "@@" + HexFormat.of().formatHex(nonce());
+    private final SampleOutput output = new SampleOutput();
+    private final AtomicBoolean channelReserved = new AtomicBoolean();
+
+    private ChannelExec channel;
+    private OutputStream tickOut;
+    private volatile boolean ready;
+    private volatile boolean closed;
+
+    // 요청 중인 샘플 (동시 수집 한도 permit 보유)
+    private boolean inFlight;
+    private long requestedAtNanos;
+
+    private Counters previous;
+    private volatile HostMetricsSample latest;
+
+    private long samples;
+    private long skipped;
+    private long timeouts;
+
+    HostMetricsPoller(String host, ClientSession clientSession, SshConnectionManager connectionManager,
+                      Semaphore pollPermits, BiConsumer<HostMetricsPoller, HostMetricsSample> listener) {
+        this.host = host;
+        this.clientSession = clientSession;
+        this.connectionManager = connectionManager;
+        this.pollPermits = pollPermits;
+        this.listener = listener;
+    }
+
+    /**
+     * 채널 열기를 요청하고 바로 반환 (열리면 다음 tick부터 수집)
+     *
+     * @throws IOException 연결의 채널 한도에 도달했거나 채널을 만들지 못한 경우
+     */
+    void open() throws IOException {
+        if (!connectionManager.tryReserveChannel(clientSession)) {
+            throw new IOException("SSH channel limit reached");
+        }
+        channelReserved.set(true);
+        try {
+            channel = clientSession.createExecChannel("sh -c '" + buildScript() + "'");
+        } catch (IOException | RuntimeException e) {
+            releaseChannel();
+            throw e;
+        }
+        channel.setOut(output);
+        channel.setErr(OutputStream.nullOutputStream());
+        channel.addCloseFutureListener(future -> onChannelClosed());
+        channel.open().addListener(future -> {
+            if (future.isOpened()) {
+                tickOut = channel.getInvertedIn();
+                ready = true;
+            } else {
+                log.warn("Failed to open metrics channel: {} | {}", host,
+                    future.getException() != null ? future.getException().getMessage() : "not opened");
+            }
+        });
+    }
+
+    /**
+     * 수집 주기마다 호출. 이전 샘플이 아직 오지 않았거나 동시 수집 한도에 걸리면 이번 주기는 건너뛴다
+     */
+    synchronized void tick(long sampleTimeoutNanos) {
+        if (!ready || closed) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (inFlight) {
+            if (now - requestedAtNanos < sampleTimeoutNanos) {
+                skipped++;
+                return;
+            }
+            // 응답 없음: permit 반납 후 다시 요청
+            timeouts++;
+            inFlight = false;
+            pollPermits.release();
+        }
+        if (!pollPermits.tryAcquire()) {
+            skipped++;
+            return;
+        }
+
+        inFlight = true;
+        requestedAtNanos = now;
+        try {
+            tickOut.write('\n');
+            tickOut.flush();
+        } catch (IOException e) {
+            log.debug("Failed to request metrics sample: {} | {}", host, e.getMessage());
+            inFlight = false;
+            pollPermits.release();
+        }
+    }
+
+    void close() {
+        closed = true;
+        if (channel != null) {
+            channel.close(true);
+        }
+        releasePermit();
+        releaseChannel();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    HostMetricsSample getLatest() {
+        return latest;
+    }
+
+    synchronized String describeStats() {
+        return String.format("samples=%d, skipped=%d, timeouts=%d", samples, skipped, timeouts);
+    }
+
+    private void onChannelClosed() {
+        if (!closed) {
+            closed = true;
+            log.info("Metrics channel closed: {} | {}", host, describeStats());
+        }
+        releasePermit();
+        releaseChannel();
+    }
+
+    private void releaseChannel() {
+        if (channelReserved.compareAndSet(true, false)) {
+            connectionManager.releaseChannel(clientSession);
+        }
+    }
+
+    private synchronized void releasePermit() {
+        if (inFlight) {
+            inFlight = false;
+            pollPermits.release();
+        }
+    }
+
+    /**
+     * 샘플 계산은 모니터 안에서, 전송(STOMP)은 모니터 밖에서 한다.
+     * MINA I/O 스레드에서 호출되므로 전송이 느려도 tick/describeStats 가 모니터를 기다리지 않도록
+     */
+    private void onSample(Counters counters) {
+        if (counters.cpuTotal == 0) {
+            // /proc 이 없는 서버 (Linux 아님): 더 수집하지 않음
+            releasePermit();
+            log.info("Host metrics unavailable (no /proc/stat): {}", host);
+            close();
+            return;
+        }
+
+        HostMetricsSample sample = recordSample(counters);
+        if (sample != null) {
+            listener.accept(this, sample);
+        }
+    }
+
+    /**
+     * @return 전송할 샘플, 첫 샘플(비율 계산 기준값)이면 null
+     */
+    private synchronized HostMetricsSample recordSample(Counters counters) {
+        long receivedAtNanos = System.nanoTime();
+        long sampleMillis = inFlight ? (receivedAtNanos - requestedAtNanos) / 1_000_000 : 0;
+        releasePermit();
+
+        Counters before = previous;
+        previous = counters;
+        if (before == null) {
+            // 첫 샘플은 비율 계산 기준값
+            return null;
+        }
+
+        double seconds = (counters.atNanos - before.atNanos) / 1_000_000_000.0;
+        long totalDelta = counters.cpuTotal - before.cpuTotal;
+        long idleDelta = counters.cpuIdle - before.cpuIdle;
+        double cpuUsage = totalDelta > 0 ? Math.round(1000.0 * (totalDelta - idleDelta) / totalDelta) / 10.0 : 0;
+
+        HostMetricsSample sample = new HostMetricsSample(
+            host,
+            System.currentTimeMillis(),
+            cpuUsage,
+            counters.load1,
+            counters.load5,
+            counters.load15,
+            counters.memTotal,
+            counters.memTotal - counters.memAvailable,
+            counters.swapTotal,
+            counters.swapTotal - counters.swapFree,
+            rate(counters.diskReadSectors - before.diskReadSectors, seconds) * SECTOR_BYTES,
+            rate(counters.diskWriteSectors - before.diskWriteSectors, seconds) * SECTOR_BYTES,
+            rate(counters.netRx - before.netRx, seconds),
+            rate(counters.netTx - before.netTx, seconds),
+            sampleMillis
+        );
+        samples++;
+        latest = sample;
+        return sample;
+    }
+
+    private static long rate(long delta, double seconds) {
+        // 카운터 초기화(재부팅, 인터페이스 재생성)는 0으로 처리
+        return delta > 0 && seconds > 0 ? Math.round(delta / seconds) : 0;
+    }
+
+    /**
+     * 작은따옴표 안에 넣어 sh -c 로 실행하므로 스크립트에는 작은따옴표를 쓰지 않는다
+     */
+    private String buildScript() {
+        return "M=" + marker + "\n" + """
+            d() { while IFS= read -r l; do printf "%s\\n" "$l"; done < "$1"; }
+            s() { while IFS= read -r l; do case $l in "cpu "*) printf "%s\\n" "$l"; return;; esac; done < /proc/stat; }
+            m() { while IFS= read -r l; do case $l in MemTotal:*|MemAvailable:*|SwapTotal:*|SwapFree:*) printf "%s\\n" "$l";; esac; done < /proc/meminfo; }
+            while IFS= read -r _; do
+              printf "%s stat\\n" "$M"; s 2>/dev/null
+              printf "%s mem\\n" "$M"; m 2>/dev/null
+              printf "%s load\\n" "$M"; d /proc/loadavg 2>/dev/null
+              printf "%s net\\n" "$M"; d /proc/net/dev 2>/dev/null
+              printf "%s disk\\n" "$M"; d /proc/diskstats 2>/dev/null
+              printf "%s end\\n" "$M"
+            done
+            """;
+    }
+
+    private static byte[] nonce() {
+        byte[] nonce = new byte[8];
+        NONCE_RANDOM.nextBytes(nonce);
+        return nonce;
+    }
+
+    /**
+     * 샘플 하나에서 읽은 누적 카운터와 현재 값
+     */
+    private static final class Counters {
+        final long atNanos = System.nanoTime();
+        long cpuTotal;
+        long cpuIdle;
+        double load1;
+        double load5;
+        double load15;
+        long memTotal;
+        long memAvailable;
+        long swapTotal;
+        long swapFree;
+        long diskReadSectors;
+        long diskWriteSectors;
+        long netRx;
+        long netTx;
+    }
+
+    /**
+     * 채널 출력을 줄 단위로 나눠 구분자 줄(@@nonce 섹션) 기준으로 파싱
+     */
+    private final class SampleOutput extends OutputStream {
+
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private String section;
+        private Counters current;
+
+        @Override
+        public synchronized void write(int b) {
+            if (b == '\n') {
+                onLine(line.toString(StandardCharsets.UTF_8));
+                line.reset();
+            } else {
+                line.write(b);
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        private void onLine(String text) {
+            if (text.startsWith(marker)) {
+                section = text.substring(marker.length()).trim();
+                if (section.equals("stat")) {
+                    current = new Counters();
+                } else if (section.equals("end") && current != null) {
+                    Counters completed = current;
+                    current = null;
+                    onSample(completed);
+                }
+                return;
+            }
+            if (current == null || section == null) {
+                return;
+            }
+
+            try {
+                String[] fields = text.trim().split("\\s+");
+                switch (section) {
+                    case "stat" -> parseCpu(fields);
+                    case "mem" -> parseMemory(fields);
+                    case "load" -> parseLoad(fields);
+                    case "net" -> parseNetwork(text);
+                    case "disk" -> parseDisk(fields);
+                    default -> { }
+                }
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                log.trace("Skipping unparsable metrics line ({}): {}", section, text);
+            }
+        }
+
+        // cpu user nice system idle iowait irq softirq steal (guest 는 user 에 포함되어 있음)
+        private void parseCpu(String[] fields) {
+            long total = 0;
+            for (int i = 1; i < Math.min(fields.length, 9); i++) {
+                total += Long.parseLong(fields[i]);
+            }
+            current.cpuTotal = total;
+            current.cpuIdle = Long.parseLong(fields[4]) + (fields.length > 5 ? Long.parseLong(fields[5]) : 0);
+        }
+
+        // MemTotal:  16318480 kB
+        private void parseMemory(String[] fields) {
+            long bytes = Long.parseLong(fields[1]) * 1024;
+            switch (fields[0]) {
+                case "MemTotal:" -> current.memTotal = bytes;
+                case "MemAvailable:" -> current.memAvailable = bytes;
+                case "SwapTotal:" -> current.swapTotal = bytes;
+                case "SwapFree:" -> current.swapFree = bytes;
+                default -> { }
+            }
+        }
+
+        private void parseLoad(String[] fields) {
+            current.load1 = Double.parseDouble(fields[0]);
+            current.load5 = Double.parseDouble(fields[1]);
+            current.load15 = Double.parseDouble(fields[2]);
+        }
+
+        // eth0: rxBytes rxPackets ... (8개) txBytes ... / 헤더 두 줄은 ':' 이 없음
+        private void parseNetwork(String text) {
+            int colon = text.indexOf(':');
+            if (colon < 0 || text.substring(0, colon).trim().equals("lo")) {
+                return;
+            }
+            String[] fields = text.substring(colon + 1).trim().split("\\s+");
+            current.netRx += Long.parseLong(fields[0]);
+            current.netTx += Long.parseLong(fields[8]);
+        }
+
+        // major minor name reads merged sectorsRead msRead writes merged sectorsWritten ...
+        private void parseDisk(String[] fields) {
+            if (fields.length < 10 || !WHOLE_DISK.matcher(fields[2]).matches()) {
+                return;
+            }
+            current.diskReadSectors += Long.parseLong(fields[5]);
+            current.diskWriteSectors += Long.parseLong(fields[9]);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.HostMetricsSample;
+import org.apache.sshd.client.session.ClientSession;
+
+/**
+ * 터미널 세션의 인증된 연결로 호스트 지표를 주기적으로 수집해 /topic/terminal/{sessionId}/metrics 로 전송합니다.
+ * 같은 SSH 연결을 공유하는 터미널 세션들은 수집기 하나를 함께 사용합니다.
+ */
+public interface HostMetricsService {
+
+    void start(String sessionId, ClientSession clientSession, String host);
+
+    void stop(String sessionId);
+
+    /**
+     * @return 가장 최근 샘플, 아직 없으면 null
+     */
+    HostMetricsSample getLatest(String sessionId);
+}
@@ -0,0 +1,138 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.HostMetricsSample;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sshd.client.session.ClientSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 호스트 지표 수집 스케줄러.
+ * SSH 연결마다 수집기({@link HostMetricsPoller}) 하나를 두고, 그 연결을 쓰는 터미널 세션 전체에 같은 샘플을 전송한다.
+ * 수집 주기마다 모든 수집기에 샘플을 요청하되, 응답 대기 중인 요청 수는 max-concurrent-polls 로 제한한다.
+ * 받은 샘플은 이력({@link MetricsHistoryService})에도 기록한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HostMetricsServiceImpl implements HostMetricsService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MetricsHistoryService metricsHistoryService;
+    private final SshConnectionManager connectionManager;
+
+    @Value("${terminal.metrics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${terminal.metrics.interval-ms:1000}")
+    private long intervalMs;
+
+    // 응답이 없으면 이 시간 뒤 다시 요청
+    @Value("${terminal.metrics.sample-timeout-ms:5000}")
+    private long sampleTimeoutMs;
+
+    @Value("${terminal.metrics.max-concurrent-polls:16}")
+    private int maxConcurrentPolls;
+
+    private final Map<ClientSession, HostMetricsPoller> pollers = new ConcurrentHashMap<>();
+    private final Map<String, HostMetricsPoller> bySessionId = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "host-metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Semaphore pollPermits;
+
+    @PostConstruct
+    public void init() {
+        pollPermits = new Semaphore(Math.max(1, maxConcurrentPolls));
+        if (enabled) {
+            scheduler.scheduleAtFixedRate(this::pollAll, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+            log.info("Host metrics enabled: interval={}ms | max concurrent polls={}", intervalMs, maxConcurrentPolls);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        pollers.values().forEach(HostMetricsPoller::close);
+    }
+
+    @Override
+    public synchronized void start(String sessionId, ClientSession clientSession, String host) {
+        if (!enabled) {
+            return;
+        }
+
+        HostMetricsPoller poller = pollers.get(clientSession);
+        if (poller == null || poller.isClosed()) {
+            HostMetricsPoller created = new HostMetricsPoller(host, clientSession, connectionManager, pollPermits, this::publish);
+            try {
+                created.open();
+            } catch (IOException e) {
+                log.warn("Failed to start host metrics: {} | {}", host, e.getMessage());
+                return;
+            }
+            pollers.put(clientSession, created);
+            poller = created;
+            log.debug("Host metrics poller started: {} | Pollers: {}", host, pollers.size());
+        }
+        poller.subscribers.add(sessionId);
+        bySessionId.put(sessionId, poller);
+    }
+
+    @Override
+    public synchronized void stop(String sessionId) {
+        HostMetricsPoller poller = bySessionId.remove(sessionId);
+        if (poller == null) {
+            return;
+        }
+        poller.subscribers.remove(sessionId);
+        if (poller.subscribers.isEmpty()) {
+            pollers.remove(poller.clientSession, poller);
+            poller.close();
+            log.debug("Host metrics poller stopped: {} | {}", poller.host, poller.describeStats());
+        }
+    }
+
+    @Override
+    public HostMetricsSample getLatest(String sessionId) {
+        HostMetricsPoller poller = bySessionId.get(sessionId);
+        return poller != null ? poller.getLatest() : null;
+    }
+
+    private void pollAll() {
+        long sampleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sampleTimeoutMs);
+        for (HostMetricsPoller poller : pollers.values()) {
+            try {
+                poller.tick(sampleTimeoutNanos);
+            } catch (Exception e) {
+                log.warn("Host metrics poll failed: {} | {}", poller.host, e.getMessage());
+            }
+        }
+    }
+
+    private void publish(HostMetricsPoller poller, HostMetricsSample sample) {
+        metricsHistoryService.record(sample);
+        // SSH I/O 스레드에서 호출되므로 전송 실패가 연결로 전파되지 않게 한다
+        for (String sessionId : poller.subscribers) {
+            try {
+                messagingTemplate.convertAndSend("/topic/terminal/" + sessionId + "/metrics", sample);
+            } catch (Exception e) {
+                log.warn("Failed to send host metrics: {} | {}", sessionId, e.getMessage());
+            }
+        }
+    }
+}
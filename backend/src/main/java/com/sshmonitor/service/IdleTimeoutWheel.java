@@ -0,0 +1,159 @@
+package com.sshmonitor.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 유휴 만료용 해시 타이밍 휠 (tick 하나 = 만료 정밀도).
+ * 활동 시각은 대상이 nanoTime 으로만 기록하고 휠은 건드리지 않는다. 슬롯이 돌아왔을 때 실제 마지막 활동 기준
+ * 만료 시각을 다시 계산해, 아직이면 남은 시간만큼 다시 넣고 지났으면 만료 콜백을 호출한다.
+ * 따라서 tick 마다 확인하는 대상은 해당 슬롯에 들어 있는 항목뿐이다 (전체 세션을 훑지 않음).
+ * tick() 은 한 스레드에서만 호출하고, schedule/cancel 은 어느 스레드에서나 호출할 수 있다.
+ */
+@Slf4j
+class IdleTimeoutWheel<T extends IdleTimeoutWheel.Target> {
+
+    /**
+     * 만료 대상이 제공하는 값
+     */
+    interface Target {
+        long lastActivityNanos();
+
+        /**
+         * @return 유휴 제한 시간, 0 이하면 만료 없음
+         */
+        long idleTimeoutNanos();
+    }
+
+    static final class Timeout<T extends Target> {
+        final T target;
+        private long remainingRounds;
+        private volatile boolean cancelled;
+
+        private Timeout(T target) {
+            this.target = target;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private final long tickNanos;
+    private final List<Timeout<T>>[] wheel;
+    private final int mask;
+    private final Consumer<T> onExpire;
+    // 다른 스레드에서 추가한 항목 (tick 스레드가 슬롯에 넣음)
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final long startNanos = System.nanoTime();
+    private long currentTick;
+    private volatile int scheduled;
+    private volatile long expirations;
+
+    /**
+     * @param wheelSize 2의 거듭제곱으로 올림. tickNanos * wheelSize 보다 긴 제한 시간은 바퀴 수(rounds)로 표현
+     */
+    @SuppressWarnings("unchecked")
+    IdleTimeoutWheel(long tick, TimeUnit unit, int wheelSize, Consumer<T> onExpire) {
+        this.tickNanos = Math.max(1, unit.toNanos(tick));
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.wheel = new List[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.mask = size - 1;
+        this.onExpire = onExpire;
+    }
+
+    Timeout<T> schedule(T target) {
+        Timeout<T> timeout = new Timeout<>(target);
+        if (target.idleTimeoutNanos() > 0) {
+            pending.add(timeout);
+        }
+        return timeout;
+    }
+
+    /**
+     * 지난 tick 을 모두 처리 (스케줄러 지연으로 밀린 tick 포함)
+     */
+    void tick() {
+        long nowTick = (System.nanoTime() - startNanos) / tickNanos;
+        Timeout<T> added;
+        while ((added = pending.poll()) != null) {
+            place(added, System.nanoTime());
+        }
+
+        while (currentTick <= nowTick) {
+            List<Timeout<T>> bucket = wheel[(int) (currentTick & mask)];
+            if (!bucket.isEmpty()) {
+                expireBucket(bucket);
+            }
+            currentTick++;
+        }
+    }
+
+    int getScheduledCount() {
+        return scheduled;
+    }
+
+    long getExpirations() {
+        return expirations;
+    }
+
+    private void expireBucket(List<Timeout<T>> bucket) {
+        List<Timeout<T>> due = new ArrayList<>(bucket);
+        bucket.clear();
+        long now = System.nanoTime();
+
+        for (Timeout<T> timeout : due) {
+            if (timeout.cancelled) {
+                scheduled--;
+                continue;
+            }
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                bucket.add(timeout);
+                continue;
+            }
+
+            scheduled--;
+            T target = timeout.target;
+            long timeoutNanos = target.idleTimeoutNanos();
+            if (timeoutNanos <= 0) {
+                continue;
+            }
+            long deadline = target.lastActivityNanos() + timeoutNanos;
+            if (now - deadline >= 0) {
+                expirations++;
+                try {
+                    onExpire.accept(target);
+                } catch (Exception e) {
+                    log.warn("Idle expiry callback failed: {}", e.getMessage(), e);
+                }
+            } else {
+                // 그 사이 활동이 있었음: 남은 시간만큼 다시 넣음
+                place(timeout, now);
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout, long now) {
+        if (timeout.cancelled) {
+            return;
+        }
+        T target = timeout.target;
+        long remainingNanos = Math.max(0, target.lastActivityNanos() + target.idleTimeoutNanos() - now);
+        // 올림: 만료 시각보다 먼저 확인하지 않도록 (늦어도 tick 하나 이내)
+        long ticks = Math.max(1, (remainingNanos + tickNanos - 1) / tickNanos);
+        long deadlineTick = currentTick + ticks;
+        timeout.remainingRounds = (ticks - 1) / wheel.length;
+        wheel[(int) (deadlineTick & mask)].add(timeout);
+        scheduled++;
+    }
+}
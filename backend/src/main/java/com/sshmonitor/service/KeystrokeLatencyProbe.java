@@ -0,0 +1,146 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.KeystrokeLatencyResponse.StageLatency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 세션 하나의 입력 -> 에코 지연 시간 측정.
+ * 한 번에 입력 하나만 추적한다: 측정 중에 들어온 입력은 건너뛰고, 측정 중인 입력 뒤의 첫 출력 읽기와
+ * 그 출력이 전송된 시점까지 기록하면 다음 입력을 측정한다. 입력과 무관한 출력(백그라운드 작업)도 에코로 간주되므로
+ * 값은 대화형 입력 중심으로 해석한다.
+ */
+final class KeystrokeLatencyProbe {
+
+    static final String[] STAGES = {"dispatch", "remote", "output", "total"};
+    static final int DISPATCH = 0;
+    static final int REMOTE = 1;
+    static final int OUTPUT = 2;
+    static final int TOTAL = 3;
+
+    interface Listener {
+        /**
+         * 측정 완료: 구간별 소요 시간 (나노초, STAGES 순서)
+         */
+        void onSample(long[] stageNanos);
+
+        /**
+         * 제한 시간 안에 출력이 없어 측정 취소
+         */
+        void onTimeout();
+    }
+
+    private final long timeoutNanos;
+    private final Listener listener;
+    private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+
+    // 측정 중인 입력 (0 = 없음)
+    private long receivedAt;
+    private long writtenAt;
+    private long readAt;
+    private long samples;
+    private long timeouts;
+
+    KeystrokeLatencyProbe(long timeoutNanos, Listener listener) {
+        this.timeoutNanos = timeoutNanos;
+        this.listener = listener;
+    }
+
+    /**
+     * @return 이 입력을 측정하면 수신 시각, 건너뛰면 0
+     */
+    synchronized long inputReceived(long nanos) {
+        if (receivedAt != 0) {
+            if (nanos - receivedAt < timeoutNanos) {
+                return 0;
+            }
+            timeouts++;
+            listener.onTimeout();
+        }
+        receivedAt = nanos;
+        writtenAt = 0;
+        readAt = 0;
+        return nanos;
+    }
+
+    synchronized void inputWritten(long receivedNanos, long nanos) {
+        if (receivedNanos == 0 || receivedAt != receivedNanos || writtenAt != 0) {
+            return;
+        }
+        // 쓰기 완료 통지보다 에코가 먼저 읽힌 경우 (비동기 쓰기 future 콜백 지연)
+        writtenAt = readAt != 0 ? Math.min(nanos, readAt) : nanos;
+    }
+
+    synchronized void outputRead(long nanos) {
+        if (receivedAt == 0 || readAt != 0) {
+            return;
+        }
+        if (nanos - receivedAt >= timeoutNanos) {
+            timeouts++;
+            reset();
+            listener.onTimeout();
+            return;
+        }
+        readAt = nanos;
+    }
+
+    void outputSent(long nanos) {
+        long[] stageNanos;
+        synchronized (this) {
+            if (readAt == 0) {
+                return;
+            }
+            long written = writtenAt != 0 ? writtenAt : readAt;
+            stageNanos = new long[STAGES.length];
+            stageNanos[DISPATCH] = written - receivedAt;
+            stageNanos[REMOTE] = readAt - written;
+            stageNanos[OUTPUT] = nanos - readAt;
+            stageNanos[TOTAL] = nanos - receivedAt;
+            reset();
+            samples++;
+            for (int i = 0; i < STAGES.length; i++) {
+                if (histograms[i] == null) {
+                    histograms[i] = new LatencyHistogram();
+                }
+                histograms[i].record(TimeUnit.NANOSECONDS.toMicros(stageNanos[i]));
+            }
+        }
+        listener.onSample(stageNanos);
+    }
+
+    private void reset() {
+        receivedAt = 0;
+        writtenAt = 0;
+        readAt = 0;
+    }
+
+    synchronized long getSamples() {
+        return samples;
+    }
+
+    synchronized long getTimeouts() {
+        return timeouts;
+    }
+
+    synchronized List<StageLatency> getStages() {
+        return toStageLatencies(histograms);
+    }
+
+    /**
+     * share 는 total 평균 대비 구간 평균 비율
+     */
+    static List<StageLatency> toStageLatencies(LatencyHistogram[] histograms) {
+        List<StageLatency> stages = new ArrayList<>(STAGES.length);
+        if (histograms[TOTAL] == null) {
+            return stages;
+        }
+        long totalMean = histograms[TOTAL].getMeanMicros();
+        for (int i = 0; i < STAGES.length; i++) {
+            double share = totalMean > 0 ? Math.round(1000.0 * histograms[i].getMeanMicros() / totalMean) / 10.0 : 0;
+            stages.add(histograms[i].toStageLatency(STAGES[i], share));
+        }
+        return stages;
+    }
+}
@@ -0,0 +1,87 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.KeystrokeLatencyResponse.StageLatency;
+
+/**
+ * 마이크로초 단위 지연 시간 히스토그램 (고정 크기 배열, 기록 시 할당 없음).
+ * 2의 거듭제곱 구간마다 8개의 선형 하위 구간을 두어 백분위 오차가 구간 폭(값의 12.5%) 이내다.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // 2^36us (약 19시간) 이상은 마지막 구간에 기록
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sumMicros;
+    private long maxMicros;
+
+    synchronized void record(long micros) {
+        long value = Math.max(0, micros);
+        counts[indexOf(value)]++;
+        count++;
+        sumMicros += value;
+        maxMicros = Math.max(maxMicros, value);
+    }
+
+    synchronized long getCount() {
+        return count;
+    }
+
+    synchronized long getMeanMicros() {
+        return count > 0 ? sumMicros / count : 0;
+    }
+
+    synchronized StageLatency toStageLatency(String stage, double share) {
+        return new StageLatency(
+            stage,
+            count,
+            getMeanMicros(),
+            percentile(0.50),
+            percentile(0.90),
+            percentile(0.99),
+            maxMicros,
+            share
+        );
+    }
+
+    /**
+     * 해당 백분위가 속한 구간의 상한 (최댓값을 넘지 않음)
+     */
+    private long percentile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Math.min(MAX_EXPONENT, 63 - Long.numberOfLeadingZeros(value));
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) Math.min(SUB_BUCKETS - 1, (value >>> shift) - SUB_BUCKETS);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,104 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.DirectoryEntry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code ls -la} 출력 파서 (SFTP 서브시스템을 쓸 수 없는 서버용 fallback)
+ */
+@Slf4j
+final class LsOutputParser {
+
+    private LsOutputParser() {
+    }
+
+    static List<DirectoryEntry> parse(String output) {
+        List<DirectoryEntry> entries = new ArrayList<>();
+        String[] lines = output.split("\n");
+
+        log.debug("Parsing ls output, lines count: {}", lines.length);
+
+        for (String line : lines) {
+            DirectoryEntry entry = parseLine(line);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * ls -la 한 줄 파싱 (스트리밍 조회용)
+     * @return 항목이 아닌 줄(total, 빈 줄, 형식 불일치)과 . 은 null
+     */
+    static DirectoryEntry parseLine(String line) {
+        line = line.trim();
+        if (line.isEmpty() || line.startsWith("total")) {
+            return null;
+        }
+
+        // ls -la 출력 파싱 (다양한 형식 지원)
+        // 형식1: drwxr-xr-x 2 user group 4096 2024-01-15 10:30 filename (--time-style=long-iso)
+        // 형식2: drwxr-xr-x 2 user group 4096 Jan 15 10:30 filename (기본 형식)
+        String[] parts = line.split("\\s+");
+        log.trace("Line: '{}', parts count: {}", line, parts.length);
+
+        if (parts.length < 8) {
+            log.trace("Skipping line with {} parts (need at least 8)", parts.length);
+            return null;
+        }
+
+        String permissions = parts[0];
+        String owner = parts[2];
+        String group = parts[3];
+        long size = 0;
+        try {
+            size = Long.parseLong(parts[4]);
+        } catch (NumberFormatException ignored) {}
+
+        // 파일명은 마지막에 있음 (공백이 포함될 수 있으므로 앞부분 제거 후 추출)
+        String name;
+        String modified;
+
+        // 날짜 형식에 따라 파일명 위치가 다름
+        // --time-style=long-iso: drwxr-xr-x 2 user group 4096 2024-01-15 10:30 filename (9+ parts)
+        // 기본 형식: drwxr-xr-x 2 user group 4096 Jan 15 10:30 filename (9+ parts)
+        if (parts.length >= 9) {
+            modified = parts[5] + " " + parts[6];
+            // 파일명은 8번째 인덱스부터 끝까지 (공백 포함 파일명 처리)
+            StringBuilder nameBuilder = new StringBuilder(parts[8]);
+            for (int i = 9; i < parts.length; i++) {
+                nameBuilder.append(" ").append(parts[i]);
+            }
+            name = nameBuilder.toString();
+        } else {
+            // 8 parts: drwxr-xr-x 2 user group 4096 Jan 15 filename
+            modified = parts[5] + " " + parts[6];
+            name = parts[7];
+        }
+
+        // . 은 항상 제외
+        if (name.equals(".")) {
+            return null;
+        }
+
+        String type = "file";
+        if (permissions.startsWith("d")) {
+            type = "directory";
+        } else if (permissions.startsWith("l")) {
+            type = "link";
+            // 심볼릭 링크의 경우 -> 이후 제거
+            int arrowIdx = name.indexOf(" -> ");
+            if (arrowIdx > 0) {
+                name = name.substring(0, arrowIdx);
+            }
+        }
+
+        log.trace("Parsed entry: name={}, type={}, permissions={}", name, type, permissions);
+        return new DirectoryEntry(name, type, permissions, owner, group, size, modified);
+    }
+}
@@ -0,0 +1,28 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.HostMetricsSample;
+import com.sshmonitor.dto.MetricSeriesResponse;
+import com.sshmonitor.dto.MetricsMemoryReport;
+
+import java.util.List;
+
+/**
+ * 수집한 호스트 지표 이력 (최근 1시간 1초 단위, 최근 1일 1분 단위).
+ */
+public interface MetricsHistoryService {
+
+    void record(HostMetricsSample sample);
+
+    /**
+     * @return 이력이 있는 호스트 (user@host:port)
+     */
+    List<String> getHosts();
+
+    /**
+     * 차트용 구간 조회. 결과는 maxPoints 개 이하로 묶어 구간별 min/max/avg 를 반환합니다.
+     * @throws IllegalArgumentException 알 수 없는 호스트 또는 지표
+     */
+    MetricSeriesResponse query(String host, String metric, long fromMillis, long toMillis, int maxPoints);
+
+    MetricsMemoryReport getMemoryReport();
+}
@@ -0,0 +1,115 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.HostMetricsSample;
+import com.sshmonitor.dto.MetricSeriesResponse;
+import com.sshmonitor.dto.MetricsMemoryReport;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 호스트별 {@link MetricsTimeSeries} 보관소.
+ * 호스트당 배열 크기가 고정이므로 전체 메모리는 max-hosts * bytesPerHost 를 넘지 않는다.
+ * 한도를 넘으면 가장 오래전에 샘플을 받은 호스트의 이력을 제거한다.
+ */
+@Slf4j
+@Service
+public class MetricsHistoryServiceImpl implements MetricsHistoryService {
+
+    @Value("${terminal.metrics.history.raw-seconds:3600}")
+    private int rawSeconds;
+
+    @Value("${terminal.metrics.history.rollup-minutes:1440}")
+    private int rollupMinutes;
+
+    @Value("${terminal.metrics.history.max-hosts:200}")
+    private int maxHosts;
+
+    private final Map<String, MetricsTimeSeries> series = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        log.info("Metrics history: {}s at 1s, {}min at 1m | {}KB/host, max {} hosts ({}MB)",
+            rawSeconds, rollupMinutes, bytesPerHost() / 1024, maxHosts, bytesPerHost() * maxHosts / 1024 / 1024);
+    }
+
+    @Override
+    public void record(HostMetricsSample sample) {
+        MetricsTimeSeries hostSeries = series.get(sample.host());
+        if (hostSeries == null) {
+            hostSeries = createSeries(sample.host());
+        }
+        hostSeries.record(sample);
+    }
+
+    @Override
+    public List<String> getHosts() {
+        return series.keySet().stream().sorted().toList();
+    }
+
+    @Override
+    public MetricSeriesResponse query(String host, String metric, long fromMillis, long toMillis, int maxPoints) {
+        MetricsTimeSeries hostSeries = series.get(host);
+        if (hostSeries == null) {
+            throw new IllegalArgumentException("No metrics history for host: " + host);
+        }
+        int index = MetricsTimeSeries.indexOf(metric);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown metric: " + metric
+                + " (available: " + String.join(", ", MetricsTimeSeries.METRICS) + ")");
+        }
+
+        MetricsTimeSeries.Range range = hostSeries.query(index, fromMillis, toMillis, Math.max(1, maxPoints),
+            System.currentTimeMillis());
+        return new MetricSeriesResponse(host, metric, range.tier(), range.bucketMillis(), range.points());
+    }
+
+    @Override
+    public MetricsMemoryReport getMemoryReport() {
+        long bytesPerHost = bytesPerHost();
+        int hosts = series.size();
+        return new MetricsMemoryReport(
+            hosts,
+            maxHosts,
+            MetricsTimeSeries.METRICS.length,
+            rawSeconds,
+            rollupMinutes,
+            bytesPerHost,
+            bytesPerHost * hosts,
+            bytesPerHost * maxHosts,
+            evictions.get()
+        );
+    }
+
+    private synchronized MetricsTimeSeries createSeries(String host) {
+        MetricsTimeSeries existing = series.get(host);
+        if (existing != null) {
+            return existing;
+        }
+
+        while (series.size() >= maxHosts) {
+            series.values().stream()
+                .min(Comparator.comparingLong(MetricsTimeSeries::getLastSampleMillis))
+                .ifPresent(eldest -> {
+                    series.remove(eldest.host);
+                    evictions.incrementAndGet();
+                    log.info("Metrics history evicted (max-hosts {}): {}", maxHosts, eldest.host);
+                });
+        }
+        MetricsTimeSeries created = new MetricsTimeSeries(host, rawSeconds, rollupMinutes);
+        series.put(host, created);
+        return created;
+    }
+
+    private long bytesPerHost() {
+        return MetricsTimeSeries.bytesPerHost(rawSeconds, rollupMinutes);
+    }
+}
@@ -0,0 +1,179 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.HostMetricsSample;
+import com.sshmonitor.dto.MetricSeriesResponse.MetricPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 호스트 하나의 지표 이력. 모든 값은 생성 시 할당한 기본형 배열(ring)에 저장한다 (샘플마다 객체를 만들지 않음).
+ * <ul>
+ *   <li>1초 단위: rawSlots 개 (기본 1시간). 슬롯 = epoch 초 % rawSlots</li>
+ *   <li>1분 단위: rollupSlots 개 (기본 1일). 샘플을 받을 때 바로 min/max/합계/개수를 갱신</li>
+ * </ul>
+ * 슬롯마다 기록한 시각을 함께 저장해 덮어쓰기 전의 오래된 값을 구분한다.
+ */
+class MetricsTimeSeries {
+
+    static final String[] METRICS = {
+        "cpuUsage", "load1", "load5", "load15", "memoryUsed", "swapUsed",
+        "diskReadBytesPerSec", "diskWriteBytesPerSec", "netRxBytesPerSec", "netTxBytesPerSec"
+    };
+    static final String TIER_RAW = "1s";
+    static final String TIER_ROLLUP = "1m";
+
+    record Range(String tier, long bucketMillis, List<MetricPoint> points) {}
+
+    private static final int METRIC_COUNT = METRICS.length;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    final String host;
+    private final int rawSlots;
+    private final int rollupSlots;
+
+    // 1초 단위: [슬롯] 기록 시각(초), [슬롯 * METRIC_COUNT + 지표] 값
+    private final long[] rawSeconds;
+    private final double[] rawValues;
+
+    // 1분 단위 집계
+    private final long[] rollupMinutes;
+    private final int[] rollupCounts;
+    private final double[] rollupMin;
+    private final double[] rollupMax;
+    private final double[] rollupSum;
+
+    private volatile long lastSampleMillis;
+
+    MetricsTimeSeries(String host, int rawSlots, int rollupSlots) {
+        this.host = host;
+        this.rawSlots = rawSlots;
+        this.rollupSlots = rollupSlots;
+        this.rawSeconds = new long[rawSlots];
+        this.rawValues = new double[rawSlots * METRIC_COUNT];
+        this.rollupMinutes = new long[rollupSlots];
+        this.rollupCounts = new int[rollupSlots];
+        this.rollupMin = new double[rollupSlots * METRIC_COUNT];
+        this.rollupMax = new double[rollupSlots * METRIC_COUNT];
+        this.rollupSum = new double[rollupSlots * METRIC_COUNT];
+        Arrays.fill(rawSeconds, EMPTY);
+        Arrays.fill(rollupMinutes, EMPTY);
+    }
+
+    static long bytesPerHost(int rawSlots, int rollupSlots) {
+        return (long) rawSlots * (Long.BYTES + METRIC_COUNT * Double.BYTES)
+            + (long) rollupSlots * (Long.BYTES + Integer.BYTES + 3L * METRIC_COUNT * Double.BYTES);
+    }
+
+    static int indexOf(String metric) {
+        for (int i = 0; i < METRIC_COUNT; i++) {
+            if (METRICS[i].equals(metric)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    synchronized void record(HostMetricsSample sample) {
+        long second = Math.floorDiv(sample.timestamp(), 1000);
+        int raw = (int) Math.floorMod(second, rawSlots);
+        rawSeconds[raw] = second;
+        int base = raw * METRIC_COUNT;
+        rawValues[base] = sample.cpuUsage();
+        rawValues[base + 1] = sample.load1();
+        rawValues[base + 2] = sample.load5();
+        rawValues[base + 3] = sample.load15();
+        rawValues[base + 4] = sample.memoryUsed();
+        rawValues[base + 5] = sample.swapUsed();
+        rawValues[base + 6] = sample.diskReadBytesPerSec();
+        rawValues[base + 7] = sample.diskWriteBytesPerSec();
+        rawValues[base + 8] = sample.netRxBytesPerSec();
+        rawValues[base + 9] = sample.netTxBytesPerSec();
+
+        long minute = Math.floorDiv(second, 60);
+        int rollup = (int) Math.floorMod(minute, rollupSlots);
+        int rollupBase = rollup * METRIC_COUNT;
+        if (rollupMinutes[rollup] != minute) {
+            // 하루 전 같은 슬롯의 집계를 덮어씀
+            rollupMinutes[rollup] = minute;
+            rollupCounts[rollup] = 0;
+            for (int m = 0; m < METRIC_COUNT; m++) {
+                rollupMin[rollupBase + m] = Double.POSITIVE_INFINITY;
+                rollupMax[rollupBase + m] = Double.NEGATIVE_INFINITY;
+                rollupSum[rollupBase + m] = 0;
+            }
+        }
+        rollupCounts[rollup]++;
+        for (int m = 0; m < METRIC_COUNT; m++) {
+            double value = rawValues[base + m];
+            rollupMin[rollupBase + m] = Math.min(rollupMin[rollupBase + m], value);
+            rollupMax[rollupBase + m] = Math.max(rollupMax[rollupBase + m], value);
+            rollupSum[rollupBase + m] += value;
+        }
+        lastSampleMillis = sample.timestamp();
+    }
+
+    long getLastSampleMillis() {
+        return lastSampleMillis;
+    }
+
+    /**
+     * 시작 시각이 1초 단위 보관 범위 안이면 원본, 아니면 1분 집계를 maxPoints 개 이하의 구간으로 묶어 반환
+     */
+    synchronized Range query(int metric, long fromMillis, long toMillis, int maxPoints, long nowMillis) {
+        long fromSecond = Math.floorDiv(fromMillis, 1000);
+        long toSecond = Math.floorDiv(Math.min(toMillis, nowMillis), 1000);
+        long oldestRawSecond = Math.floorDiv(nowMillis, 1000) - rawSlots + 1;
+        boolean useRaw = fromSecond >= oldestRawSecond;
+
+        int resolution = useRaw ? 1 : 60;
+        long firstUnit = Math.floorDiv(fromSecond, resolution);
+        if (!useRaw) {
+            // 보관 범위를 넘는 구간은 읽지 않음
+            firstUnit = Math.max(firstUnit, Math.floorDiv(nowMillis, 60_000) - rollupSlots + 1);
+        }
+        long lastUnit = Math.floorDiv(toSecond, resolution);
+        long units = Math.max(1, lastUnit - firstUnit + 1);
+        long unitsPerBucket = Math.max(1, (units + maxPoints - 1) / maxPoints);
+        long bucketMillis = unitsPerBucket * resolution * 1000;
+
+        List<MetricPoint> points = new ArrayList<>();
+        for (long bucketStart = firstUnit; bucketStart <= lastUnit; bucketStart += unitsPerBucket) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double sum = 0;
+            long count = 0;
+            long bucketEnd = Math.min(lastUnit, bucketStart + unitsPerBucket - 1);
+
+            for (long unit = bucketStart; unit <= bucketEnd; unit++) {
+                if (useRaw) {
+                    int slot = (int) Math.floorMod(unit, rawSlots);
+                    if (rawSeconds[slot] != unit) {
+                        continue;
+                    }
+                    double value = rawValues[slot * METRIC_COUNT + metric];
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                    sum += value;
+                    count++;
+                } else {
+                    int slot = (int) Math.floorMod(unit, rollupSlots);
+                    if (rollupMinutes[slot] != unit) {
+                        continue;
+                    }
+                    int index = slot * METRIC_COUNT + metric;
+                    min = Math.min(min, rollupMin[index]);
+                    max = Math.max(max, rollupMax[index]);
+                    sum += rollupSum[index];
+                    count += rollupCounts[slot];
+                }
+            }
+
+            if (count > 0) {
+                points.add(new MetricPoint(bucketStart * resolution * 1000, min, max, sum / count));
+            }
+        }
+        return new Range(useRaw ? TIER_RAW : TIER_ROLLUP, bucketMillis, points);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.DirectoryEntry;
+import com.sshmonitor.dto.DirectoryListResponse;
+import org.apache.sshd.client.session.ClientSession;
+
+import java.io.IOException;
+
+public interface RemoteDirectoryService {
+
+    /**
+     * @param modifiedTime 조회 시점의 디렉토리 수정 시각 (epoch 초, 알 수 없으면 null)
+     */
+    record Listing(DirectoryListResponse response, Long modifiedTime) {}
+
+    /**
+     * 스트리밍 조회 수신자
+     */
+    interface EntryStream {
+
+        /**
+         * 첫 항목보다 먼저 호출 (절대 경로로 변환된 경로)
+         */
+        void start(String currentPath);
+
+        /**
+         * @return false 면 남은 항목을 읽지 않고 조회 중단
+         */
+        boolean accept(DirectoryEntry entry);
+    }
+
+    /**
+     * 디렉토리 목록을 조회합니다. 응답의 currentPath는 절대 경로로 변환된 경로입니다.
+     */
+    Listing listDirectory(ClientSession session, String path) throws IOException;
+
+    /**
+     * 항목을 전부 모으지 않고 원격에서 받는 대로 전달합니다 (대용량 디렉토리용, 정렬하지 않음).
+     */
+    void streamDirectory(ClientSession session, String path, EntryStream stream) throws IOException;
+
+    /**
+     * 디렉토리 수정 시각 (epoch 초). 목록 캐시 재검증용, SFTP를 쓸 수 없으면 null
+     */
+    Long getModifiedTime(ClientSession session, String absolutePath) throws IOException;
+
+    /**
+     * 로그인 사용자의 홈 디렉토리 절대 경로
+     */
+    String getHomeDirectory(ClientSession session) throws IOException;
+}
@@ -0,0 +1,446 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.DirectoryEntry;
+import com.sshmonitor.dto.DirectoryListResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sshd.client.channel.ChannelExec;
+import org.apache.sshd.client.session.ClientSession;
+import org.apache.sshd.sftp.client.SftpClient;
+import org.apache.sshd.sftp.client.SftpClientFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * SFTP 기반 디렉토리 탐색.
+ * ClientSession마다 SFTP 서브시스템 채널 하나를 열어 두고 readdir/realpath 결과의 속성으로 바로 DirectoryEntry를 만든다.
+ * SFTP 서브시스템이 없는 서버는 기존 방식(ls -la exec + 파싱)으로 처리한다.
+ * SFTP/exec 채널은 셸 외 부가 채널이므로 SshConnectionManager 의 연결당 채널 한도에서 예약한 뒤 연다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RemoteDirectoryServiceImpl implements RemoteDirectoryService {
+
+    // .. 먼저, 그 다음 디렉토리, 그 다음 파일 (이름순 정렬)
+    static final Comparator<DirectoryEntry> BROWSER_ORDER = (a, b) -> {
+        if (a.name().equals("..")) return -1;
+        if (b.name().equals("..")) return 1;
+        if (a.type().equals("directory") && !b.type().equals("directory")) return -1;
+        if (!a.type().equals("directory") && b.type().equals("directory")) return 1;
+        return a.name().compareToIgnoreCase(b.name());
+    };
+
+    // 수정 시각은 백엔드/원격 서버 시간대와 무관하게 UTC 로 표시 (ls fallback 도 TZ=UTC 로 실행)
+    private static final String UTC_LABEL = " UTC";
+    private static final DateTimeFormatter MODIFIED_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneOffset.UTC);
+
+    // 공유 ClientSession(SshConnectionManager) 단위로 채널 하나
+    // 채널 열기는 네트워크 왕복이라 맵 락 밖에서 수행하고, 동시에 요청한 스레드는 같은 future 를 기다린다
+    private final SshConnectionManager connectionManager;
+
+    private final Map<ClientSession, CompletableFuture<SftpChannel>> sftpClients = new ConcurrentHashMap<>();
+    private final Set<ClientSession> sftpUnavailable = ConcurrentHashMap.newKeySet();
+
+    @Value("${ssh.connection-timeout:10000}")
+    private int connectionTimeout;
+
+    @Value("${terminal.directory.sftp-enabled:true}")
+    private boolean sftpEnabled;
+
+    @Override
+    public Listing listDirectory(ClientSession session, String path) throws IOException {
+        SftpChannel sftp = getSftpChannel(session);
+        if (sftp == null) {
+            return new Listing(listWithExec(session, path), null);
+        }
+
+        String currentPath = sftp.call(client -> client.canonicalPath(expandHome(client, path)));
+        List<DirectoryEntry> entries = new ArrayList<>();
+        Long[] modifiedTime = new Long[1];
+        readDirectory(sftp, currentPath, dirEntry -> {
+            String name = dirEntry.getFilename();
+            if (name.equals(".")) {
+                // 디렉토리 자신의 속성 (캐시 재검증 기준)
+                modifiedTime[0] = toEpochSecond(dirEntry.getAttributes().getModifyTime());
+            } else if (!name.equals("..") || !"/".equals(currentPath)) {
+                // 최상위 디렉토리(/)에서는 .. 제거
+                entries.add(toDirectoryEntry(dirEntry));
+            }
+            return true;
+        });
+        entries.sort(BROWSER_ORDER);
+
+        log.debug("listDirectory (sftp): {} -> {} | {} entries", path, currentPath, entries.size());
+        return new Listing(DirectoryListResponse.success(currentPath, entries), modifiedTime[0]);
+    }
+
+    @Override
+    public void streamDirectory(ClientSession session, String path, EntryStream stream) throws IOException {
+        SftpChannel sftp = getSftpChannel(session);
+        if (sftp == null) {
+            streamWithExec(session, path, stream);
+            return;
+        }
+
+        String currentPath = sftp.call(client -> client.canonicalPath(expandHome(client, path)));
+        stream.start(currentPath);
+
+        readDirectory(sftp, currentPath, dirEntry -> {
+            String name = dirEntry.getFilename();
+            if (name.equals(".") || (name.equals("..") && "/".equals(currentPath))) {
+                return true;
+            }
+            return stream.accept(toDirectoryEntry(dirEntry));
+        });
+    }
+
+    @Override
+    public Long getModifiedTime(ClientSession session, String absolutePath) throws IOException {
+        SftpChannel sftp = getSftpChannel(session);
+        if (sftp == null) {
+            return null;
+        }
+        return toEpochSecond(sftp.call(client -> client.stat(absolutePath)).getModifyTime());
+    }
+
+    @Override
+    public String getHomeDirectory(ClientSession session) throws IOException {
+        SftpChannel sftp = getSftpChannel(session);
+        if (sftp == null) {
+            return executeCommand(session, "pwd").trim();
+        }
+        return sftp.call(client -> client.canonicalPath("."));
+    }
+
+    /**
+     * READDIR 응답(서버가 정한 묶음) 단위로 받아서 바로 전달. visitor가 false를 반환하면 중단
+     */
+    private void readDirectory(SftpChannel sftp, String currentPath, Predicate<SftpClient.DirEntry> visitor)
+            throws IOException {
+        SftpClient.Handle handle = sftp.call(client -> client.openDir(currentPath));
+        try {
+            List<SftpClient.DirEntry> batch;
+            while ((batch = sftp.call(client -> client.readDir(handle))) != null) {
+                for (SftpClient.DirEntry dirEntry : batch) {
+                    if (!visitor.test(dirEntry)) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            try {
+                sftp.call(client -> {
+                    client.close(handle);
+                    return null;
+                });
+            } catch (IOException e) {
+                log.debug("Error closing SFTP directory handle: {}", e.getMessage());
+            }
+        }
+    }
+
+    private SftpChannel getSftpChannel(ClientSession session) {
+        if (!sftpEnabled || sftpUnavailable.contains(session)) {
+            return null;
+        }
+
+        while (true) {
+            CompletableFuture<SftpChannel> created = new CompletableFuture<>();
+            CompletableFuture<SftpChannel> future = sftpClients.computeIfAbsent(session, s -> created);
+            if (future == created) {
+                openSftpChannel(session, created);
+            }
+
+            SftpChannel channel = future.join();
+            if (channel == null || channel.client.isOpen()) {
+                return channel;
+            }
+            // 채널만 닫힘 (연결은 유지): 항목을 비우고 다시 연다
+            if (sftpClients.remove(session, future)) {
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private void openSftpChannel(ClientSession session, CompletableFuture<SftpChannel> created) {
+        if (!connectionManager.tryReserveChannel(session)) {
+            // 채널 한도 도달: SFTP 미지원으로 기록하지 않고 다음 요청에서 다시 시도
+            sftpClients.remove(session, created);
+            created.complete(null);
+            return;
+        }
+        boolean opened = false;
+        try {
+            SftpClient client = SftpClientFactory.instance().createSftpClient(session);
+            SftpChannel channel = new SftpChannel(client, () -> connectionManager.releaseChannel(session));
+            opened = true;
+            // 채널이 닫히면 (서버가 닫은 경우 포함) 예약 반환
+            client.getClientChannel().addCloseFutureListener(future -> channel.releaseReservation());
+            // 연결이 닫히면 채널도 정리
+            session.addCloseFutureListener(future -> {
+                CompletableFuture<SftpChannel> entry = sftpClients.get(session);
+                if (entry != null && sftpClients.remove(session, entry)) {
+                    closeQuietly(entry.getNow(null));
+                }
+                sftpUnavailable.remove(session);
+            });
+            log.info("SFTP channel opened: {}@{}", session.getUsername(), session.getRemoteAddress());
+            created.complete(channel);
+        } catch (IOException e) {
+            // 서브시스템 미지원 등: 이 연결에서는 다시 시도하지 않고 exec 방식 사용
+            log.warn("SFTP unavailable for {}@{}, falling back to ls: {}",
+                session.getUsername(), session.getRemoteAddress(), e.getMessage());
+            sftpUnavailable.add(session);
+            sftpClients.remove(session, created);
+            created.complete(null);
+        } catch (RuntimeException e) {
+            sftpClients.remove(session, created);
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (!opened) {
+                connectionManager.releaseChannel(session);
+            }
+        }
+    }
+
+    private static Long toEpochSecond(FileTime time) {
+        return time != null ? time.toMillis() / 1000 : null;
+    }
+
+    /**
+     * SFTP realpath는 ~ 를 해석하지 않으므로 홈 디렉토리 기준 경로로 변환
+     */
+    private String expandHome(SftpClient sftp, String path) throws IOException {
+        if (path == null || path.isEmpty() || path.equals("~")) {
+            return ".";
+        }
+        if (path.startsWith("~/")) {
+            return sftp.canonicalPath(".") + path.substring(1);
+        }
+        return path;
+    }
+
+    private DirectoryEntry toDirectoryEntry(SftpClient.DirEntry dirEntry) {
+        SftpClient.Attributes attributes = dirEntry.getAttributes();
+
+        String type = "file";
+        if (attributes.isDirectory()) {
+            type = "directory";
+        } else if (attributes.isSymbolicLink()) {
+            type = "link";
+        }
+
+        // SFTP v3(OpenSSH)는 소유자 이름을 속성이 아닌 longname(ls -l 형식)으로만 준다
+        String owner = attributes.getOwner();
+        String group = attributes.getGroup();
+        if (owner == null || group == null) {
+            String[] longName = dirEntry.getLongFilename() != null
+                ? dirEntry.getLongFilename().trim().split("\\s+", 5)
+                : new String[0];
+            owner = owner != null ? owner : longName.length > 3 ? longName[2] : String.valueOf(attributes.getUserId());
+            group = group != null ? group : longName.length > 3 ? longName[3] : String.valueOf(attributes.getGroupId());
+        }
+
+        FileTime modifyTime = attributes.getModifyTime();
+        return new DirectoryEntry(
+            dirEntry.getFilename(),
+            type,
+            permissionString(attributes.getPermissions()),
+            owner,
+            group,
+            attributes.getSize(),
+            modifyTime != null ? MODIFIED_FORMAT.format(modifyTime.toInstant()) + UTC_LABEL : ""
+        );
+    }
+
+    /**
+     * st_mode 값을 ls 형식(drwxr-xr-x)으로 변환
+     */
+    static String permissionString(int mode) {
+        char type = switch (mode & 0170000) {
+            case 0040000 -> 'd';
+            case 0120000 -> 'l';
+            case 0020000 -> 'c';
+            case 0060000 -> 'b';
+            case 0010000 -> 'p';
+            case 0140000 -> 's';
+            default -> '-';
+        };
+
+        char[] chars = new char[10];
+        chars[0] = type;
+        String rwx = "rwxrwxrwx";
+        for (int i = 0; i < 9; i++) {
+            chars[i + 1] = (mode & (1 << (8 - i))) != 0 ? rwx.charAt(i) : '-';
+        }
+        if ((mode & 04000) != 0) chars[3] = chars[3] == 'x' ? 's' : 'S';
+        if ((mode & 02000) != 0) chars[6] = chars[6] == 'x' ? 's' : 'S';
+        if ((mode & 01000) != 0) chars[9] = chars[9] == 'x' ? 't' : 'T';
+        return new String(chars);
+    }
+
+    private DirectoryListResponse listWithExec(ClientSession session, String path) throws IOException {
+        if (path == null || path.isEmpty()) {
+            path = ".";
+        }
+
+        // ls -la 명령 실행하여 디렉토리 목록 조회
+        String command = String.format("export TZ=UTC; ls -la --time-style=long-iso %s 2>/dev/null || ls -la %s", path, path);
+        String output = executeCommand(session, command);
+
+        // 실제 절대 경로 조회 (~ 등을 절대 경로로 변환)
+        String currentPath = executeCommand(session, "cd " + path + " && pwd").trim();
+        log.debug("listDirectory (exec): resolved path {} -> {}", path, currentPath);
+
+        List<DirectoryEntry> entries = new ArrayList<>();
+        for (DirectoryEntry entry : LsOutputParser.parse(output)) {
+            entries.add(withUtcLabel(entry));
+        }
+
+        // 최상위 디렉토리(/)에서는 .. 제거
+        if ("/".equals(currentPath)) {
+            entries.removeIf(e -> "..".equals(e.name()));
+        }
+        entries.sort(BROWSER_ORDER);
+
+        return DirectoryListResponse.success(currentPath, entries);
+    }
+
+    private void streamWithExec(ClientSession session, String path, EntryStream stream) throws IOException {
+        if (path == null || path.isEmpty()) {
+            path = ".";
+        }
+
+        // 첫 줄은 절대 경로, 이후는 정렬하지 않은(-U) ls 출력을 줄 단위로 읽는다
+        String command = String.format("export TZ=UTC; cd %s && pwd && if ls -d --time-style=long-iso . >/dev/null 2>&1; "
+            + "then ls -laU --time-style=long-iso; else ls -la; fi", path);
+        reserveChannel(session);
+        try (ChannelExec execChannel = session.createExecChannel(command)) {
+            execChannel.setErr(OutputStream.nullOutputStream());
+            SshFutures.await(execChannel.open(), Duration.ofMillis(connectionTimeout));
+
+            BufferedReader reader = new BufferedReader(
+                new InputStreamReader(execChannel.getInvertedOut(), StandardCharsets.UTF_8));
+            String currentPath = reader.readLine();
+            if (currentPath == null || !currentPath.startsWith("/")) {
+                throw new IOException("No such directory: " + path);
+            }
+            stream.start(currentPath);
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                DirectoryEntry entry = LsOutputParser.parseLine(line);
+                if (entry == null || (entry.name().equals("..") && "/".equals(currentPath))) {
+                    continue;
+                }
+                if (!stream.accept(withUtcLabel(entry))) {
+                    return;
+                }
+            }
+        } finally {
+            connectionManager.releaseChannel(session);
+        }
+    }
+
+    /**
+     * ls 출력 시각에 시간대 표시 (명령은 TZ=UTC 로 실행)
+     */
+    private static DirectoryEntry withUtcLabel(DirectoryEntry entry) {
+        return new DirectoryEntry(entry.name(), entry.type(), entry.permissions(), entry.owner(), entry.group(),
+            entry.size(), entry.modified() + UTC_LABEL);
+    }
+
+    private String executeCommand(ClientSession clientSession, String command) throws IOException {
+        reserveChannel(clientSession);
+        try (ChannelExec execChannel = clientSession.createExecChannel(command)) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            execChannel.setOut(outputStream);
+            execChannel.setErr(outputStream);
+
+            SshFutures.await(execChannel.open(), Duration.ofMillis(connectionTimeout));
+            SshFutures.awaitClosed(execChannel, Duration.ofSeconds(10));
+
+            return outputStream.toString(StandardCharsets.UTF_8);
+        } finally {
+            connectionManager.releaseChannel(clientSession);
+        }
+    }
+
+    private void reserveChannel(ClientSession session) throws IOException {
+        if (!connectionManager.tryReserveChannel(session)) {
+            throw new IOException("SSH channel limit reached");
+        }
+    }
+
+    private void closeQuietly(SftpChannel channel) {
+        if (channel != null) {
+            try {
+                channel.client.close();
+            } catch (IOException e) {
+                log.debug("Error closing SFTP channel: {}", e.getMessage());
+            } finally {
+                channel.releaseReservation();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SftpCall<T> {
+        T apply(SftpClient client) throws IOException;
+    }
+
+    /**
+     * SftpClient는 여러 스레드가 동시에 요청을 쓰면 실패하므로 (채널 출력에 대기 중인 쓰기는 하나만 허용)
+     * 요청 하나 단위로 직렬화한다. 목록 조회 전체가 아닌 READDIR 한 번 단위라 동시 조회는 번갈아 진행된다
+     */
+    private static final class SftpChannel {
+        final SftpClient client;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Runnable releaseChannel;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        SftpChannel(SftpClient client, Runnable releaseChannel) {
+            this.client = client;
+            this.releaseChannel = releaseChannel;
+        }
+
+        void releaseReservation() {
+            if (released.compareAndSet(false, true)) {
+                releaseChannel.run();
+            }
+        }
+
+        <T> T call(SftpCall<T> call) throws IOException {
+            lock.lock();
+            try {
+                return call.apply(client);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.sshmonitor.service;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스크롤백 세그먼트(direct ByteBuffer) 공유 풀.
+ * 모든 세션의 할당량 합계를 max-total-bytes로 제한하고, 종료된 세션의 세그먼트는 해제하지 않고 재사용한다.
+ * (direct 메모리는 GC 시점에야 반환되므로 할당/해제를 반복하지 않는 편이 안전하다)
+ */
+class ScrollbackSegmentPool {
+
+    private final int segmentSize;
+    private final long maxTotalBytes;
+    private final Queue<ByteBuffer> freeSegments = new ConcurrentLinkedQueue<>();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    ScrollbackSegmentPool(int segmentSize, long maxTotalBytes) {
+        this.segmentSize = segmentSize;
+        this.maxTotalBytes = maxTotalBytes;
+    }
+
+    /**
+     * 세그먼트 하나를 빌려준다. 전역 한도에 도달했으면 null
+     */
+    ByteBuffer acquire() {
+        ByteBuffer segment = freeSegments.poll();
+        if (segment != null) {
+            segment.clear();
+            return segment;
+        }
+
+        if (allocatedBytes.addAndGet(segmentSize) > maxTotalBytes) {
+            allocatedBytes.addAndGet(-segmentSize);
+            return null;
+        }
+        return ByteBuffer.allocateDirect(segmentSize);
+    }
+
+    void release(ByteBuffer segment) {
+        freeSegments.offer(segment);
+    }
+
+    int getSegmentSize() {
+        return segmentSize;
+    }
+
+    long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    long getMaxTotalBytes() {
+        return maxTotalBytes;
+    }
+}
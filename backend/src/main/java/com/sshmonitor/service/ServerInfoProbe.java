@@ -0,0 +1,347 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.ServerInfoResponse.ProbeTiming;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sshd.client.channel.ChannelExec;
+import org.apache.sshd.client.session.ClientSession;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버 정보 수집기.
+ * 항목별 명령을 셸 함수로 묶은 스크립트를 exec 채널 하나(sh -s, 스크립트는 stdin으로 전달)로 실행하고
+ * 구분자 줄(@@nonce 항목 start / end 종료코드)로 결과를 나눈다. 항목은 셸 안에서 동시에 실행하고 각각 제한 시간을 걸어
+ * 멈춘 명령은 해당 항목만 N/A가 된다 (전체 소요 시간은 항목별 제한 시간을 넘지 않음).
+ * 항목별 소요 시간은 스크립트 시작(begin) 구분자부터 해당 항목 결과를 받은 시각까지로 측정한다.
+ * 스크립트를 실행하지 못한 서버(sh 없음 등)는 항목별 exec 채널을 연결의 채널 한도 안에서 묶음으로 열어 수집한다.
+ */
+@Slf4j
+final class ServerInfoProbe {
+
+    static final String NOT_AVAILABLE = "N/A";
+    static final String MODE_SCRIPT = "script";
+    static final String MODE_PARALLEL = "parallel";
+
+    record Probe(String name, String command) {}
+
+    record Result(Map<String, String> values, String mode, long collectMillis, List<ProbeTiming> timings) {
+        String get(String name) {
+            return values.getOrDefault(name, NOT_AVAILABLE);
+        }
+    }
+
+    private static final SecureRandom NONCE_RANDOM = new SecureRandom();
+
+    private final SshConnectionManager connectionManager;
+    private final Duration probeTimeout;
+    private final Duration totalTimeout;
+
+    ServerInfoProbe(SshConnectionManager connectionManager, Duration probeTimeout, Duration totalTimeout) {
+        this.connectionManager = connectionManager;
+        this.probeTimeout = probeTimeout;
+        this.totalTimeout = totalTimeout;
+    }
+
+    Result collect(ClientSession session, List<Probe> probes) {
+        long startNanos = System.nanoTime();
+        try {
+            ProbeOutput output = runScript(session, probes);
+            if (output.started()) {
+                return output.toResult(probes, MODE_SCRIPT, startNanos);
+            }
+            log.debug("Probe script produced no markers, falling back to parallel channels");
+        } catch (IOException e) {
+            log.debug("Probe script failed, falling back to parallel channels: {}", e.getMessage());
+        }
+        return runParallel(session, probes, System.nanoTime());
+    }
+
+    private ProbeOutput runScript(ClientSession session, List<Probe> probes) throws IOException {
+        String marker = "@@" + HexFormat.of().formatHex(nonce());
+        ProbeOutput output = new ProbeOutput(marker);
+
+        try (ChannelExec channel = session.createExecChannel("sh -s")) {
+            channel.setIn(new ByteArrayInputStream(buildScript(marker, probes).getBytes(StandardCharsets.UTF_8)));
+            channel.setOut(output);
+            channel.setErr(OutputStream.nullOutputStream());
+            // 스크립트가 중간에 끝나도 대기 해제
+            channel.addCloseFutureListener(future -> output.finish());
+
+            long deadline = System.nanoTime() + totalTimeout.toNanos();
+            SshFutures.await(channel.open(), totalTimeout);
+            output.awaitDone(deadline - System.nanoTime());
+            // done 이후 남은 출력(제한 시간으로 끊긴 명령의 자식 프로세스 등)은 기다리지 않는다
+            channel.close(true);
+        }
+        return output;
+    }
+
+    /**
+     * 셸 함수 p0..pN 으로 정의하고, 항목을 모두 백그라운드로 동시에 실행한 뒤 각 감시 프로세스가 제한 시간 후 종료시킨다.
+     * 항목 출력은 임시 파일에 받았다가 끝난 뒤 구분자와 함께 printf 한 번으로 내보낸다 (동시 실행 항목끼리 출력이 섞이지 않도록).
+     * 임시 파일을 만들 수 없으면 구분자 없이 끝나므로 항목별 채널 방식으로 넘어간다.
+     */
+    private String buildScript(String marker, List<Probe> probes) {
+        long timeoutSeconds = Math.max(1, (probeTimeout.toMillis() + 999) / 1000);
+        StringBuilder script = new StringBuilder()
+            .append("M='").append(marker).append("'\n")
+            .append("T=").append(timeoutSeconds).append('\n')
+            .append("F=\"${TMPDIR:-/tmp}/$M.$$\"\n")
+            .append(": >\"$F\" 2>/dev/null || exit 1\n");
+        for (int i = 0; i < probes.size(); i++) {
+            script.append("p").append(i).append("() { ").append(probes.get(i).command()).append("\n}\n");
+        }
+        script.append("""
+            run() {
+              f="$F.$2"
+              "$1" </dev/null >"$f" 2>/dev/null &
+              pid=$!
+              ( sleep "$T"; kill -9 "$pid" ) >/dev/null 2>&1 &
+              w=$!
+              wait "$pid"
+              rc=$?
+              kill "$w" 2>/dev/null
+              out=$(cat "$f" 2>/dev/null)
+              rm -f "$f"
+              printf '\\n%s %s start\\n%s\\n%s %s end %s\\n' "$M" "$2" "$out" "$M" "$2" "$rc"
+            }
+            printf '\\n%s begin\\n' "$M"
+            """);
+        for (int i = 0; i < probes.size(); i++) {
+            script.append("run p").append(i).append(' ').append(probes.get(i).name()).append(" &\n");
+        }
+        script.append("wait\n")
+            .append("rm -f \"$F\"\n")
+            .append("printf '\\n%s done\\n' \"$M\"\n");
+        return script.toString();
+    }
+
+    /**
+     * acquire 로 받은 채널 하나에 예약할 수 있는 만큼(SshConnectionManager.tryReserveChannel) 더해 동시에 열고,
+     * 남은 항목은 다음 묶음으로 실행한다 (서버 MaxSessions 초과로 채널 열기가 거부되지 않도록)
+     */
+    private Result runParallel(ClientSession session, List<Probe> probes, long startNanos) {
+        Map<String, String> values = new LinkedHashMap<>();
+        List<ProbeTiming> timings = new ArrayList<>();
+        long totalDeadline = startNanos + totalTimeout.toNanos();
+        String remainingStatus = "timeout";
+
+        while (timings.size() < probes.size() && System.nanoTime() < totalDeadline) {
+            int first = timings.size();
+            int extra = 0;
+            while (first + 1 + extra < probes.size() && connectionManager.tryReserveChannel(session)) {
+                extra++;
+            }
+            boolean opened;
+            try {
+                opened = runWave(session, probes.subList(first, first + 1 + extra), totalDeadline, values, timings);
+            } finally {
+                for (int i = 0; i < extra; i++) {
+                    connectionManager.releaseChannel(session);
+                }
+            }
+            if (!opened) {
+                remainingStatus = "failed";
+                break;
+            }
+        }
+
+        // 실행하지 못한 항목
+        for (int i = timings.size(); i < probes.size(); i++) {
+            timings.add(new ProbeTiming(probes.get(i).name(), remainingStatus, 0));
+        }
+        return new Result(values, MODE_PARALLEL, (System.nanoTime() - startNanos) / 1_000_000, timings);
+    }
+
+    /**
+     * @return 채널을 모두 열었으면 true (열지 못한 항목은 failed 로 기록)
+     */
+    private boolean runWave(ClientSession session, List<Probe> wave, long totalDeadline,
+                            Map<String, String> values, List<ProbeTiming> timings) {
+        List<ChannelExec> channels = new ArrayList<>();
+        List<ByteArrayOutputStream> outputs = new ArrayList<>();
+        long[] closedAtNanos = new long[wave.size()];
+        long waveStartNanos = System.nanoTime();
+        int reported = 0;
+
+        try {
+            // 채널 열기 요청을 모두 보낸 뒤 한꺼번에 대기 (왕복 시간이 항목 수만큼 쌓이지 않음)
+            for (int i = 0; i < wave.size(); i++) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                ChannelExec channel = session.createExecChannel(wave.get(i).command());
+                channel.setOut(out);
+                channel.setErr(OutputStream.nullOutputStream());
+                int index = i;
+                channel.addCloseFutureListener(future -> closedAtNanos[index] = System.nanoTime());
+                channel.open();
+                channels.add(channel);
+                outputs.add(out);
+            }
+
+            long deadline = Math.min(waveStartNanos + probeTimeout.toNanos(), totalDeadline);
+            for (int i = 0; i < wave.size(); i++) {
+                Probe probe = wave.get(i);
+                ChannelExec channel = channels.get(i);
+                boolean closed = SshFutures.awaitClosed(channel, Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+                String value = outputs.get(i).toString(StandardCharsets.UTF_8).trim();
+                Integer exitStatus = channel.getExitStatus();
+
+                String status;
+                if (!closed) {
+                    status = "timeout";
+                } else if (!value.isEmpty()) {
+                    status = "ok";
+                    values.put(probe.name(), value);
+                } else {
+                    status = exitStatus == null || exitStatus == 0 ? "empty" : "failed";
+                }
+                long endNanos = closed && closedAtNanos[i] != 0 ? closedAtNanos[i] : System.nanoTime();
+                timings.add(new ProbeTiming(probe.name(), status, (endNanos - waveStartNanos) / 1_000_000));
+                reported++;
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to open probe channels: {}", e.getMessage());
+            for (int i = reported; i < wave.size(); i++) {
+                timings.add(new ProbeTiming(wave.get(i).name(), "failed", 0));
+            }
+            return false;
+        } finally {
+            channels.forEach(channel -> channel.close(true));
+        }
+    }
+
+    private static byte[] nonce() {
+        byte[] nonce = new byte[8];
+        NONCE_RANDOM.nextBytes(nonce);
+        return nonce;
+    }
+
+    /**
+     * 스크립트 출력을 줄 단위로 나눠 항목별 값과 구분자 수신 시각을 기록
+     */
+    private static final class ProbeOutput extends OutputStream {
+
+        private record ProbeResult(String value, int exitCode, long durationNanos) {}
+
+        private final String marker;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final Map<String, ProbeResult> results = new LinkedHashMap<>();
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private final StringBuilder value = new StringBuilder();
+        private String currentProbe;
+        private long beginNanos;
+        private boolean started;
+
+        ProbeOutput(String marker) {
+            this.marker = marker;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            if (b == '\n') {
+                onLine(line.toString(StandardCharsets.UTF_8));
+                line.reset();
+            } else {
+                line.write(b);
+            }
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        private void onLine(String text) {
+            if (!text.startsWith(marker)) {
+                if (currentProbe != null) {
+                    value.append(text).append('\n');
+                }
+                return;
+            }
+
+            String[] parts = text.substring(marker.length()).trim().split(" ");
+            if (parts.length == 1 && parts[0].equals("done")) {
+                finish();
+            } else if (parts.length == 1 && parts[0].equals("begin")) {
+                started = true;
+                beginNanos = System.nanoTime();
+            } else if (parts.length == 2 && parts[1].equals("start")) {
+                // 항목 결과는 start ~ end 가 한 번에 온다 (항목이 끝난 뒤 출력)
+                currentProbe = parts[0];
+                value.setLength(0);
+            } else if (parts.length == 3 && parts[1].equals("end") && parts[0].equals(currentProbe)) {
+                int exitCode;
+                try {
+                    exitCode = Integer.parseInt(parts[2]);
+                } catch (NumberFormatException e) {
+                    exitCode = -1;
+                }
+                results.put(currentProbe, new ProbeResult(value.toString().trim(), exitCode, System.nanoTime() - beginNanos));
+                currentProbe = null;
+            }
+        }
+
+        void finish() {
+            done.countDown();
+        }
+
+        void awaitDone(long timeoutNanos) throws IOException {
+            try {
+                done.await(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while collecting server info", e);
+            }
+        }
+
+        synchronized boolean started() {
+            return started;
+        }
+
+        synchronized Result toResult(List<Probe> probes, String mode, long startNanos) {
+            long now = System.nanoTime();
+            Map<String, String> values = new LinkedHashMap<>();
+            List<ProbeTiming> timings = new ArrayList<>();
+
+            for (Probe probe : probes) {
+                ProbeResult result = results.get(probe.name());
+                String status;
+                long durationNanos;
+                if (result == null) {
+                    // 전체 제한 시간 안에 끝나지 않음 (모든 항목이 begin 부터 실행 중이었음)
+                    status = "timeout";
+                    durationNanos = started ? now - beginNanos : 0;
+                } else {
+                    durationNanos = result.durationNanos();
+                    // 128 + SIGKILL: 셸 안의 항목별 제한 시간으로 종료됨
+                    if (result.exitCode() == 137) {
+                        status = "timeout";
+                    } else if (!result.value().isEmpty()) {
+                        status = "ok";
+                        values.put(probe.name(), result.value());
+                    } else {
+                        status = result.exitCode() == 0 ? "empty" : "failed";
+                    }
+                }
+                timings.add(new ProbeTiming(probe.name(), status, durationNanos / 1_000_000));
+            }
+            return new Result(values, mode, (now - startNanos) / 1_000_000, timings);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.ClusterStatusResponse;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+/**
+ * 클러스터 모드에서 세션 ID -> SSH 연결을 가진 노드 매핑.
+ * 노드마다 같은 브로커를 통해 소유 정보를 주고받으며, 다른 노드가 가진 세션의 메시지는 그 노드로 넘긴다.
+ * 클러스터 모드가 꺼져 있으면 모든 세션은 로컬로 취급한다.
+ */
+public interface SessionOwnershipRegistry {
+
+    String getNodeId();
+
+    void claim(String sessionId);
+
+    void release(String sessionId);
+
+    /**
+     * @return 다른 노드가 가진 세션이면 그 노드 ID, 로컬이거나 알 수 없으면 null
+     */
+    String remoteOwnerOf(String sessionId);
+
+    /**
+     * @return 다른 노드에서 넘겨받은 메시지면 true (다시 넘기지 않음)
+     */
+    boolean isForwarded(SimpMessageHeaderAccessor headerAccessor);
+
+    /**
+     * @return 세션을 연결(resume)한 WebSocket 연결에서 보낸 것으로 넘겨받은 메시지면 true (변경 요청 허용)
+     */
+    boolean isForwardedFromOwner(SimpMessageHeaderAccessor headerAccessor);
+
+    /**
+     * /app{route} 메시지를 nodeId 노드에서 원래 WebSocket 세션 ID 로 받은 것처럼 처리하도록 넘김
+     *
+     * @param fromOwner 보낸 연결이 이 노드에서 세션을 연결(resume)한 연결이면 true
+     */
+    void forward(String nodeId, String route, Object payload, String wsSessionId, boolean fromOwner);
+
+    /**
+     * 살아 있는 모든 다른 노드로 넘김 (WebSocket 종료 알림 등)
+     */
+    void forwardToAll(String route, Object payload, String wsSessionId);
+
+    /**
+     * 새 세션을 열 노드. drain 중이면 세션이 가장 적은 다른 노드, 없거나 drain 중이 아니면 이 노드
+     */
+    String selectNodeForNewSession();
+
+    void setDraining(boolean draining);
+
+    ClusterStatusResponse getStatus();
+}
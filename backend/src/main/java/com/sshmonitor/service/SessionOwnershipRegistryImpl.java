@@ -0,0 +1,428 @@
+package com.sshmonitor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sshmonitor.dto.ClusterAnnouncement;
+import com.sshmonitor.dto.ClusterStatusResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 브로커 릴레이를 통한 세션 소유 정보 공유.
+ * 세션 연결/정리 시 claim/release 를, heartbeat-ms 마다 소유 세션 전체를 /topic/cluster.registry 로 보내고
+ * 다른 노드의 알림으로 로컬 사본을 갱신한다. node-timeout-ms 동안 알림이 없는 노드의 세션은 제거한다.
+ * 다른 노드로 넘기는 메시지는 /topic/cluster.node.{nodeId} 로 보내고, 받은 노드는 clientInboundChannel 에
+ * /app{route} 메시지로 다시 넣어 원래 WebSocket 세션에서 받은 것처럼 처리한다 (응답은 브로커 토픽으로 클라이언트에 전달).
+ * 노드 간 메시지는 terminal.cluster.secret 으로 만든 HMAC 서명을 붙이고, 서명이 맞지 않으면 버린다
+ * (비밀 값 자체는 브로커를 지나지 않음).
+ */
+@Slf4j
+@Service
+public class SessionOwnershipRegistryImpl implements SessionOwnershipRegistry, SmartInitializingSingleton {
+
+    static final String REGISTRY_DESTINATION = "/topic/cluster.registry";
+    static final String NODE_DESTINATION_PREFIX = "/topic/cluster.node.";
+    // 브로커를 거쳐도 유지되도록 STOMP native 헤더로 전달 (하이픈 없는 이름)
+    static final String ROUTE_HEADER = "terminalRoute";
+    static final String WS_SESSION_HEADER = "terminalWsSession";
+    static final String FROM_HEADER = "terminalFrom";
+    static final String OWNER_HEADER = "terminalOwner";
+    static final String SIGNATURE_HEADER = "terminalSignature";
+    // 다시 넣은 메시지 표시 (소유 정보가 어긋나도 노드 사이를 오가지 않도록 로컬에서 처리)
+    static final String FORWARDED_HEADER = "terminalClusterForwardedFrom";
+    static final String FORWARDED_OWNER_HEADER = "terminalClusterForwardedOwner";
+    private static final String APP_PREFIX = "/app";
+    private static final String ROUTE_PREFIX = "/terminal/";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<StompBrokerRelayMessageHandler> brokerRelay;
+    private final ObjectProvider<MessageChannel> clientInboundChannel;
+
+    private final Set<String> localSessions = ConcurrentHashMap.newKeySet();
+    // 다른 노드의 세션 ID -> 노드 ID
+    private final Map<String, String> remoteOwners = new ConcurrentHashMap<>();
+    private final Map<String, NodeState> nodes = new ConcurrentHashMap<>();
+    private final AtomicLong forwardedOut = new AtomicLong();
+    private final AtomicLong forwardedIn = new AtomicLong();
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("cluster-heartbeat").daemon().factory());
+    private volatile boolean draining;
+
+    @Value("${terminal.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${terminal.cluster.node-id:}")
+    private String nodeId;
+
+    @Value("${terminal.cluster.heartbeat-ms:5000}")
+    private long heartbeatMs;
+
+    @Value("${terminal.cluster.node-timeout-ms:15000}")
+    private long nodeTimeoutMs;
+
+    @Value("${terminal.cluster.secret:}")
+    private String secret;
+
+    private SecretKeySpec signingKey;
+
+    public SessionOwnershipRegistryImpl(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper,
+                                        ApplicationEventPublisher eventPublisher,
+                                        ObjectProvider<StompBrokerRelayMessageHandler> brokerRelay,
+                                        @Qualifier("clientInboundChannel") ObjectProvider<MessageChannel> clientInboundChannel) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.brokerRelay = brokerRelay;
+        this.clientInboundChannel = clientInboundChannel;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = defaultNodeId();
+        }
+        if (!enabled) {
+            return;
+        }
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("terminal.cluster.secret is required when terminal.cluster.enabled=true");
+        }
+        signingKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        log.info("Cluster mode: node {} | heartbeat {}ms | node timeout {}ms", nodeId, heartbeatMs, nodeTimeoutMs);
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 릴레이 시작(컨텍스트 lifecycle 시작) 전에 시스템 연결 구독을 추가
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        StompBrokerRelayMessageHandler relay = brokerRelay.getIfAvailable();
+        if (relay == null) {
+            log.warn("Cluster mode enabled but no STOMP broker relay is configured, running as a single node");
+            return;
+        }
+        Map<String, MessageHandler> subscriptions = new HashMap<>(relay.getSystemSubscriptions());
+        subscriptions.put(REGISTRY_DESTINATION, this::handleAnnouncement);
+        subscriptions.put(NODE_DESTINATION_PREFIX + nodeId, this::handleForwarded);
+        relay.setSystemSubscriptions(subscriptions);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void claim(String sessionId) {
+        localSessions.add(sessionId);
+        remoteOwners.remove(sessionId);
+        announce("claim", List.of(sessionId));
+    }
+
+    @Override
+    public void release(String sessionId) {
+        if (localSessions.remove(sessionId)) {
+            announce("release", List.of(sessionId));
+        }
+    }
+
+    @Override
+    public String remoteOwnerOf(String sessionId) {
+        if (!enabled || sessionId == null || localSessions.contains(sessionId)) {
+            return null;
+        }
+        return remoteOwners.get(sessionId);
+    }
+
+    @Override
+    public boolean isForwarded(SimpMessageHeaderAccessor headerAccessor) {
+        return headerAccessor != null && headerAccessor.getHeader(FORWARDED_HEADER) != null;
+    }
+
+    @Override
+    public boolean isForwardedFromOwner(SimpMessageHeaderAccessor headerAccessor) {
+        return isForwarded(headerAccessor) && Boolean.TRUE.equals(headerAccessor.getHeader(FORWARDED_OWNER_HEADER));
+    }
+
+    @Override
+    public void forward(String targetNodeId, String route, Object payload, String wsSessionId, boolean fromOwner) {
+        byte[] body;
+        MimeType contentType;
+        try {
+            if (payload instanceof String text) {
+                body = text.getBytes(StandardCharsets.UTF_8);
+                contentType = MimeTypeUtils.TEXT_PLAIN;
+            } else {
+                body = objectMapper.writeValueAsBytes(payload);
+                contentType = MimeTypeUtils.APPLICATION_JSON;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to encode forwarded message {}: {}", route, e.getMessage());
+            return;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(contentType);
+        accessor.setNativeHeader(ROUTE_HEADER, route);
+        accessor.setNativeHeader(FROM_HEADER, nodeId);
+        if (wsSessionId != null) {
+            accessor.setNativeHeader(WS_SESSION_HEADER, wsSessionId);
+        }
+        String owner = String.valueOf(fromOwner);
+        accessor.setNativeHeader(OWNER_HEADER, owner);
+        accessor.setNativeHeader(SIGNATURE_HEADER, sign(body, route, nodeId, wsSessionId, owner));
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(NODE_DESTINATION_PREFIX + targetNodeId,
+            MessageBuilder.createMessage(body, accessor.getMessageHeaders()));
+        forwardedOut.incrementAndGet();
+        log.trace("Forwarded {} to node {}", route, targetNodeId);
+    }
+
+    @Override
+    public void forwardToAll(String route, Object payload, String wsSessionId) {
+        if (!enabled) {
+            return;
+        }
+        for (String otherNodeId : nodes.keySet()) {
+            forward(otherNodeId, route, payload, wsSessionId, false);
+        }
+    }
+
+    @Override
+    public String selectNodeForNewSession() {
+        if (!enabled || !draining) {
+            return nodeId;
+        }
+        return nodes.entrySet().stream()
+            .filter(entry -> !entry.getValue().draining)
+            .min(Comparator.comparingInt(entry -> entry.getValue().sessions))
+            .map(Map.Entry::getKey)
+            .orElseGet(() -> {
+                log.warn("Node {} is draining but no other node is available, opening session locally", nodeId);
+                return nodeId;
+            });
+    }
+
+    @Override
+    public void setDraining(boolean draining) {
+        this.draining = draining;
+        // 로드 밸런서/오케스트레이터가 readiness 로 새 연결을 다른 노드로 보내도록 함께 전환
+        AvailabilityChangeEvent.publish(eventPublisher, this,
+            draining ? ReadinessState.REFUSING_TRAFFIC : ReadinessState.ACCEPTING_TRAFFIC);
+        log.info("Node {} {} | Local sessions: {}", nodeId, draining ? "draining" : "accepting new sessions",
+            localSessions.size());
+        if (enabled) {
+            announce("heartbeat", List.copyOf(localSessions));
+        }
+    }
+
+    @Override
+    public ClusterStatusResponse getStatus() {
+        long now = System.currentTimeMillis();
+        List<ClusterStatusResponse.NodeStatus> nodeStatuses = new ArrayList<>();
+        nodeStatuses.add(new ClusterStatusResponse.NodeStatus(nodeId, localSessions.size(), draining, 0));
+        nodes.forEach((id, state) -> nodeStatuses.add(new ClusterStatusResponse.NodeStatus(
+            id, state.sessions, state.draining, now - state.lastSeenMillis)));
+        return new ClusterStatusResponse(
+            enabled,
+            nodeId,
+            draining,
+            localSessions.size(),
+            localSessions.size() + remoteOwners.size(),
+            forwardedOut.get(),
+            forwardedIn.get(),
+            nodeStatuses
+        );
+    }
+
+    private void heartbeat() {
+        try {
+            long cutoff = System.currentTimeMillis() - nodeTimeoutMs;
+            nodes.forEach((id, state) -> {
+                if (state.lastSeenMillis < cutoff && nodes.remove(id, state)) {
+                    remoteOwners.values().removeIf(id::equals);
+                    log.warn("Cluster node {} timed out, dropped its session ownership", id);
+                }
+            });
+            announce("heartbeat", List.copyOf(localSessions));
+        } catch (RuntimeException e) {
+            log.warn("Cluster heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    private void announce(String type, List<String> sessionIds) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(
+                new ClusterAnnouncement(type, nodeId, draining, localSessions.size(), sessionIds));
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            accessor.setNativeHeader(SIGNATURE_HEADER, sign(body));
+            accessor.setLeaveMutable(true);
+            messagingTemplate.send(REGISTRY_DESTINATION, MessageBuilder.createMessage(body, accessor.getMessageHeaders()));
+        } catch (IOException | RuntimeException e) {
+            // 브로커 연결 전/재연결 중: 다음 heartbeat 로 맞춰짐
+            log.debug("Cluster announcement not sent ({}): {}", type, e.getMessage());
+        }
+    }
+
+    private void handleAnnouncement(Message<?> message) {
+        if (!(message.getPayload() instanceof byte[] body)) {
+            return;
+        }
+        if (!verify(StompHeaderAccessor.wrap(message).getFirstNativeHeader(SIGNATURE_HEADER), body)) {
+            log.warn("Dropped cluster announcement with invalid signature");
+            return;
+        }
+        ClusterAnnouncement announcement;
+        try {
+            announcement = objectMapper.readValue(body, ClusterAnnouncement.class);
+        } catch (IOException e) {
+            log.warn("Invalid cluster announcement: {}", e.getMessage());
+            return;
+        }
+        String owner = announcement.nodeId();
+        if (owner == null || owner.equals(nodeId)) {
+            return;
+        }
+
+        NodeState previous = nodes.put(owner, new NodeState(System.currentTimeMillis(), announcement.sessionCount(), announcement.draining()));
+        if (previous == null) {
+            log.info("Cluster node joined: {} ({} sessions)", owner, announcement.sessionCount());
+        }
+        List<String> sessionIds = announcement.sessionIds() != null ? announcement.sessionIds() : List.of();
+        switch (announcement.type()) {
+            case "claim" -> sessionIds.forEach(id -> remoteOwners.put(id, owner));
+            case "release" -> sessionIds.forEach(id -> remoteOwners.remove(id, owner));
+            case "heartbeat" -> {
+                // 놓친 claim/release 보정: 이 노드의 소유 목록을 알림 내용으로 교체
+                Set<String> owned = new HashSet<>(sessionIds);
+                owned.forEach(id -> remoteOwners.put(id, owner));
+                remoteOwners.entrySet().removeIf(entry -> entry.getValue().equals(owner) && !owned.contains(entry.getKey()));
+            }
+            default -> log.debug("Unknown cluster announcement type {} from {}", announcement.type(), owner);
+        }
+    }
+
+    private void handleForwarded(Message<?> message) {
+        StompHeaderAccessor received = StompHeaderAccessor.wrap(message);
+        String route = received.getFirstNativeHeader(ROUTE_HEADER);
+        String from = received.getFirstNativeHeader(FROM_HEADER);
+        String wsSessionId = received.getFirstNativeHeader(WS_SESSION_HEADER);
+        String owner = received.getFirstNativeHeader(OWNER_HEADER);
+        if (!(message.getPayload() instanceof byte[] body)
+            || !verify(received.getFirstNativeHeader(SIGNATURE_HEADER), body, route, from, wsSessionId, owner)) {
+            log.warn("Dropped forwarded message with invalid signature: route {} from {}", route, from);
+            return;
+        }
+        if (route == null || !route.startsWith(ROUTE_PREFIX)) {
+            log.warn("Dropped forwarded message with invalid route {} from {}", route, from);
+            return;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(APP_PREFIX + route);
+        // 원래 WebSocket 세션 ID 유지 (viewer 연결 확인, 로그), 없으면 보낸 노드로 표시
+        accessor.setSessionId(wsSessionId != null ? wsSessionId : "cluster-" + from);
+        accessor.setSessionAttributes(new HashMap<>());
+        accessor.setContentType(received.getContentType() != null ? received.getContentType() : MimeTypeUtils.APPLICATION_JSON);
+        accessor.setHeader(FORWARDED_HEADER, from != null ? from : "unknown");
+        // 소유자 확인은 WebSocket 연결을 가진 노드에서 함 (이 노드에는 그 연결의 세션 등록 정보가 없음)
+        accessor.setHeader(FORWARDED_OWNER_HEADER, Boolean.parseBoolean(owner));
+        forwardedIn.incrementAndGet();
+        clientInboundChannel.getObject().send(MessageBuilder.createMessage(body, accessor.getMessageHeaders()));
+    }
+
+    /**
+     * 본문과 라우팅 헤더에 대한 HMAC-SHA256 (헤더만 바꿔 다른 세션/경로로 재사용하지 못하도록 함께 서명)
+     */
+    private String sign(byte[] body, String... fields) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            for (String field : fields) {
+                mac.update((field != null ? field : "").getBytes(StandardCharsets.UTF_8));
+                mac.update((byte) 0);
+            }
+            return Base64.getEncoder().encodeToString(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign cluster message", e);
+        }
+    }
+
+    private boolean verify(String signature, byte[] body, String... fields) {
+        if (signature == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+            signature.getBytes(StandardCharsets.UTF_8),
+            sign(body, fields).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+
+    private record NodeState(long lastSeenMillis, int sessions, boolean draining) {}
+}
@@ -0,0 +1,38 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.SshConnectionStatsResponse;
+import org.apache.sshd.client.session.ClientSession;
+
+import java.util.List;
+
+public interface SshConnectionManager {
+
+    /**
+     * 같은 (사용자, 호스트, 포트, 인증 정보)로 인증된 세션이 있으면 참조 수를 올려 재사용하고, 없으면 새로 연결합니다.
+     * 사용이 끝나면 반드시 {@link #release(ClientSession)}를 호출해야 합니다.
+     */
+    ClientSession acquire(SshCredentials credentials) throws Exception;
+
+    /**
+     * 참조를 반납합니다. 마지막 참조가 반납되면 idle-linger-ms 동안 재사용을 기다렸다가 연결을 닫습니다.
+     */
+    void release(ClientSession session);
+
+    /**
+     * acquire 로 얻은 연결에 셸 외의 채널(SFTP, 메트릭 수집, 서버 정보 항목별 exec, ls fallback)을 열기 전에 예약합니다.
+     * acquire 는 연결당 max-channels - reserved-channels 개까지만 받으므로 reserved-channels 개는 항상 이 용도로 남아 있습니다.
+     * 채널을 닫으면 {@link #releaseChannel(ClientSession)}를 호출해야 합니다.
+     *
+     * @return 연결의 전체 채널 수가 max-channels 에 도달했으면 false (채널을 열지 말 것)
+     */
+    boolean tryReserveChannel(ClientSession session);
+
+    void releaseChannel(ClientSession session);
+
+    /**
+     * 연결 대상과 인증 정보를 구분하는 키 (비밀번호/개인키 원문은 포함하지 않음). 같은 키면 같은 연결을 공유합니다.
+     */
+    String identityOf(SshCredentials credentials) throws Exception;
+
+    List<SshConnectionStatsResponse> getConnectionStats();
+}
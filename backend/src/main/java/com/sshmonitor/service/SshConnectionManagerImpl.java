@@ -0,0 +1,368 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.SshConnectionStatsResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.sshd.client.SshClient;
+import org.apache.sshd.client.session.ClientSession;
+import org.apache.sshd.common.SshException;
+import org.apache.sshd.common.config.keys.KeyUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 인증된 ClientSession 공유 관리자.
+ * 같은 사용자/호스트/포트/인증 정보로 여는 터미널, 연결 확인, 서버 정보 조회는 하나의 SSH 연결 위에 채널만 추가로 열고,
+ * 마지막 참조가 반납되면 idle-linger-ms 동안 재사용을 기다렸다가 연결을 닫는다.
+ * 서버의 연결당 채널 한도(OpenSSH MaxSessions, 기본 10)를 넘지 않도록 셸/연결 확인 채널이 max-channels - reserved-channels 에
+ * 도달하면 새 연결을 만든다. 남겨 둔 reserved-channels 는 SFTP, 메트릭 수집 등 부가 채널용이며 (tryReserveChannel),
+ * 모든 채널의 합은 max-channels 를 넘지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SshConnectionManagerImpl implements SshConnectionManager {
+
+    private final SshClient sshClient;
+
+    // 새 참조를 받을 연결 (키당 하나), 가득 찬 연결은 bySession에만 남아 있다가 참조가 모두 반납되면 닫힌다
+    private final Map<ConnectionKey, SharedConnection> connections = new ConcurrentHashMap<>();
+    private final Map<ClientSession, SharedConnection> bySession = new ConcurrentHashMap<>();
+    // 비밀번호 지문용 (프로세스마다 새로 생성, 원문 해시를 메모리에 남기지 않음)
+    private final byte[] fingerprintKey = newFingerprintKey();
+
+    @Value("${ssh.connection-timeout:10000}")
+    private int connectionTimeout;
+
+    @Value("${ssh.shared-session.enabled:true}")
+    private boolean sharingEnabled;
+
+    // 연결당 전체 채널 수 (셸 + 연결 확인 exec + SFTP + 메트릭 수집 + 기타 exec)
+    @Value("${ssh.shared-session.max-channels:10}")
+    private int maxChannels;
+
+    // 부가 채널용으로 남겨 두는 수 (SFTP, 메트릭 수집 각 1)
+    @Value("${ssh.shared-session.reserved-channels:2}")
+    private int reservedChannels;
+
+    // 참조가 모두 반납된 연결을 닫기 전에 유지하는 시간 (연결 확인 직후 터미널 열기 등 재사용 대비)
+    @Value("${ssh.shared-session.idle-linger-ms:30000}")
+    private long idleLingerMs;
+
+    private final ScheduledExecutorService lingerScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ssh-connection-linger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public ClientSession acquire(SshCredentials credentials) throws Exception {
+        KeyPair keyPair = "privateKey".equals(credentials.authType()) ? SshKeys.loadKeyPair(credentials.privateKey()) : null;
+
+        if (!sharingEnabled) {
+            ClientSession session = connect(credentials, keyPair);
+            SharedConnection connection = new SharedConnection(null, credentials.target());
+            connection.tryRetain(1, maxChannels);
+            connection.future.complete(session);
+            bySession.put(session, connection);
+            return session;
+        }
+
+        ConnectionKey key = connectionKey(credentials, keyPair);
+
+        while (true) {
+            SharedConnection[] created = new SharedConnection[1];
+            SharedConnection connection = connections.compute(key, (k, existing) -> {
+                if (existing != null && existing.tryRetain(maxSharedReferences(), maxChannels)) {
+                    return existing;
+                }
+                SharedConnection fresh = new SharedConnection(k, credentials.target());
+                fresh.tryRetain(maxSharedReferences(), maxChannels);
+                created[0] = fresh;
+                return fresh;
+            });
+
+            if (created[0] == connection) {
+                try {
+                    ClientSession session = connect(credentials, keyPair);
+                    bySession.put(session, connection);
+                    connection.future.complete(session);
+                    log.info("SSH connection opened: {} | Shared connections: {}", credentials.target(), bySession.size());
+                    return session;
+                } catch (Exception e) {
+                    connections.remove(key, connection);
+                    connection.future.completeExceptionally(e);
+                    throw e;
+                }
+            }
+
+            // 다른 요청이 연결 중이면 그 결과를 기다렸다가 재사용
+            ClientSession session;
+            try {
+                session = connection.future.get(2L * connectionTimeout, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                connection.release();
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            } catch (TimeoutException e) {
+                connection.release();
+                throw new SshException("Shared session connect timeout: " + credentials.target());
+            }
+
+            if (session.isOpen()) {
+                log.info("SSH connection reused: {} | Channels: {}", credentials.target(), connection.getReferences());
+                return session;
+            }
+            // 기다리는 사이 연결이 끊김: 참조를 돌려주고 새 연결로 재시도
+            release(session);
+        }
+    }
+
+    @Override
+    public void release(ClientSession session) {
+        if (session == null) {
+            return;
+        }
+
+        SharedConnection connection = bySession.get(session);
+        if (connection == null) {
+            closeQuietly(session);
+            return;
+        }
+
+        if (!connection.release()) {
+            return;
+        }
+
+        if (idleLingerMs > 0 && connection.key != null && session.isOpen()) {
+            // 그 사이 다시 acquire 되면 참조가 생겨 닫지 않는다
+            lingerScheduler.schedule(() -> closeIfIdle(session, connection), idleLingerMs, TimeUnit.MILLISECONDS);
+            log.debug("SSH connection idle, closing in {}s unless reused: {}", idleLingerMs / 1000, connection.target);
+        } else {
+            closeIfIdle(session, connection);
+        }
+    }
+
+    @Override
+    public boolean tryReserveChannel(ClientSession session) {
+        SharedConnection connection = session != null ? bySession.get(session) : null;
+        if (connection == null) {
+            // 관리하지 않는 연결 (이미 닫혔거나 직접 연 연결)
+            return true;
+        }
+        if (!connection.tryReserve(maxChannels)) {
+            log.warn("SSH channel limit reached: {} | Channels: {}/{}", connection.target, connection.getChannels(), maxChannels);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void releaseChannel(ClientSession session) {
+        SharedConnection connection = session != null ? bySession.get(session) : null;
+        if (connection != null) {
+            connection.releaseReserved();
+        }
+    }
+
+    @Override
+    public String identityOf(SshCredentials credentials) throws Exception {
+        KeyPair keyPair = "privateKey".equals(credentials.authType()) ? SshKeys.loadKeyPair(credentials.privateKey()) : null;
+        ConnectionKey key = connectionKey(credentials, keyPair);
+        return key.username() + "@" + key.host() + ":" + key.port() + "/" + key.identityFingerprint();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lingerScheduler.shutdownNow();
+    }
+
+    private int maxSharedReferences() {
+        return Math.max(1, maxChannels - reservedChannels);
+    }
+
+    private void closeIfIdle(ClientSession session, SharedConnection connection) {
+        if (!connection.closeIfIdle()) {
+            return;
+        }
+        bySession.remove(session);
+        if (connection.key != null) {
+            connections.remove(connection.key, connection);
+        }
+        closeQuietly(session);
+        log.info("SSH connection closed (last channel released): {} | Uptime: {}s",
+            connection.target, Duration.between(connection.createdAt, Instant.now()).getSeconds());
+    }
+
+    private ConnectionKey connectionKey(SshCredentials credentials, KeyPair keyPair) throws GeneralSecurityException {
+        return new ConnectionKey(credentials.username(), credentials.host(), credentials.port(),
+            fingerprint(credentials, keyPair));
+    }
+
+    @Override
+    public List<SshConnectionStatsResponse> getConnectionStats() {
+        Instant now = Instant.now();
+        return bySession.entrySet().stream()
+            .map(entry -> {
+                SharedConnection connection = entry.getValue();
+                ClientSession session = entry.getKey();
+                return new SshConnectionStatsResponse(
+                    connection.target,
+                    connection.key != null,
+                    connection.getReferences(),
+                    connection.key != null && connections.get(connection.key) == connection
+                        && connection.getReferences() < maxSharedReferences(),
+                    session.isOpen(),
+                    Duration.between(connection.createdAt, now).getSeconds()
+                );
+            })
+            .toList();
+    }
+
+    private ClientSession connect(SshCredentials credentials, KeyPair keyPair) throws Exception {
+        ClientSession session = SshFutures.await(
+            sshClient.connect(credentials.username(), credentials.host(), credentials.port()),
+            Duration.ofMillis(connectionTimeout)
+        ).getSession();
+
+        try {
+            if ("password".equals(credentials.authType())) {
+                session.addPasswordIdentity(credentials.password());
+            } else if (keyPair != null) {
+                session.addPublicKeyIdentity(keyPair);
+            }
+
+            SshFutures.await(session.auth(), Duration.ofMillis(connectionTimeout));
+            return session;
+        } catch (Exception e) {
+            closeQuietly(session);
+            throw e;
+        }
+    }
+
+    /**
+     * 같은 인증 정보를 제시한 요청끼리만 연결을 공유하도록 키에 포함할 지문
+     * (다른 비밀번호로 이미 인증된 연결에 편승하는 것을 막는다)
+     */
+    private String fingerprint(SshCredentials credentials, KeyPair keyPair) throws GeneralSecurityException {
+        if (keyPair != null) {
+            return KeyUtils.getFingerPrint(keyPair.getPublic());
+        }
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(fingerprintKey, "HmacSHA256"));
+        String secret = credentials.password() != null ? credentials.password() : "";
+        return credentials.authType() + ":" + Base64.getEncoder().encodeToString(
+            mac.doFinal(secret.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void closeQuietly(ClientSession session) {
+        try {
+            session.close();
+        } catch (IOException e) {
+            log.debug("Error closing SSH connection: {}", e.getMessage());
+        }
+    }
+
+    private static byte[] newFingerprintKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    private record ConnectionKey(String username, String host, int port, String identityFingerprint) {}
+
+    private static class SharedConnection {
+        // 공유하지 않는 전용 연결이면 null
+        final ConnectionKey key;
+        final String target;
+        final Instant createdAt = Instant.now();
+        final CompletableFuture<ClientSession> future = new CompletableFuture<>();
+        private int references;
+        // tryReserveChannel 로 연 부가 채널 (연결 종료 여부 판단에는 포함하지 않음: 연결을 닫으면 함께 닫힘)
+        private int reserved;
+        private boolean closed;
+
+        SharedConnection(ConnectionKey key, String target) {
+            this.key = key;
+            this.target = target;
+        }
+
+        /**
+         * @return 참조를 얻었으면 true. 닫혔거나, 한도에 도달했거나, 연결이 끊긴 경우 false
+         */
+        synchronized boolean tryRetain(int maxReferences, int maxTotal) {
+            if (closed || references >= maxReferences || references + reserved >= maxTotal) {
+                return false;
+            }
+            if (future.isCompletedExceptionally()) {
+                return false;
+            }
+            ClientSession session = future.getNow(null);
+            if (session != null && (!session.isOpen() || !session.isAuthenticated())) {
+                return false;
+            }
+            references++;
+            return true;
+        }
+
+        synchronized boolean tryReserve(int maxTotal) {
+            if (closed || references + reserved >= maxTotal) {
+                return false;
+            }
+            reserved++;
+            return true;
+        }
+
+        synchronized void releaseReserved() {
+            if (reserved > 0) {
+                reserved--;
+            }
+        }
+
+        /**
+         * @return 마지막 참조였으면 true (호출자가 바로 또는 유예 후 closeIfIdle 호출).
+         *         참조가 이미 0이면 중복 반납으로 보고 무시 (다른 채널이 쓰는 연결을 닫지 않도록)
+         */
+        synchronized boolean release() {
+            if (references <= 0) {
+                return false;
+            }
+            references--;
+            return references == 0 && !closed;
+        }
+
+        /**
+         * @return 참조가 없어 닫힘 상태로 바꿨으면 true (이후 tryRetain 불가, 호출자가 연결을 닫는다)
+         */
+        synchronized boolean closeIfIdle() {
+            if (references > 0 || closed) {
+                return false;
+            }
+            closed = true;
+            return true;
+        }
+
+        synchronized int getReferences() {
+            return references;
+        }
+
+        synchronized int getChannels() {
+            return references + reserved;
+        }
+    }
+}
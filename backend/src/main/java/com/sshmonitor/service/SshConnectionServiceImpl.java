@@ -21,6 +21,10 @@ import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
@@ -28,6 +32,7 @@ import java.time.Instant;
 public class SshConnectionServiceImpl implements SshConnectionService {
 
     private final SshClient sshClient;
+    private final SshConnectionManager connectionManager;
 
     @Value("${ssh.connection-timeout:10000}")
     private int connectionTimeout;
@@ -35,14 +40,40 @@ public class SshConnectionServiceImpl implements SshConnectionService {
     @Value("${ssh.command-timeout:5000}")
     private int commandTimeout;
 
+    // 서버 정보 항목별 제한 시간 (초과한 항목만 N/A)
+    @Value("${ssh.server-info.probe-timeout-ms:3000}")
+    private long probeTimeoutMs;
+
+    // 서버 정보 캐시 (연결 대상 + 인증 정보 기준). 0이면 캐시하지 않음
+    @Value("${ssh.server-info.cache-ttl-ms:60000}")
+    private long serverInfoCacheTtlMs;
+
+    @Value("${ssh.server-info.cache-max-entries:256}")
+    private int serverInfoCacheMaxEntries;
+
+    private record CachedServerInfo(ServerInfoResponse response, long expiresAtMillis) {}
+
+    private final Map<String, CachedServerInfo> serverInfoCache = new ConcurrentHashMap<>();
+
+    private static final List<ServerInfoProbe.Probe> SERVER_INFO_PROBES = List.of(
+        new ServerInfoProbe.Probe("hostname", "hostname"),
+        new ServerInfoProbe.Probe("osType", "uname -s"),
+        new ServerInfoProbe.Probe("osVersion", "uname -r"),
+        new ServerInfoProbe.Probe("uptime", "uptime"),
+        new ServerInfoProbe.Probe("cpuCores", "nproc"),
+        new ServerInfoProbe.Probe("memoryTotal", "free -h | grep Mem | awk '{print $2}'"),
+        new ServerInfoProbe.Probe("diskUsage", "df -h / | tail -1 | awk '{print $5}'")
+    );
+
+    /**
+     * 인증은 매번 확인하되 공유 연결이 있으면 재사용하고, 호스트 정보는 서버 정보 캐시를 사용합니다.
+     * 캐시가 없으면 서버 정보 전체를 수집해 캐시에 넣습니다 (이어지는 /info 요청은 원격 호출 없이 응답).
+     */
     @Override
     public ConnectionValidationResponse validateConnection(SshConnectionRequest request) {
-        try (ClientSession session = createSession(request)) {
-            String hostname = executeCommand(session, "hostname", commandTimeout / 1000).trim();
-            String osInfo = executeCommand(session, "uname -s", commandTimeout / 1000).trim();
-            String serverTime = Instant.now().toString();
-
-            ServerInfo serverInfo = new ServerInfo(hostname, osInfo, serverTime);
+        try {
+            ServerInfoResponse info = loadServerInfo(SshCredentials.of(request), true);
+            ServerInfo serverInfo = new ServerInfo(info.hostname(), info.osType(), Instant.now().toString());
             return ConnectionValidationResponse.success(serverInfo);
         } catch (SshConnectionException e) {
             return ConnectionValidationResponse.error(e.getMessage(), e.getErrorCode().getCode());
@@ -52,26 +83,13 @@ public class SshConnectionServiceImpl implements SshConnectionService {
         }
     }
 
+    /**
+     * 같은 연결 대상 + 인증 정보로 cache-ttl-ms 이내에 수집한 결과가 있으면 원격 호출 없이 반환합니다.
+     */
     @Override
     public ServerInfoResponse getServerInfo(SshConnectionRequest request) {
-        try (ClientSession session = createSession(request)) {
-            String hostname = safeExecuteCommand(session, "hostname");
-            String osType = safeExecuteCommand(session, "uname -s");
-            String osVersion = safeExecuteCommand(session, "uname -r");
-            String uptime = parseUptime(safeExecuteCommand(session, "uptime"));
-            Integer cpuCores = parseCpuCores(safeExecuteCommand(session, "nproc"));
-            String memoryTotal = parseMemory(safeExecuteCommand(session, "free -h | grep Mem | awk '{print $2}'"));
-            String diskUsage = parseDiskUsage(safeExecuteCommand(session, "df -h / | tail -1 | awk '{print $5}'"));
-
-            return new ServerInfoResponse(
-                hostname,
-                osType,
-                osVersion,
-                uptime,
-                cpuCores,
-                memoryTotal,
-                diskUsage
-            );
+        try {
+            return loadServerInfo(SshCredentials.of(request), false);
         } catch (SshConnectionException e) {
             throw e;
         } catch (Exception e) {
@@ -80,6 +98,122 @@ public class SshConnectionServiceImpl implements SshConnectionService {
         }
     }
 
+    /**
+     * @param requireAuth 캐시가 있어도 연결(인증)을 확인
+     */
+    private ServerInfoResponse loadServerInfo(SshCredentials credentials, boolean requireAuth) {
+        String identity = identityOf(credentials);
+        ServerInfoResponse cached = cachedServerInfo(identity);
+        if (cached != null && !requireAuth) {
+            return cached;
+        }
+
+        long connectStart = System.nanoTime();
+        ClientSession session;
+        try {
+            session = connectionManager.acquire(credentials);
+        } catch (Exception e) {
+            // 비밀번호 변경, 서버 중지 등: 이전 결과를 더 이상 쓰지 않음
+            serverInfoCache.remove(identity);
+            throw toConnectionException(e);
+        }
+
+        try {
+            if (cached != null) {
+                return cached;
+            }
+            long connectMillis = (System.nanoTime() - connectStart) / 1_000_000;
+
+            // 항목별 exec 대신 스크립트 하나로 수집 (실패 시 채널 한도 안에서 항목별 채널 동시 실행)
+            ServerInfoProbe.Result result = new ServerInfoProbe(
+                connectionManager, Duration.ofMillis(probeTimeoutMs), Duration.ofMillis(commandTimeout)
+            ).collect(session, SERVER_INFO_PROBES);
+
+            log.debug("Server info collected from {} | Mode: {} | Connect: {}ms | Collect: {}ms",
+                credentials.target(), result.mode(), connectMillis, result.collectMillis());
+
+            ServerInfoResponse response = new ServerInfoResponse(
+                result.get("hostname"),
+                result.get("osType"),
+                result.get("osVersion"),
+                parseUptime(result.get("uptime")),
+                parseCpuCores(result.get("cpuCores")),
+                parseMemory(result.get("memoryTotal")),
+                parseDiskUsage(result.get("diskUsage")),
+                new ServerInfoResponse.ProbeDiagnostics(
+                    result.mode(),
+                    false,
+                    connectMillis,
+                    result.collectMillis(),
+                    result.timings()
+                )
+            );
+            // 한 항목도 받지 못한 결과(전체 제한 시간 초과 등)는 캐시하지 않음
+            if (!result.values().isEmpty()) {
+                cacheServerInfo(identity, response);
+            }
+            return response;
+        } finally {
+            connectionManager.release(session);
+        }
+    }
+
+    private String identityOf(SshCredentials credentials) {
+        try {
+            return connectionManager.identityOf(credentials);
+        } catch (Exception e) {
+            throw toConnectionException(e);
+        }
+    }
+
+    private ServerInfoResponse cachedServerInfo(String identity) {
+        CachedServerInfo cached = serverInfoCache.get(identity);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAtMillis() < System.currentTimeMillis()) {
+            serverInfoCache.remove(identity, cached);
+            return null;
+        }
+
+        ServerInfoResponse response = cached.response();
+        ServerInfoResponse.ProbeDiagnostics diagnostics = response.diagnostics();
+        return new ServerInfoResponse(
+            response.hostname(),
+            response.osType(),
+            response.osVersion(),
+            response.uptime(),
+            response.cpuCores(),
+            response.memoryTotal(),
+            response.diskUsage(),
+            new ServerInfoResponse.ProbeDiagnostics(
+                diagnostics.mode(),
+                true,
+                diagnostics.connectMillis(),
+                diagnostics.collectMillis(),
+                diagnostics.probes()
+            )
+        );
+    }
+
+    private void cacheServerInfo(String identity, ServerInfoResponse response) {
+        if (serverInfoCacheTtlMs <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        serverInfoCache.put(identity, new CachedServerInfo(response, now + serverInfoCacheTtlMs));
+
+        if (serverInfoCache.size() > serverInfoCacheMaxEntries) {
+            serverInfoCache.values().removeIf(cached -> cached.expiresAtMillis() < now);
+            // 만료된 항목을 지워도 넘치면 가장 먼저 만료될 항목부터 제거
+            while (serverInfoCache.size() > serverInfoCacheMaxEntries) {
+                serverInfoCache.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().expiresAtMillis()))
+                    .ifPresent(entry -> serverInfoCache.remove(entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
     @Override
     public ClientSession createSession(SshConnectionRequest request) throws IOException {
         try {
@@ -92,25 +226,34 @@ public class SshConnectionServiceImpl implements SshConnectionService {
             if ("password".equals(request.authType())) {
                 session.addPasswordIdentity(request.password());
             } else if ("privateKey".equals(request.authType())) {
-                KeyPair keyPair = loadKeyPair(request.privateKey());
+                KeyPair keyPair = SshKeys.loadKeyPair(request.privateKey());
                 session.addPublicKeyIdentity(keyPair);
             }
 
             session.auth().verify(Duration.ofMillis(connectionTimeout));
             return session;
-        } catch (IOException e) {
-            if (e.getMessage() != null && e.getMessage().contains("Auth")) {
-                throw new SshConnectionException(ErrorCode.AUTH_FAILED, e);
-            }
-            throw new SshConnectionException(ErrorCode.NETWORK_ERROR, e);
-        } catch (GeneralSecurityException e) {
-            throw new SshConnectionException(ErrorCode.AUTH_FAILED, "Invalid private key format");
         } catch (Exception e) {
-            if (e.getMessage() != null && e.getMessage().contains("timeout")) {
-                throw new SshConnectionException(ErrorCode.TIMEOUT, e);
+            throw toConnectionException(e);
+        }
+    }
+
+    private SshConnectionException toConnectionException(Exception e) {
+        if (e instanceof SshConnectionException connectionException) {
+            return connectionException;
+        }
+        if (e instanceof IOException) {
+            if (e.getMessage() != null && e.getMessage().contains("Auth")) {
+                return new SshConnectionException(ErrorCode.AUTH_FAILED, e);
             }
-            throw new SshConnectionException(ErrorCode.NETWORK_ERROR, e);
+            return new SshConnectionException(ErrorCode.NETWORK_ERROR, e);
+        }
+        if (e instanceof GeneralSecurityException) {
+            return new SshConnectionException(ErrorCode.AUTH_FAILED, "Invalid private key format");
         }
+        if (e.getMessage() != null && e.getMessage().contains("timeout")) {
+            return new SshConnectionException(ErrorCode.TIMEOUT, e);
+        }
+        return new SshConnectionException(ErrorCode.NETWORK_ERROR, e);
     }
 
     @Override
@@ -137,27 +280,6 @@ public class SshConnectionServiceImpl implements SshConnectionService {
         }
     }
 
-    private String safeExecuteCommand(ClientSession session, String command) {
-        try {
-            return executeCommand(session, command, commandTimeout / 1000).trim();
-        } catch (Exception e) {
-            log.warn("Failed to execute command '{}': {}", command, e.getMessage());
-            return "N/A";
-        }
-    }
-
-    private KeyPair loadKeyPair(String privateKeyPem) throws GeneralSecurityException, IOException {
-        try (java.io.ByteArrayInputStream inputStream = new java.io.ByteArrayInputStream(
-                privateKeyPem.getBytes(StandardCharsets.UTF_8))) {
-            Iterable<KeyPair> keyPairs = org.apache.sshd.common.util.security.SecurityUtils
-                .loadKeyPairIdentities(null, null, inputStream, null);
-            for (KeyPair kp : keyPairs) {
-                return kp;
-            }
-        }
-        throw new GeneralSecurityException("No valid key pair found in PEM data");
-    }
-
     private String parseUptime(String uptimeOutput) {
         if ("N/A".equals(uptimeOutput) || uptimeOutput.isEmpty()) {
             return "N/A";
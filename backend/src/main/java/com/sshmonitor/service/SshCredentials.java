@@ -0,0 +1,36 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.SshConnectionRequest;
+import com.sshmonitor.dto.TerminalConnectRequest;
+
+/**
+ * SSH 접속 대상과 인증 정보 (공유 세션 조회 키 계산용)
+ */
+public record SshCredentials(
+    String username,
+    String host,
+    int port,
+    String authType,
+    String password,
+    String privateKey
+) {
+    public static SshCredentials of(TerminalConnectRequest request) {
+        return new SshCredentials(request.username(), request.host(), request.port(),
+            request.authType(), request.password(), request.privateKey());
+    }
+
+    public static SshCredentials of(SshConnectionRequest request) {
+        return new SshCredentials(request.username(), request.host(), request.port(),
+            request.authType(), request.password(), request.privateKey());
+    }
+
+    public String target() {
+        return username + "@" + host + ":" + port;
+    }
+
+    // 비밀번호/개인키가 로그에 남지 않도록 대상만 출력
+    @Override
+    public String toString() {
+        return target() + " (" + authType + ")";
+    }
+}
@@ -0,0 +1,65 @@
+package com.sshmonitor.service;
+
+import org.apache.sshd.common.Closeable;
+import org.apache.sshd.common.SshException;
+import org.apache.sshd.common.future.SshFuture;
+import org.apache.sshd.common.future.VerifiableFuture;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * MINA SSHD future 대기 유틸리티.
+ * SshFuture.verify()/waitFor()는 내부적으로 synchronized + Object.wait()로 대기하므로
+ * 가상 스레드에서 호출하면 캐리어 스레드가 고정(pinning)된다.
+ * 완료 리스너를 CompletableFuture로 연결해 park 기반으로 대기한 뒤, 이미 완료된 future를 verify 한다.
+ */
+final class SshFutures {
+
+    private SshFutures() {
+    }
+
+    static <T extends SshFuture<T> & VerifiableFuture<T>> T await(T future, Duration timeout) throws IOException {
+        if (!future.isDone()) {
+            CompletableFuture<T> completion = new CompletableFuture<>();
+            future.addListener(completion::complete);
+            waitFor(completion, timeout);
+        }
+        return future.verify(Duration.ZERO);
+    }
+
+    /**
+     * 채널/세션이 닫힐 때까지 대기. 타임아웃 내에 닫히면 true
+     */
+    static boolean awaitClosed(Closeable closeable, Duration timeout) throws IOException {
+        if (closeable.isClosed()) {
+            return true;
+        }
+        CompletableFuture<Void> closed = new CompletableFuture<>();
+        closeable.addCloseFutureListener(future -> closed.complete(null));
+        try {
+            waitFor(closed, timeout);
+            return true;
+        } catch (SshException e) {
+            return false;
+        }
+    }
+
+    private static void waitFor(CompletableFuture<?> completion, Duration timeout) throws IOException {
+        try {
+            completion.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for SSH operation");
+        } catch (TimeoutException e) {
+            throw new SshException("SSH operation timeout after " + timeout.toMillis() + "ms");
+        } catch (ExecutionException e) {
+            throw new SshException(e.getCause());
+        }
+    }
+}
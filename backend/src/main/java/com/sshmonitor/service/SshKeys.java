@@ -0,0 +1,29 @@
+package com.sshmonitor.service;
+
+import org.apache.sshd.common.util.security.SecurityUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+
+/**
+ * 개인 키(PEM / OpenSSH 형식) 파싱
+ */
+final class SshKeys {
+
+    private SshKeys() {
+    }
+
+    static KeyPair loadKeyPair(String privateKeyPem) throws GeneralSecurityException, IOException {
+        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(
+                privateKeyPem.getBytes(StandardCharsets.UTF_8))) {
+            Iterable<KeyPair> keyPairs = SecurityUtils.loadKeyPairIdentities(null, null, inputStream, null);
+            for (KeyPair kp : keyPairs) {
+                return kp;
+            }
+        }
+        throw new GeneralSecurityException("No valid key pair found in PEM data");
+    }
+}
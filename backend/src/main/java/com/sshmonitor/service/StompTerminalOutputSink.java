@@ -0,0 +1,55 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.config.StompOutboundTracker;
+import com.sshmonitor.dto.TerminalMessage;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 기존 STOMP/JSON 프로토콜: /topic/terminal/{sessionId} 로 TerminalMessage 전송
+ */
+class StompTerminalOutputSink implements TerminalOutputSink {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StompOutboundTracker outboundTracker;
+
+    StompTerminalOutputSink(SimpMessagingTemplate messagingTemplate, StompOutboundTracker outboundTracker) {
+        this.messagingTemplate = messagingTemplate;
+        this.outboundTracker = outboundTracker;
+    }
+
+    @Override
+    public void sendOutput(String sessionId, byte[] data, int offset, int length) {
+        publish(sessionId, TerminalMessage.output(sessionId, new String(data, offset, length, StandardCharsets.UTF_8)), length);
+    }
+
+    @Override
+    public void sendOutput(String sessionId, byte[] data, int offset, int length, long endOffset) {
+        publish(sessionId, TerminalMessage.output(sessionId, new String(data, offset, length, StandardCharsets.UTF_8), endOffset), length);
+    }
+
+    @Override
+    public void sendMessage(String sessionId, TerminalMessage message) {
+        publish(sessionId, message, 0);
+    }
+
+    @Override
+    public long getPendingBytes(String sessionId) {
+        return outboundTracker.getPendingBytes(sessionId);
+    }
+
+    /**
+     * 발행 전에 미전송 바이트로 집계 (제어 메시지도 0 바이트로 등록해 토픽 메시지와 1:1 로 정산)
+     */
+    private void publish(String sessionId, TerminalMessage message, long bytes) {
+        MessageHeaders headers = outboundTracker.track(sessionId, bytes);
+        try {
+            messagingTemplate.convertAndSend("/topic/terminal/" + sessionId, message, headers);
+        } catch (RuntimeException e) {
+            outboundTracker.untrack(headers);
+            throw e;
+        }
+    }
+}
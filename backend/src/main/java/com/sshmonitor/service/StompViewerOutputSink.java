@@ -0,0 +1,58 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.config.StompOutboundTracker;
+import com.sshmonitor.dto.TerminalMessage;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * viewer 전용 STOMP 토픽: /topic/terminal/{sessionId}/viewer/{viewerId}
+ * 소유자 토픽과 분리되어 있어 viewer 의 미전송 바이트가 소유자의 흐름 제어에 합산되지 않는다.
+ */
+class StompViewerOutputSink implements TerminalOutputSink {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StompOutboundTracker outboundTracker;
+    private final String viewerId;
+
+    StompViewerOutputSink(SimpMessagingTemplate messagingTemplate, StompOutboundTracker outboundTracker, String viewerId) {
+        this.messagingTemplate = messagingTemplate;
+        this.outboundTracker = outboundTracker;
+        this.viewerId = viewerId;
+    }
+
+    @Override
+    public void sendOutput(String sessionId, byte[] data, int offset, int length) {
+        publish(sessionId, TerminalMessage.output(sessionId, new String(data, offset, length, StandardCharsets.UTF_8)), length);
+    }
+
+    @Override
+    public void sendOutput(String sessionId, byte[] data, int offset, int length, long endOffset) {
+        publish(sessionId, TerminalMessage.output(sessionId, new String(data, offset, length, StandardCharsets.UTF_8), endOffset), length);
+    }
+
+    @Override
+    public void sendMessage(String sessionId, TerminalMessage message) {
+        publish(sessionId, message, 0);
+    }
+
+    @Override
+    public long getPendingBytes(String sessionId) {
+        return outboundTracker.getViewerPendingBytes(sessionId, viewerId);
+    }
+
+    /**
+     * 발행 전에 미전송 바이트로 집계 (제어 메시지도 0 바이트로 등록해 토픽 메시지와 1:1 로 정산)
+     */
+    private void publish(String sessionId, TerminalMessage message, long bytes) {
+        MessageHeaders headers = outboundTracker.trackViewer(sessionId, viewerId, bytes);
+        try {
+            messagingTemplate.convertAndSend(StompOutboundTracker.viewerDestination(sessionId, viewerId), message, headers);
+        } catch (RuntimeException e) {
+            outboundTracker.untrack(headers);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.TerminalMessage;
+import com.sshmonitor.dto.TerminalSessionStatsResponse.FlowControlStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 세션별 출력 흐름 제어.
+ * 출력 대상에 쌓인 미전송 바이트가 high-watermark를 넘으면 지연 상태가 되고 low-watermark 이하로 내려가면 해제된다.
+ * <ul>
+ *   <li>pause: 지연 중에는 SSH 채널 읽기를 멈춘다. 채널 윈도우가 닫혀 원격 프로세스가 블록된다.</li>
+ *   <li>drop: 채널은 계속 읽되 마지막 drop-tail-bytes만 보관하고, 해제 시 보관한 최신 출력만 전송한다.</li>
+ * </ul>
+ */
+class TerminalFlowController {
+
+    static final String POLICY_PAUSE = "pause";
+    static final String POLICY_DROP = "drop";
+
+    private final String sessionId;
+    private final TerminalOutputSink outputSink;
+    private final TerminalOutputCoalescer downstream;
+    private final boolean enabled;
+    private final boolean dropPolicy;
+    private final long highWatermark;
+    private final long lowWatermark;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean throttled;
+    private long throttledSinceNanos;
+
+    // drop 정책에서 지연 중 보관하는 최신 출력 (원형 버퍼)
+    private final byte[] tail;
+    private int tailStart;
+    private int tailLength;
+    private long droppedSinceThrottle;
+
+    private final AtomicLong maxPendingBytes = new AtomicLong();
+    private final LongAdder pauseCount = new LongAdder();
+    private final LongAdder pausedNanos = new LongAdder();
+    private final LongAdder droppedBytes = new LongAdder();
+    private final LongAdder dropEvents = new LongAdder();
+
+    TerminalFlowController(String sessionId, TerminalOutputSink outputSink, TerminalOutputCoalescer downstream,
+                           boolean enabled, String policy, long highWatermark, long lowWatermark, int dropTailBytes) {
+        this.sessionId = sessionId;
+        this.outputSink = outputSink;
+        this.downstream = downstream;
+        this.enabled = enabled;
+        this.dropPolicy = POLICY_DROP.equalsIgnoreCase(policy);
+        this.highWatermark = highWatermark;
+        this.lowWatermark = Math.min(lowWatermark, highWatermark);
+        this.tail = dropPolicy ? new byte[Math.max(dropTailBytes, 1)] : new byte[0];
+    }
+
+    /**
+     * 채널에서 읽은 출력을 전달. drop 정책에서 클라이언트가 지연 중이면 tail에만 보관한다.
+     */
+    void accept(byte[] data, int offset, int length) {
+        if (!dropPolicy) {
+            downstream.accept(data, offset, length);
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (updateThrottled()) {
+                retain(data, offset, length);
+            } else {
+                downstream.accept(data, offset, length);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * pause 정책에서 다음 채널 읽기를 보류해야 하는지 확인
+     */
+    boolean shouldPauseReading() {
+        if (dropPolicy) {
+            return false;
+        }
+        lock.lock();
+        try {
+            return updateThrottled();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isThrottled() {
+        return throttled;
+    }
+
+    /**
+     * 미전송 바이트가 low-watermark 이하로 내려갔으면 지연 상태를 해제한다.
+     * drop 정책이면 보관해 둔 최신 출력을 먼저 전송한다. 해제되면 true.
+     */
+    boolean tryRelease() {
+        lock.lock();
+        try {
+            if (!throttled) {
+                return true;
+            }
+            if (outputSink.getPendingBytes(sessionId) > lowWatermark) {
+                return false;
+            }
+
+            throttled = false;
+            pausedNanos.add(System.nanoTime() - throttledSinceNanos);
+            if (dropPolicy && droppedSinceThrottle > 0) {
+                flushRetainedTail();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    FlowControlStats getStats() {
+        long paused = pausedNanos.sum();
+        if (throttled) {
+            paused += System.nanoTime() - throttledSinceNanos;
+        }
+        return new FlowControlStats(
+            !enabled ? "off" : dropPolicy ? POLICY_DROP : POLICY_PAUSE,
+            outputSink.getPendingBytes(sessionId),
+            maxPendingBytes.get(),
+            throttled,
+            pauseCount.sum(),
+            paused / 1_000_000,
+            droppedBytes.sum(),
+            dropEvents.sum()
+        );
+    }
+
+    private boolean updateThrottled() {
+        if (!enabled) {
+            return false;
+        }
+
+        long pending = outputSink.getPendingBytes(sessionId);
+        maxPendingBytes.accumulateAndGet(pending, Math::max);
+        if (!throttled && pending >= highWatermark) {
+            throttled = true;
+            throttledSinceNanos = System.nanoTime();
+            droppedSinceThrottle = 0;
+            pauseCount.increment();
+        }
+        return throttled;
+    }
+
+    private void retain(byte[] data, int offset, int length) {
+        droppedSinceThrottle += length;
+        int capacity = tail.length;
+        if (length >= capacity) {
+            System.arraycopy(data, offset + length - capacity, tail, 0, capacity);
+            tailStart = 0;
+            tailLength = capacity;
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            tail[(tailStart + tailLength) % capacity] = data[offset + i];
+            if (tailLength < capacity) {
+                tailLength++;
+            } else {
+                tailStart = (tailStart + 1) % capacity;
+            }
+        }
+    }
+
+    private void flushRetainedTail() {
+        byte[] retained = new byte[tailLength];
+        for (int i = 0; i < tailLength; i++) {
+            retained[i] = tail[(tailStart + i) % tail.length];
+        }
+
+        // 잘린 줄/멀티바이트 문자 중간부터 시작하지 않도록 첫 줄바꿈 다음부터 전송
+        int start = 0;
+        if (droppedSinceThrottle > tailLength) {
+            for (int i = 0; i < retained.length; i++) {
+                if (retained[i] == '\n') {
+                    start = i + 1;
+                    break;
+                }
+            }
+        }
+
+        long skipped = droppedSinceThrottle - (retained.length - start);
+        droppedBytes.add(skipped);
+        dropEvents.increment();
+        tailStart = 0;
+        tailLength = 0;
+        droppedSinceThrottle = 0;
+
+        downstream.flush();
+        outputSink.sendMessage(sessionId, TerminalMessage.status(sessionId, "output_dropped",
+            "Skipped " + skipped + " bytes while client was behind"));
+        downstream.accept(retained, start, retained.length - start);
+    }
+}
@@ -0,0 +1,296 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.TerminalSessionStatsResponse.InputStats;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 세션별 입력 파이프라인.
+ * 입력 메시지는 큐에 넣고 바로 반환하며(STOMP inbound 스레드를 막지 않음), 채널 쓰기는 한 번에 하나씩 비동기로 진행한다.
+ * 쓰기가 진행되는 동안 쌓인 연속 입력(빠른 타이핑)은 다음 쓰기 한 번으로 합치고,
+ * 큰 붙여넣기는 원격 윈도우 크기(maxChunkBytes 이하) 단위로 나눠 보낸다.
+ * 아직 쓰지 못한 입력이 maxPendingBytes 를 넘게 되는 메시지는 거부한다.
+ */
+class TerminalInputPipeline {
+
+    @FunctionalInterface
+    interface ChunkWriter {
+        /**
+         * chunk 쓰기를 시작하고 완료되면 done 호출 (성공 시 null, 실패 시 예외). 호출 스레드를 막지 않아야 한다
+         */
+        void write(byte[] chunk, Consumer<Throwable> done) throws IOException;
+    }
+
+    private static final int WRITING = 0;
+    private static final int RETURNED = 1;
+    private static final int COMPLETED = 2;
+
+    private final ChunkWriter writer;
+    private final LongSupplier remoteWindow;
+    private final int minChunkBytes;
+    private final int maxChunkBytes;
+    private final long maxPendingBytes;
+    private final LongConsumer dispatched;
+    private final Consumer<Throwable> failed;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Segment> queue = new ArrayDeque<>();
+    // 큐 맨 앞 메시지 중 이미 쓴 바이트 수 (붙여넣기를 나눠 쓰는 중)
+    private int headOffset;
+    private long pendingBytes;
+    private boolean writing;
+    private boolean closed;
+
+    private long framesIn;
+    private long chunksOut;
+    private long bytesOut;
+    private long mergedWrites;
+    private long splitFrames;
+    private long maxObservedPendingBytes;
+    private long rejectedFrames;
+    private long rejectedBytes;
+    private long writeFailures;
+
+    /**
+     * @param remoteWindow  현재 원격 윈도우 크기 (청크 크기 결정)
+     * @param minChunkBytes 윈도우가 이보다 작아도 이 크기까지는 한 번에 씀 (원격 최대 패킷 크기, 윈도우가 열리면 MINA 가 이어서 전송)
+     * @param dispatched    측정 중인 입력(token != 0)이 채널 쓰기에 넘겨질 때 호출
+     * @param failed        채널 쓰기 실패 시 호출 (남은 입력은 버림)
+     */
+    TerminalInputPipeline(ChunkWriter writer, LongSupplier remoteWindow, int minChunkBytes, int maxChunkBytes,
+                          long maxPendingBytes, LongConsumer dispatched, Consumer<Throwable> failed) {
+        this.writer = writer;
+        this.remoteWindow = remoteWindow;
+        this.maxChunkBytes = Math.max(1, maxChunkBytes);
+        this.minChunkBytes = Math.max(1, Math.min(minChunkBytes, this.maxChunkBytes));
+        this.maxPendingBytes = maxPendingBytes;
+        this.dispatched = dispatched;
+        this.failed = failed;
+    }
+
+    boolean submit(byte[] data, long token) {
+        return submit(data, token, null);
+    }
+
+    /**
+     * @param token   지연 시간 측정 중인 입력의 수신 시각 (0 = 측정 안 함)
+     * @param written 메시지의 마지막 바이트까지 채널에 쓰이면 호출 (실패, 세션 종료 시 예외 전달). I/O 스레드에서 호출될 수 있음
+     * @return 대기 입력 한도를 넘거나 닫힌 파이프라인이면 false (메시지 전체를 버리고 written 은 호출하지 않음)
+     */
+    boolean submit(byte[] data, long token, Consumer<Throwable> written) {
+        if (data.length == 0) {
+            if (written != null) {
+                written.accept(null);
+            }
+            return true;
+        }
+
+        lock.lock();
+        try {
+            if (closed || pendingBytes + data.length > maxPendingBytes) {
+                rejectedFrames++;
+                rejectedBytes += data.length;
+                return false;
+            }
+            queue.add(new Segment(data, token, written));
+            pendingBytes += data.length;
+            framesIn++;
+            maxObservedPendingBytes = Math.max(maxObservedPendingBytes, pendingBytes);
+            if (writing) {
+                // 진행 중인 쓰기가 끝나면 함께 전송
+                return true;
+            }
+            writing = true;
+        } finally {
+            lock.unlock();
+        }
+        drain();
+        return true;
+    }
+
+    /**
+     * 남은 입력을 버리고 이후 입력은 거부한다 (세션 종료 시 호출)
+     */
+    void close() {
+        List<Consumer<Throwable>> dropped;
+        lock.lock();
+        try {
+            closed = true;
+            dropped = clearLocked();
+        } finally {
+            lock.unlock();
+        }
+        notifyWritten(dropped, new IOException("Session closed"));
+    }
+
+    InputStats getStats() {
+        lock.lock();
+        try {
+            return new InputStats(
+                framesIn,
+                chunksOut,
+                mergedWrites,
+                splitFrames,
+                bytesOut,
+                pendingBytes,
+                maxObservedPendingBytes,
+                rejectedFrames,
+                rejectedBytes,
+                writeFailures
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 큐가 빌 때까지 청크 단위로 쓴다.
+     * 쓰기가 호출 안에서 바로 완료되면 같은 루프에서 다음 청크를 쓰고 (콜백 재귀 없음),
+     * 나중에 완료되면 완료 콜백에서 이어서 진행한다.
+     */
+    private void drain() {
+        while (true) {
+            Chunk chunk = nextChunk();
+            if (chunk == null) {
+                return;
+            }
+            for (long token : chunk.tokens()) {
+                dispatched.accept(token);
+            }
+
+            AtomicInteger state = new AtomicInteger(WRITING);
+            try {
+                writer.write(chunk.data(), error -> {
+                    notifyWritten(chunk.completed(), error);
+                    if (error != null) {
+                        fail(error);
+                    } else if (!state.compareAndSet(WRITING, COMPLETED)) {
+                        // write() 가 반환된 뒤 완료: 다음 청크 진행
+                        drain();
+                    }
+                });
+            } catch (IOException | RuntimeException e) {
+                notifyWritten(chunk.completed(), e);
+                fail(e);
+                return;
+            }
+            if (state.compareAndSet(WRITING, RETURNED)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 쓸 입력이 없으면 null (쓰기 중 상태 해제)
+     */
+    private Chunk nextChunk() {
+        lock.lock();
+        try {
+            if (closed || queue.isEmpty()) {
+                writing = false;
+                return null;
+            }
+
+            int size = (int) Math.min(pendingBytes, chunkLimit());
+            byte[] data = new byte[size];
+            long[] tokens = new long[queue.size()];
+            int tokenCount = 0;
+            List<Consumer<Throwable>> completed = null;
+            int frames = 0;
+            int filled = 0;
+            while (filled < size) {
+                Segment head = queue.peek();
+                if (headOffset == 0) {
+                    frames++;
+                    if (head.token() != 0) {
+                        tokens[tokenCount++] = head.token();
+                    }
+                }
+                int length = Math.min(size - filled, head.data().length - headOffset);
+                System.arraycopy(head.data(), headOffset, data, filled, length);
+                filled += length;
+                headOffset += length;
+                if (headOffset == head.data().length) {
+                    queue.poll();
+                    headOffset = 0;
+                    if (head.written() != null) {
+                        if (completed == null) {
+                            completed = new ArrayList<>();
+                        }
+                        completed.add(head.written());
+                    }
+                } else if (headOffset == length) {
+                    // 이 메시지는 여러 청크로 나뉨
+                    splitFrames++;
+                }
+            }
+
+            pendingBytes -= size;
+            chunksOut++;
+            bytesOut += size;
+            if (frames > 1) {
+                mergedWrites++;
+            }
+            return new Chunk(data, tokenCount == tokens.length ? tokens : Arrays.copyOf(tokens, tokenCount),
+                completed != null ? completed : List.of());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long chunkLimit() {
+        return Math.max(minChunkBytes, Math.min(remoteWindow.getAsLong(), maxChunkBytes));
+    }
+
+    private void fail(Throwable error) {
+        List<Consumer<Throwable>> dropped;
+        lock.lock();
+        try {
+            writeFailures++;
+            dropped = clearLocked();
+            writing = false;
+        } finally {
+            lock.unlock();
+        }
+        notifyWritten(dropped, error);
+        failed.accept(error);
+    }
+
+    /**
+     * 대기 중인 입력을 버리고, 완료 통지를 기다리던 메시지의 콜백 목록 반환 (락 밖에서 호출)
+     */
+    private List<Consumer<Throwable>> clearLocked() {
+        List<Consumer<Throwable>> dropped = new ArrayList<>();
+        for (Segment segment : queue) {
+            if (segment.written() != null) {
+                dropped.add(segment.written());
+            }
+        }
+        queue.clear();
+        headOffset = 0;
+        pendingBytes = 0;
+        return dropped;
+    }
+
+    private static void notifyWritten(List<Consumer<Throwable>> callbacks, Throwable error) {
+        for (Consumer<Throwable> callback : callbacks) {
+            callback.accept(error);
+        }
+    }
+
+    private record Segment(byte[] data, long token, Consumer<Throwable> written) {}
+
+    /**
+     * @param completed 이 청크로 마지막 바이트까지 쓰이는 메시지의 완료 콜백
+     */
+    private record Chunk(byte[] data, long[] tokens, List<Consumer<Throwable>> completed) {}
+}
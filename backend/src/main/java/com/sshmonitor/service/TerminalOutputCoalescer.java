@@ -0,0 +1,217 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.TerminalSessionStatsResponse.CoalescingStats;
+
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 세션별 출력 병합기.
+ * 입력이 한동안 없던 상태에서 들어온 출력(타이핑 에코)은 즉시 전송하고,
+ * 연속 출력(cat, tail -f 등)은 시간 창(window) 또는 바이트 예산(max-bytes)에 도달할 때까지 모아서 한 프레임으로 보낸다.
+ * UTF-8 멀티바이트 문자가 청크 경계에서 잘린 경우 남은 바이트는 다음 프레임으로 넘긴다.
+ */
+class TerminalOutputCoalescer {
+
+    @FunctionalInterface
+    interface FlushHandler {
+        void onFlush(byte[] data, int offset, int length);
+    }
+
+    private final FlushHandler handler;
+    private final ScheduledExecutorService scheduler;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private byte[] buffer;
+    private int length;
+    private long lastFlushNanos;
+    private ScheduledFuture<?> pendingFlush;
+    private boolean closed;
+
+    private final LongAdder chunksIn = new LongAdder();
+    private final LongAdder framesOut = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder immediateFlushes = new LongAdder();
+    private final LongAdder timerFlushes = new LongAdder();
+    private final LongAdder sizeFlushes = new LongAdder();
+
+    TerminalOutputCoalescer(FlushHandler handler, ScheduledExecutorService scheduler,
+                            boolean enabled, long windowMillis, int maxBytes) {
+        this.handler = handler;
+        this.scheduler = scheduler;
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBytes = maxBytes;
+        this.buffer = new byte[Math.max(maxBytes, 1024)];
+        this.lastFlushNanos = System.nanoTime() - windowNanos;
+    }
+
+    void accept(byte[] data, int offset, int len) {
+        if (len <= 0) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+
+            chunksIn.increment();
+            long now = System.nanoTime();
+            boolean idle = length == 0 && now - lastFlushNanos >= windowNanos;
+            append(data, offset, len);
+
+            if (!enabled || idle) {
+                immediateFlushes.increment();
+                flushLocked(now, false);
+            } else if (length >= maxBytes) {
+                sizeFlushes.increment();
+                flushLocked(now, false);
+            } else if (pendingFlush == null) {
+                pendingFlush = scheduler.schedule(this::flushOnTimer, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기 중인 출력을 즉시 전송 (제어 메시지보다 먼저 도착해야 하는 경우)
+     */
+    void flush() {
+        lock.lock();
+        try {
+            if (!closed && length > 0) {
+                flushLocked(System.nanoTime(), false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기 중인 출력을 전송한 뒤 같은 락 안에서 action 실행 (그 사이 새 출력이 끼어들지 않음)
+     */
+    void flushAndRun(Runnable action) {
+        lock.lock();
+        try {
+            if (!closed && length > 0) {
+                flushLocked(System.nanoTime(), false);
+            }
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 남은 출력을 모두 내보내고 이후 입력은 무시한다 (스트림 종료 시 호출)
+     */
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (length > 0) {
+                flushLocked(System.nanoTime(), true);
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    CoalescingStats getStats() {
+        long chunks = chunksIn.sum();
+        long frames = framesOut.sum();
+        return new CoalescingStats(
+            chunks,
+            frames,
+            Math.max(0, chunks - frames),
+            bytesOut.sum(),
+            immediateFlushes.sum(),
+            timerFlushes.sum(),
+            sizeFlushes.sum()
+        );
+    }
+
+    private void flushOnTimer() {
+        lock.lock();
+        try {
+            pendingFlush = null;
+            if (!closed && length > 0) {
+                timerFlushes.increment();
+                flushLocked(System.nanoTime(), false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLocked(long now, boolean force) {
+        if (pendingFlush != null) {
+            pendingFlush.cancel(false);
+            pendingFlush = null;
+        }
+
+        int complete = force ? length : completeUtf8Length(buffer, length);
+        if (complete == 0) {
+            return;
+        }
+
+        handler.onFlush(buffer, 0, complete);
+        framesOut.increment();
+        bytesOut.add(complete);
+        lastFlushNanos = now;
+
+        int remaining = length - complete;
+        if (remaining > 0) {
+            System.arraycopy(buffer, complete, buffer, 0, remaining);
+        }
+        length = remaining;
+    }
+
+    private void append(byte[] data, int offset, int len) {
+        if (length + len > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + len));
+        }
+        System.arraycopy(data, offset, buffer, length, len);
+        length += len;
+    }
+
+    /**
+     * 끝부분이 불완전한 UTF-8 시퀀스라면 그 직전까지의 길이를 반환
+     */
+    static int completeUtf8Length(byte[] data, int length) {
+        int limit = Math.max(0, length - 4);
+        for (int i = length - 1; i >= limit; i--) {
+            int b = data[i] & 0xFF;
+            if ((b & 0xC0) == 0x80) {
+                continue; // continuation byte
+            }
+            int expected;
+            if (b < 0x80) {
+                expected = 1;
+            } else if ((b & 0xE0) == 0xC0) {
+                expected = 2;
+            } else if ((b & 0xF0) == 0xE0) {
+                expected = 3;
+            } else if ((b & 0xF8) == 0xF0) {
+                expected = 4;
+            } else {
+                return length; // 잘못된 바이트는 디코더의 대체 문자 처리에 맡김
+            }
+            return i + expected > length ? i : length;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,34 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.TerminalMessage;
+
+/**
+ * 터미널 세션 출력 전송 대상 (STOMP 토픽 또는 바이너리 WebSocket)
+ */
+public interface TerminalOutputSink {
+
+    /**
+     * SSH 채널에서 읽은 원본 바이트를 전송합니다.
+     */
+    void sendOutput(String sessionId, byte[] data, int offset, int length);
+
+    /**
+     * 출력 누적 위치(endOffset = 이 청크까지 전송한 바이트 수)와 함께 전송합니다.
+     * 바이너리 프로토콜은 클라이언트가 payload 길이로 직접 계산하므로 위치를 싣지 않습니다.
+     */
+    default void sendOutput(String sessionId, byte[] data, int offset, int length, long endOffset) {
+        sendOutput(sessionId, data, offset, length);
+    }
+
+    /**
+     * 상태/오류 등 제어 메시지를 전송합니다.
+     */
+    void sendMessage(String sessionId, TerminalMessage message);
+
+    /**
+     * 클라이언트로 아직 전달되지 않은 출력 바이트 수 (흐름 제어 기준)
+     */
+    default long getPendingBytes(String sessionId) {
+        return 0;
+    }
+}
@@ -0,0 +1,186 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.TerminalSessionStatsResponse.ScrollbackStats;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 세션별 출력 기록 (off-heap 링 버퍼).
+ * 공유 풀에서 빌린 direct ByteBuffer 세그먼트를 순서대로 채우고, 세션 한도 또는 전역 한도에 도달하면
+ * 가장 오래된 세그먼트를 비워서 다시 쓴다.
+ * 오프셋은 세션 시작부터 누적된 절대 바이트 위치 (클라이언트로 전송한 출력 기준)
+ */
+class TerminalScrollbackBuffer {
+
+    record Chunk(long offset, byte[] data) {
+        long endOffset() {
+            return offset + data.length;
+        }
+    }
+
+    private final ScrollbackSegmentPool pool;
+    private final int maxSegments;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // 오래된 순서, 마지막 세그먼트가 현재 쓰기 위치
+    private final Deque<ByteBuffer> segments = new ArrayDeque<>();
+    private long startOffset;
+    private long endOffset;
+    private boolean closed;
+
+    TerminalScrollbackBuffer(ScrollbackSegmentPool pool, long maxBytes) {
+        this.pool = pool;
+        // maxBytes = 0 이면 기록 없이 오프셋만 관리
+        this.maxSegments = (int) (maxBytes / pool.getSegmentSize());
+    }
+
+    /**
+     * @return 기록 후의 누적 오프셋
+     */
+    long append(byte[] data, int offset, int length) {
+        lock.lock();
+        try {
+            if (closed) {
+                return endOffset;
+            }
+
+            while (length > 0) {
+                ByteBuffer tail = segments.peekLast();
+                if (tail == null || !tail.hasRemaining()) {
+                    tail = nextSegment();
+                    if (tail == null) {
+                        // 세그먼트를 하나도 확보하지 못함: 기록 없이 오프셋만 전진
+                        endOffset += length;
+                        startOffset = endOffset;
+                        return endOffset;
+                    }
+                }
+
+                int n = Math.min(length, tail.remaining());
+                tail.put(data, offset, n);
+                offset += n;
+                length -= n;
+                endOffset += n;
+            }
+            return endOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 마지막 maxBytes 바이트 (앞부분의 잘린 UTF-8 문자는 제외)
+     */
+    Chunk tail(int maxBytes) {
+        lock.lock();
+        try {
+            long from = Math.max(startOffset, endOffset - Math.max(0, maxBytes));
+            return skipUtf8Continuation(copyRange(from, endOffset));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * offset 이후의 출력. 이미 덮어쓴 구간은 보관 중인 가장 오래된 위치부터 반환
+     */
+    Chunk readFrom(long offset) {
+        lock.lock();
+        try {
+            long from = Math.min(Math.max(startOffset, offset), endOffset);
+            return copyRange(from, endOffset);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getEndOffset() {
+        lock.lock();
+        try {
+            return endOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 세그먼트를 풀에 반환 (세션 종료 시 호출)
+     */
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            ByteBuffer segment;
+            while ((segment = segments.pollFirst()) != null) {
+                pool.release(segment);
+            }
+            startOffset = endOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    ScrollbackStats getStats() {
+        lock.lock();
+        try {
+            return new ScrollbackStats(
+                (long) maxSegments * pool.getSegmentSize(),
+                endOffset - startOffset,
+                (long) segments.size() * pool.getSegmentSize(),
+                startOffset,
+                endOffset
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ByteBuffer nextSegment() {
+        ByteBuffer segment = segments.size() < maxSegments ? pool.acquire() : null;
+        if (segment == null) {
+            // 세션 한도 또는 전역 한도 도달: 가장 오래된 세그먼트를 재사용
+            segment = segments.pollFirst();
+            if (segment == null) {
+                return null;
+            }
+            startOffset += segment.position();
+            segment.clear();
+        }
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private Chunk copyRange(long from, long to) {
+        byte[] result = new byte[(int) (to - from)];
+        long segmentStart = startOffset;
+        int written = 0;
+
+        for (ByteBuffer segment : segments) {
+            long segmentEnd = segmentStart + segment.position();
+            if (segmentEnd > from && written < result.length) {
+                int index = (int) Math.max(0, from - segmentStart);
+                int n = (int) Math.min(segmentEnd - segmentStart - index, result.length - written);
+                segment.get(index, result, written, n);
+                written += n;
+            }
+            segmentStart = segmentEnd;
+        }
+        return new Chunk(from, result);
+    }
+
+    private static Chunk skipUtf8Continuation(Chunk chunk) {
+        byte[] data = chunk.data();
+        int skip = 0;
+        while (skip < Math.min(3, data.length) && (data[skip] & 0xC0) == 0x80) {
+            skip++;
+        }
+        return skip == 0 ? chunk : new Chunk(chunk.offset() + skip, Arrays.copyOfRange(data, skip, data.length));
+    }
+}
@@ -2,12 +2,43 @@ package com.sshmonitor.service;
 
 import com.sshmonitor.dto.*;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
 public interface TerminalSessionService {
 
     TerminalMessage connect(TerminalConnectRequest request);
 
+    /**
+     * 지정한 출력 대상(바이너리 WebSocket 등)으로 세션 출력을 보내는 연결
+     */
+    TerminalMessage connect(TerminalConnectRequest request, TerminalOutputSink outputSink);
+
     void handleInput(TerminalInputRequest request);
 
+    /**
+     * 디코딩 없이 원본 바이트를 그대로 채널에 기록
+     *
+     * @return 세션이 없으면 false (오류 응답은 호출자가 자기 연결로 전송)
+     */
+    boolean handleInput(String sessionId, byte[] data);
+
+    /**
+     * 브로드캐스트 그룹의 모든 세션에 같은 입력을 기록 (세션별로 독립 진행, 한 세션의 실패나 지연이 다른 세션에 영향 없음)
+     * 구성원별 전달 결과가 모이면 완료되며, report-timeout-ms 안에 쓰이지 않은 구성원은 timeout 으로 보고한다
+     *
+     * @param connectionId 요청한 WebSocket 연결 (그룹은 연결마다 따로 관리)
+     * @param writable     요청한 연결이 입력할 수 있는 세션인지 (아닌 구성원은 그룹에 넣지 않고 forbidden 으로 보고)
+     */
+    CompletableFuture<TerminalBroadcastResponse> broadcastInput(TerminalBroadcastRequest request, String connectionId,
+                                                                Predicate<String> writable);
+
+    /**
+     * WebSocket 연결이 끊기면 그 연결의 브로드캐스트 그룹 삭제
+     */
+    void removeBroadcastGroups(String connectionId);
+
     TerminalMessage disconnect(TerminalDisconnectRequest request);
 
     TerminalMessage resize(TerminalResizeRequest request);
@@ -20,5 +51,79 @@ public interface TerminalSessionService {
 
     String getCurrentDirectory(String sessionId);
 
+    /**
+     * 대용량 디렉토리 스트리밍 조회. 결과는 /topic/terminal/{sessionId}/directory/page 로 페이지 단위 전송
+     */
+    void streamDirectory(DirectoryStreamRequest request);
+
+    /**
+     * 스트리밍 조회 결과의 특정 페이지 요청 (정렬 조회는 완료 후 나머지 페이지를 이 요청으로 받는다)
+     */
+    void requestDirectoryPage(DirectoryPageRequest request);
+
+    void cancelDirectoryStream(DirectoryStreamCancelRequest request);
+
     TerminalMessage handlePing(String sessionId);
+
+    /**
+     * 스크롤백에 보관된 최근 출력 (새로 마운트된 패널 복원용)
+     */
+    TerminalMessage replay(TerminalReplayRequest request);
+
+    /**
+     * 스크롤백의 마지막 maxBytes 원본 바이트. 세션이 없으면 null
+     */
+    byte[] getScrollback(String sessionId, int maxBytes);
+
+    /**
+     * WebSocket 연결이 끊긴 세션을 유예 시간 동안 유지 (유예 시간이 0이면 즉시 정리)
+     */
+    void detachSession(String sessionId);
+
+    /**
+     * 분리된 세션을 다시 연결하고 lastOffset 이후의 출력을 재전송. 실패 시 오류 메시지를 보내고 false
+     */
+    boolean resume(TerminalResumeRequest request);
+
+    boolean resume(TerminalResumeRequest request, TerminalOutputSink outputSink);
+
+    /**
+     * 실행 중인 세션을 다른 WebSocket 연결에서 함께 보기 (읽기 전용 또는 쓰기 가능).
+     * 현재 화면을 먼저 보내고 이후 출력을 viewer 전송 대상으로 이어서 보낸다. 실패 시 오류 메시지를 보내고 false
+     *
+     * @param connectionId viewer 의 WebSocket 세션 ID (연결이 끊기면 detachViewers 로 제거)
+     */
+    boolean attachViewer(TerminalViewerAttachRequest request, String connectionId);
+
+    boolean attachViewer(TerminalViewerAttachRequest request, String connectionId, TerminalOutputSink outputSink);
+
+    void detachViewer(TerminalViewerDetachRequest request, String connectionId);
+
+    /**
+     * WebSocket 연결이 끊기면 그 연결로 붙은 viewer 를 모든 세션에서 제거
+     */
+    void detachViewers(String connectionId);
+
+    /**
+     * 세션 소유자가 아닌 연결의 변경 요청(입력, 크기 변경, 종료 등) 확인.
+     * 쓰기 가능한 viewer 로 붙은 연결이면 true, 아니면 false (읽기 전용 viewer 에게는 오류 전송)
+     */
+    boolean authorizeViewerWrite(String sessionId, String connectionId);
+
+    List<TerminalSessionStatsResponse> getSessionStats();
+
+    /**
+     * 이벤트 기반 세션 정리와 안전망 점검 통계
+     */
+    SessionHealthStatsResponse getHealthStats();
+
+    /**
+     * 입력 -> 에코 지연 시간 구간별 백분위 (전체, 세션별)
+     */
+    KeystrokeLatencyResponse getKeystrokeLatency();
+
+    /**
+     * 지연 시간 측정을 실행 중에 켜고 끔 (terminal.latency-probe.enabled 초기값)
+     */
+    void setLatencyProbeEnabled(boolean enabled);
 }
@@ -1,34 +1,94 @@
 package com.sshmonitor.service;
 
+import com.sshmonitor.config.StompOutboundTracker;
+import com.sshmonitor.config.TerminalMetrics;
 import com.sshmonitor.dto.*;
+import com.sshmonitor.dto.TerminalBroadcastResponse.MemberDelivery;
 import com.sshmonitor.exception.ErrorCode;
 import com.sshmonitor.exception.TerminalSessionException;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.sshd.client.SshClient;
 import org.apache.sshd.client.channel.ChannelShell;
 import org.apache.sshd.client.session.ClientSession;
+import org.apache.sshd.common.channel.Channel;
+import org.apache.sshd.common.channel.ChannelListener;
+import org.apache.sshd.common.channel.StreamingChannel;
+import org.apache.sshd.common.io.IoInputStream;
+import org.apache.sshd.common.io.IoReadFuture;
+import org.apache.sshd.common.session.Session;
+import org.apache.sshd.common.session.SessionListener;
+import org.apache.sshd.common.util.buffer.ByteArrayBuffer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
-import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Slf4j
 @Service
 public class TerminalSessionServiceImpl implements TerminalSessionService {
 
-    private final SshClient sshClient;
+    private final SshConnectionManager connectionManager;
+    private final RemoteDirectoryService remoteDirectoryService;
+    private final TerminalOutputSink stompOutputSink;
     private final SimpMessagingTemplate messagingTemplate;
+    private final StompOutboundTracker stompOutboundTracker;
+    private final HostMetricsService hostMetricsService;
+    private final TerminalMetrics metrics;
+    private final SessionOwnershipRegistry ownershipRegistry;
     private final Map<String, TerminalSession> sessions = new ConcurrentHashMap<>();
-    private final ExecutorService outputReaderExecutor = Executors.newCachedThreadPool();
+    // WebSocket 연결 ID -> 브로드캐스트 그룹 ID -> 구성원 세션 ID (세션이 정리되면 제거, 빈 그룹은 삭제)
+    private final Map<String, Map<String, Set<String>>> broadcastGroups = new ConcurrentHashMap<>();
+    private final ExecutorService outputReaderExecutor;
+    private final boolean virtualThreads;
+    private final ScheduledExecutorService outputFlushScheduler = Executors.newSingleThreadScheduledExecutor();
+    // 세션 정리 전용 (채널/연결 close 가 블로킹되어도 MINA I/O 스레드와 스케줄러를 막지 않음)
+    private final ThreadPoolExecutor teardownExecutor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), Thread.ofPlatform().name("terminal-teardown-", 0).daemon().factory());
+    // 이벤트를 놓친 세션을 찾는 저빈도 점검 (Spring 기본 스케줄러와 분리)
+    private final ScheduledExecutorService healthSweepScheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("terminal-health-sweep").daemon().factory());
+    private final AtomicLong eventTeardowns = new AtomicLong();
+    private final AtomicLong sweepTeardowns = new AtomicLong();
+    private final AtomicLong idleExpirations = new AtomicLong();
+    private final ScheduledExecutorService idleWheelScheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("terminal-idle-wheel").daemon().factory());
+    private IdleTimeoutWheel<TerminalSession> idleWheel;
+    // 입력 -> 에코 지연 시간 (전체 세션 합산, 종료된 세션 포함)
+    private final LatencyHistogram[] keystrokeLatency = new LatencyHistogram[KeystrokeLatencyProbe.STAGES.length];
+    private final AtomicLong keystrokeTimeouts = new AtomicLong();
+    private final KeystrokeLatencyProbe.Listener keystrokeLatencyListener;
+    private long sweeps;
+    private Long lastSweepAt;
+    private long lastSweepMicros;
+    private long maxSweepMicros;
+    private int lastSweepChecked;
+    private int lastSweepUnhealthy;
 
     @Value("${terminal.max-sessions:10}")
     private int maxSessions;
@@ -36,19 +96,224 @@ public class TerminalSessionServiceImpl implements TerminalSessionService {
     @Value("${ssh.connection-timeout:10000}")
     private int connectionTimeout;
 
+    // 기본 유휴 제한 시간, 0 이하면 만료 없음 (세션별 idleTimeoutMs 로 변경 가능)
     @Value("${ssh.session-timeout:1800000}")
     private long sessionTimeout;
 
+    // 세션별 유휴 제한 시간 상한
+    @Value("${terminal.idle.max-timeout-ms:86400000}")
+    private long maxIdleTimeoutMs;
+
+    // 만료 정밀도 (타이밍 휠 tick)
+    @Value("${terminal.idle.tick-ms:1000}")
+    private long idleTickMs;
+
+    @Value("${terminal.idle.wheel-size:512}")
+    private int idleWheelSize;
+
+    // 입력 -> 에코 지연 시간 측정 (GET /api/terminal/latency, 실행 중 POST 로 켜고 끌 수 있음)
+    @Value("${terminal.latency-probe.enabled:false}")
+    private volatile boolean latencyProbeEnabled;
+
+    @Value("${terminal.latency-probe.timeout-ms:2000}")
+    private long latencyProbeTimeoutMs;
+
     @Value("${terminal.buffer-size:8192}")
     private int bufferSize;
 
-    public TerminalSessionServiceImpl(SshClient sshClient, SimpMessagingTemplate messagingTemplate) {
-        this.sshClient = sshClient;
+    // 입력 청크 상한 (원격 윈도우가 더 작으면 윈도우 크기 단위로 씀)
+    @Value("${terminal.input.max-chunk-bytes:32768}")
+    private int inputMaxChunkBytes;
+
+    // 아직 채널에 쓰지 못한 입력 한도, 넘게 되는 입력 메시지는 거부
+    @Value("${terminal.input.max-pending-bytes:4194304}")
+    private long inputMaxPendingBytes;
+
+    @Value("${terminal.broadcast.max-members:64}")
+    private int broadcastMaxMembers;
+
+    // 이 시간 안에 쓰이지 않은 구성원은 결과에 timeout 으로 보고 (쓰기는 계속 진행)
+    @Value("${terminal.broadcast.report-timeout-ms:5000}")
+    private long broadcastReportTimeoutMs;
+
+    // pipe: PipedStream + 세션별 reader 스레드 (기존 방식), async: MINA 비동기 스트리밍 콜백
+    @Value("${terminal.output-mode:async}")
+    private String outputMode;
+
+    @Value("${terminal.coalesce.enabled:true}")
+    private boolean coalesceEnabled;
+
+    @Value("${terminal.coalesce.window-ms:12}")
+    private long coalesceWindowMs;
+
+    @Value("${terminal.coalesce.max-bytes:32768}")
+    private int coalesceMaxBytes;
+
+    @Value("${terminal.flow-control.enabled:true}")
+    private boolean flowControlEnabled;
+
+    @Value("${terminal.flow-control.policy:pause}")
+    private String flowControlPolicy;
+
+    @Value("${terminal.flow-control.high-watermark:1048576}")
+    private long flowHighWatermark;
+
+    @Value("${terminal.flow-control.low-watermark:262144}")
+    private long flowLowWatermark;
+
+    @Value("${terminal.flow-control.drop-tail-bytes:65536}")
+    private int flowDropTailBytes;
+
+    @Value("${terminal.flow-control.poll-ms:20}")
+    private long flowPollMs;
+
+    @Value("${terminal.scrollback.enabled:true}")
+    private boolean scrollbackEnabled;
+
+    @Value("${terminal.scrollback.size-bytes:2097152}")
+    private long scrollbackSizeBytes;
+
+    @Value("${terminal.scrollback.segment-bytes:65536}")
+    private int scrollbackSegmentBytes;
+
+    @Value("${terminal.scrollback.max-total-bytes:67108864}")
+    private long scrollbackMaxTotalBytes;
+
+    @Value("${terminal.scrollback.replay-bytes:262144}")
+    private int scrollbackReplayBytes;
+
+    // 세션 공유: 세션당 viewer 수, viewer 별 미전송 출력 한도 (넘으면 그 viewer 만 건너뛰고 따라잡으면 재전송)
+    @Value("${terminal.share.max-viewers:8}")
+    private int maxViewers;
+
+    @Value("${terminal.share.viewer-max-lag-bytes:524288}")
+    private long viewerMaxLagBytes;
+
+    @Value("${terminal.share.resync-bytes:65536}")
+    private int viewerResyncBytes;
+
+    // WebSocket 연결이 끊긴 뒤 재연결(resume)을 기다리는 시간. 0 이면 즉시 정리
+    @Value("${terminal.detach.grace-period-ms:0}")
+    private long detachGracePeriodMs;
+
+    // 연결/채널 종료는 이벤트로 바로 정리하고, 이 주기의 점검은 놓친 세션만 확인 (0 = 점검 안 함)
+    @Value("${terminal.health.sweep-interval-ms:300000}")
+    private long healthSweepIntervalMs;
+
+    // 디렉토리 목록 캐시: ttl-ms 이내는 캐시 응답, stale-ms 동안은 캐시 응답 후 백그라운드 재검증
+    @Value("${terminal.directory.cache.enabled:true}")
+    private boolean directoryCacheEnabled;
+
+    @Value("${terminal.directory.cache.ttl-ms:10000}")
+    private long directoryCacheTtlMs;
+
+    @Value("${terminal.directory.cache.stale-ms:300000}")
+    private long directoryCacheStaleMs;
+
+    @Value("${terminal.directory.cache.max-entries:64}")
+    private int directoryCacheMaxEntries;
+
+    @Value("${terminal.directory.cache.max-bytes:1048576}")
+    private long directoryCacheMaxBytes;
+
+    // 대용량 디렉토리 스트리밍 조회
+    @Value("${terminal.directory.stream.page-size:200}")
+    private int streamPageSize;
+
+    @Value("${terminal.directory.stream.max-page-size:2000}")
+    private int streamMaxPageSize;
+
+    @Value("${terminal.directory.stream.first-page-budget-ms:250}")
+    private long streamFirstPageBudgetMs;
+
+    @Value("${terminal.directory.stream.max-entries:100000}")
+    private int streamMaxEntries;
+
+    @Value("${terminal.directory.stream.retain-ms:60000}")
+    private long streamRetainMs;
+
+    @Value("${terminal.directory.stream.max-per-session:2}")
+    private int streamMaxPerSession;
+
+    private ScrollbackSegmentPool scrollbackPool;
+    private final SecureRandom tokenRandom = new SecureRandom();
+    // 진단 응답의 세션 라벨용 키 (프로세스마다 새로 생성, 라벨로 sessionId 를 역산할 수 없도록)
+    private SecretKeySpec sessionLabelKey;
+
+    public TerminalSessionServiceImpl(SshConnectionManager connectionManager, RemoteDirectoryService remoteDirectoryService,
+                                      SimpMessagingTemplate messagingTemplate,
+                                      HostMetricsService hostMetricsService,
+                                      StompOutboundTracker stompOutboundTracker,
+                                      TerminalMetrics metrics,
+                                      SessionOwnershipRegistry ownershipRegistry,
+                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.connectionManager = connectionManager;
+        this.remoteDirectoryService = remoteDirectoryService;
+        this.stompOutputSink = new StompTerminalOutputSink(messagingTemplate, stompOutboundTracker);
         this.messagingTemplate = messagingTemplate;
+        this.stompOutboundTracker = stompOutboundTracker;
+        this.hostMetricsService = hostMetricsService;
+        this.metrics = metrics;
+        this.ownershipRegistry = ownershipRegistry;
+        this.virtualThreads = virtualThreads;
+        this.outputReaderExecutor = virtualThreads
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("terminal-reader-", 0).factory())
+            : Executors.newCachedThreadPool();
+        metrics.registerActiveSessions(sessions);
+        metrics.registerActiveViewers(() -> sessions.values().stream().mapToInt(session -> session.viewers.size()).sum());
+        for (int i = 0; i < keystrokeLatency.length; i++) {
+            keystrokeLatency[i] = new LatencyHistogram();
+        }
+        this.keystrokeLatencyListener = new KeystrokeLatencyProbe.Listener() {
+            @Override
+            public void onSample(long[] stageNanos) {
+                for (int i = 0; i < stageNanos.length; i++) {
+                    keystrokeLatency[i].record(TimeUnit.NANOSECONDS.toMicros(stageNanos[i]));
+                    metrics.recordKeystrokeLatency(KeystrokeLatencyProbe.STAGES[i], stageNanos[i]);
+                }
+            }
+
+            @Override
+            public void onTimeout() {
+                keystrokeTimeouts.incrementAndGet();
+            }
+        };
+    }
+
+    @PostConstruct
+    public void init() {
+        // 세션 한도가 전역 한도보다 크면 세션 하나가 풀 전체를 차지할 수 있으므로 전역 한도로 제한
+        scrollbackSizeBytes = Math.min(scrollbackSizeBytes, scrollbackMaxTotalBytes);
+        scrollbackPool = new ScrollbackSegmentPool(scrollbackSegmentBytes, scrollbackMaxTotalBytes);
+        // 새 조회 자신은 항상 유지되므로 최소 1
+        streamMaxPerSession = Math.max(1, streamMaxPerSession);
+        byte[] labelKey = new byte[32];
+        tokenRandom.nextBytes(labelKey);
+        sessionLabelKey = new SecretKeySpec(labelKey, "HmacSHA256");
+
+        log.info("Terminal execution model: output={} | threads={} | scrollback={} | detach grace={}s",
+            outputMode, virtualThreads ? "virtual" : "platform",
+            scrollbackEnabled ? (scrollbackSizeBytes / 1024) + "KB/session, " + (scrollbackMaxTotalBytes / 1024 / 1024) + "MB total" : "off",
+            detachGracePeriodMs / 1000);
+        idleWheel = new IdleTimeoutWheel<>(idleTickMs, TimeUnit.MILLISECONDS, idleWheelSize, this::expireIdleSession);
+        idleWheelScheduler.scheduleAtFixedRate(idleWheel::tick, idleTickMs, idleTickMs, TimeUnit.MILLISECONDS);
+        if (healthSweepIntervalMs > 0) {
+            healthSweepScheduler.scheduleWithFixedDelay(this::healthCheckAllSessions,
+                healthSweepIntervalMs, healthSweepIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        if (virtualThreads && !isAsyncOutputMode()) {
+            // PipedInputStream.read()는 synchronized 블록 안에서 wait() 하므로 reader마다 캐리어 스레드를 고정한다
+            log.warn("Virtual threads with output-mode=pipe: output readers pin carrier threads while blocked in PipedInputStream");
+        }
     }
 
     @Override
     public TerminalMessage connect(TerminalConnectRequest request) {
+        return connect(request, stompOutputSink);
+    }
+
+    @Override
+    public TerminalMessage connect(TerminalConnectRequest request, TerminalOutputSink outputSink) {
         String sessionId = request.sessionId();
 
         log.info("SSH connection attempt: {} -> {}@{}:{} (auth: {})",
@@ -67,44 +332,126 @@ public class TerminalSessionServiceImpl implements TerminalSessionService {
                 "Session already exists");
         }
 
-        try {
-            long startTime = System.currentTimeMillis();
-            ClientSession clientSession = createClientSession(request);
-            ChannelShell channel = createShellChannel(clientSession, request.terminalConfig());
-
-            PipedOutputStream userInput = new PipedOutputStream();
-            PipedInputStream channelInput = new PipedInputStream(userInput, bufferSize);
-            channel.setIn(channelInput);
+        String remoteOwner = ownershipRegistry.remoteOwnerOf(sessionId);
+        if (remoteOwner != null) {
+            log.warn("Session already exists on node {}: {}", remoteOwner, sessionId);
+            return TerminalMessage.error(sessionId, ErrorCode.INVALID_REQUEST.getCode(),
+                "Session already exists");
+        }
 
-            PipedInputStream userOutput = new PipedInputStream(bufferSize);
-            PipedOutputStream channelOutput = new PipedOutputStream(userOutput);
-            channel.setOut(channelOutput);
-            channel.setErr(channelOutput);
+        ClientSession clientSession = null;
+        ChannelShell channel = null;
+        // sessions 에 등록된 뒤의 실패는 cleanupSession 으로 정리 (채널, 연결 참조 반납이 한 번만 일어나도록)
+        boolean registered = false;
+        long startNanos = System.nanoTime();
+        try {
+            // 같은 대상/인증 정보의 연결이 이미 있으면 그 위에 셸 채널만 추가
+            clientSession = connectionManager.acquire(SshCredentials.of(request));
+            channel = createShellChannel(clientSession, request.terminalConfig());
+            boolean asyncOutput = isAsyncOutputMode();
+
+            PipedInputStream userOutput = null;
+            if (asyncOutput) {
+                // 채널 데이터가 도착하면 IoReadFuture 콜백에서 바로 WebSocket으로 전송 (중간 파이프 없음)
+                channel.setStreaming(StreamingChannel.Streaming.Async);
+            } else {
+                // 입력은 채널의 inverted-in 스트림에 직접 씀 (입력 파이프와 펌프 스레드 없음)
+                userOutput = new PipedInputStream(bufferSize);
+                PipedOutputStream channelOutput = new PipedOutputStream(userOutput);
+                channel.setOut(channelOutput);
+                channel.setErr(channelOutput);
+            }
 
-            channel.open().verify(Duration.ofMillis(connectionTimeout));
+            SshFutures.await(channel.open(), Duration.ofMillis(connectionTimeout));
+
+            // 비활성화 시에도 재연결 offset 계산을 위해 용량 0으로 생성
+            TerminalScrollbackBuffer scrollback = new TerminalScrollbackBuffer(
+                scrollbackPool, scrollbackEnabled ? scrollbackSizeBytes : 0);
+            DetachableOutputSink sessionSink = new DetachableOutputSink(outputSink);
+            TerminalViewers viewers = new TerminalViewers(sessionId, viewerMaxLagBytes, viewerResyncBytes);
+            KeystrokeLatencyProbe latencyProbe = new KeystrokeLatencyProbe(
+                TimeUnit.MILLISECONDS.toNanos(latencyProbeTimeoutMs), keystrokeLatencyListener);
+            TerminalOutputCoalescer outputCoalescer = new TerminalOutputCoalescer(
+                (data, offset, length) -> {
+                    // 클라이언트로 보낸 출력과 같은 단위로 기록 (UTF-8 경계가 맞춰진 상태)
+                    long endOffset = scrollback.append(data, offset, length);
+                    sessionSink.sendOutput(sessionId, data, offset, length, endOffset);
+                    // 채널에서 한 번 읽은 출력을 viewer 에게도 전송 (viewer 가 밀려도 소유자 전송과 채널 읽기는 계속)
+                    if (viewers.publish(data, offset, length, endOffset)) {
+                        scheduleViewerResync(sessionId);
+                    }
+                    metrics.recordOutputFrame();
+                    if (latencyProbeEnabled) {
+                        latencyProbe.outputSent(System.nanoTime());
+                    }
+                },
+                outputFlushScheduler,
+                coalesceEnabled,
+                coalesceWindowMs,
+                coalesceMaxBytes
+            );
+            TerminalFlowController flowController = new TerminalFlowController(
+                sessionId,
+                sessionSink,
+                outputCoalescer,
+                flowControlEnabled,
+                flowControlPolicy,
+                flowHighWatermark,
+                flowLowWatermark,
+                flowDropTailBytes
+            );
 
             TerminalSession terminalSession = new TerminalSession(
                 sessionId,
                 clientSession,
                 channel,
-                userInput,
+                createInputPipeline(sessionId, channel, asyncOutput, latencyProbe),
                 userOutput,
+                outputCoalescer,
+                flowController,
+                scrollback,
+                sessionSink,
+                viewers,
+                new DirectoryListingCache(directoryCacheTtlMs, directoryCacheStaleMs,
+                    directoryCacheMaxEntries, directoryCacheMaxBytes),
+                TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis(request)),
+                latencyProbe,
+                newResumeToken(),
                 Instant.now()
             );
 
             sessions.put(sessionId, terminalSession);
-            startOutputReader(sessionId, terminalSession);
-
-            long connectionTime = System.currentTimeMillis() - startTime;
-            log.info("SSH session connected: {} -> {}@{}:{} | Time: {}ms | Active sessions: {}",
-                sessionId, request.username(), request.host(), request.port(),
-                connectionTime, sessions.size());
-
-            return TerminalMessage.connected(sessionId);
+            registered = true;
+            terminalSession.idleTimeout = idleWheel.schedule(terminalSession);
+            if (asyncOutput) {
+                startAsyncOutputReader(sessionId, terminalSession);
+            } else {
+                startOutputReader(sessionId, terminalSession);
+            }
+            watchConnection(sessionId, terminalSession);
+            // 같은 연결의 다른 세션이 이미 수집 중이면 그 수집기를 함께 사용
+            hostMetricsService.start(sessionId, clientSession, SshCredentials.of(request).target());
+            ownershipRegistry.claim(sessionId);
+
+            long connectNanos = System.nanoTime() - startNanos;
+            metrics.recordConnect(connectNanos, true);
+            log.info("SSH session connected: {} (label {}) -> {}@{}:{} | Time: {}ms | Output: {} | Active sessions: {}",
+                sessionId, sessionLabel(sessionId), request.username(), request.host(), request.port(),
+                TimeUnit.NANOSECONDS.toMillis(connectNanos), outputMode, sessions.size());
+
+            return TerminalMessage.connected(sessionId, terminalSession.resumeToken);
         } catch (Exception e) {
             log.error("Failed to connect SSH session: {} -> {}@{}:{} | Error: {} | Type: {}",
                 sessionId, request.username(), request.host(), request.port(),
                 e.getMessage(), e.getClass().getSimpleName(), e);
+            if (registered) {
+                // 이미 이벤트로 정리됐으면 아무것도 하지 않음
+                cleanupSession(sessionId, "Connect failed: " + e.getMessage());
+            } else {
+                closeQuietly(channel);
+                connectionManager.release(clientSession);
+            }
+            metrics.recordConnect(System.nanoTime() - startNanos, false);
             ErrorCode errorCode = determineErrorCode(e);
             return TerminalMessage.error(sessionId, errorCode.getCode(), e.getMessage());
         }
@@ -112,25 +459,172 @@ public class TerminalSessionServiceImpl implements TerminalSessionService {
 
     @Override
     public void handleInput(TerminalInputRequest request) {
-        String sessionId = request.sessionId();
+        // 지연 시간 측정 시작점: 컨트롤러가 STOMP 메시지를 받은 직후 (디코딩 전)
+        long receivedNanos = System.nanoTime();
+        if (request.data() != null && !handleInput(request.sessionId(), request.data().getBytes(StandardCharsets.UTF_8), receivedNanos)) {
+            stompOutputSink.sendMessage(request.sessionId(), TerminalMessage.error(request.sessionId(),
+                ErrorCode.SESSION_NOT_FOUND.getCode(), "Session not found"));
+        }
+    }
+
+    @Override
+    public boolean handleInput(String sessionId, byte[] data) {
+        return handleInput(sessionId, data, System.nanoTime());
+    }
+
+    private boolean handleInput(String sessionId, byte[] data, long receivedNanos) {
         TerminalSession session = sessions.get(sessionId);
 
         if (session == null) {
             log.warn("Session not found for input: {}", sessionId);
-            sendError(sessionId, ErrorCode.SESSION_NOT_FOUND, "Session not found");
-            return;
+            return false;
         }
 
-        try {
-            session.updateActivity();
-            if (request.data() != null) {
-                session.userInput.write(request.data().getBytes(StandardCharsets.UTF_8));
-                session.userInput.flush();
+        submitInput(session, data, receivedNanos, null);
+        return true;
+    }
+
+    /**
+     * 입력을 세션 파이프라인 큐에 넣고 바로 반환 (채널 쓰기는 파이프라인이 비동기로 진행)
+     *
+     * @param written 채널에 모두 쓰이면 호출 (null 가능)
+     * @return 대기 입력 한도 초과로 거부되면 false (클라이언트에 오류 전송, written 은 호출되지 않음)
+     */
+    private boolean submitInput(TerminalSession session, byte[] data, long receivedNanos, Consumer<Throwable> written) {
+        session.updateActivity();
+        if (containsLineEnd(data)) {
+            // 명령 실행: 파일이 바뀌었을 수 있으므로 캐시된 목록은 다음 조회 때 재검증
+            session.directoryCache.markAllDirty();
+        }
+        long probeNanos = latencyProbeEnabled ? session.latencyProbe.inputReceived(receivedNanos) : 0;
+        if (!session.inputPipeline.submit(data, probeNanos, written)) {
+            log.warn("Input rejected for session {}: {} bytes (pending input limit {} bytes)",
+                session.sessionId, data.length, inputMaxPendingBytes);
+            sendError(session, ErrorCode.INPUT_OVERFLOW, "Input buffer full, " + data.length + " bytes discarded");
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<TerminalBroadcastResponse> broadcastInput(TerminalBroadcastRequest request, String connectionId,
+                                                                       Predicate<String> writable) {
+        long receivedNanos = System.nanoTime();
+        String groupId = request.groupId();
+        if (groupId == null || groupId.isBlank() || connectionId == null) {
+            log.warn("Broadcast request without groupId ignored");
+            return CompletableFuture.completedFuture(toBroadcastResponse(null, 0, List.of()));
+        }
+        List<String> members = updateBroadcastGroup(connectionId, groupId, request.sessionIds(), writable);
+
+        if (request.data() == null || request.data().isEmpty()) {
+            // 구성원 변경만
+            List<MemberDelivery> results = members.stream()
+                .map(sessionId -> !sessions.containsKey(sessionId)
+                    ? new MemberDelivery(sessionId, "not_found", 0, "Session not found")
+                    : !writable.test(sessionId)
+                        ? new MemberDelivery(sessionId, "forbidden", 0, "Not permitted")
+                        : new MemberDelivery(sessionId, "member", 0, null))
+                .toList();
+            return CompletableFuture.completedFuture(toBroadcastResponse(groupId, 0, results));
+        }
+
+        // 각 세션 파이프라인에 넣기만 하고 쓰기는 세션별로 독립 진행 (느린 호스트가 다른 세션의 쓰기를 막지 않음)
+        byte[] data = request.data().getBytes(StandardCharsets.UTF_8);
+        List<CompletableFuture<MemberDelivery>> deliveries = new ArrayList<>(members.size());
+        for (String sessionId : members) {
+            // 그룹에 넣은 뒤 소유 연결이 바뀌었을 수 있으므로 전송할 때마다 다시 확인
+            deliveries.add(writable.test(sessionId)
+                ? deliverBroadcast(sessionId, data, receivedNanos)
+                : CompletableFuture.completedFuture(new MemberDelivery(sessionId, "forbidden", 0, "Not permitted")));
+        }
+        return CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> toBroadcastResponse(groupId, data.length,
+                deliveries.stream().map(CompletableFuture::join).toList()));
+    }
+
+    /**
+     * sessionIds 가 있으면 그룹 구성원을 교체 (연결되어 있고 입력할 수 있는 세션만 보관, 빈 목록이면 그룹 삭제)
+     *
+     * @return 이번 요청의 전송 대상 (요청 목록 또는 기존 구성원)
+     */
+    private List<String> updateBroadcastGroup(String connectionId, String groupId, List<String> sessionIds,
+                                              Predicate<String> writable) {
+        if (sessionIds == null) {
+            Map<String, Set<String>> groups = broadcastGroups.get(connectionId);
+            Set<String> group = groups != null ? groups.get(groupId) : null;
+            return group != null ? List.copyOf(group) : List.of();
+        }
+
+        List<String> members = sessionIds.stream().filter(Objects::nonNull).distinct().limit(broadcastMaxMembers).toList();
+        if (sessionIds.size() > members.size()) {
+            log.warn("Broadcast group {} truncated to {} members", groupId, broadcastMaxMembers);
+        }
+        Set<String> group = ConcurrentHashMap.newKeySet();
+        members.stream().filter(sessions::containsKey).filter(writable).forEach(group::add);
+        if (group.isEmpty()) {
+            broadcastGroups.computeIfPresent(connectionId, (id, groups) -> {
+                groups.remove(groupId);
+                return groups.isEmpty() ? null : groups;
+            });
+        } else {
+            broadcastGroups.computeIfAbsent(connectionId, id -> new ConcurrentHashMap<>()).put(groupId, group);
+        }
+        return members;
+    }
+
+    @Override
+    public void removeBroadcastGroups(String connectionId) {
+        if (connectionId != null) {
+            broadcastGroups.remove(connectionId);
+        }
+    }
+
+    private CompletableFuture<MemberDelivery> deliverBroadcast(String sessionId, byte[] data, long receivedNanos) {
+        TerminalSession session = sessions.get(sessionId);
+        if (session == null) {
+            return CompletableFuture.completedFuture(new MemberDelivery(sessionId, "not_found", 0, "Session not found"));
+        }
+
+        CompletableFuture<MemberDelivery> delivery = new CompletableFuture<>();
+        boolean accepted = submitInput(session, data, receivedNanos, error -> {
+            long nanos = System.nanoTime() - receivedNanos;
+            metrics.recordBroadcastDelivery(nanos, error == null);
+            long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            delivery.complete(error == null
+                ? new MemberDelivery(sessionId, "delivered", micros, null)
+                : new MemberDelivery(sessionId, "failed", micros, error.getMessage()));
+        });
+        if (!accepted) {
+            return CompletableFuture.completedFuture(new MemberDelivery(sessionId, "rejected", 0, "Input buffer full"));
+        }
+        // 결과 보고만 제한 시간에 맞춰 끊고 쓰기는 계속 진행
+        return delivery.completeOnTimeout(
+            new MemberDelivery(sessionId, "timeout", TimeUnit.MILLISECONDS.toMicros(broadcastReportTimeoutMs), null),
+            broadcastReportTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static TerminalBroadcastResponse toBroadcastResponse(String groupId, int bytes, List<MemberDelivery> results) {
+        int delivered = 0;
+        MemberDelivery slowest = null;
+        for (MemberDelivery result : results) {
+            if ("delivered".equals(result.status()) || "member".equals(result.status())) {
+                delivered++;
+            }
+            if (slowest == null || result.latencyMicros() > slowest.latencyMicros()) {
+                slowest = result;
             }
-        } catch (IOException e) {
-            log.error("Failed to send input to session {}: {}", sessionId, e.getMessage());
-            sendError(sessionId, ErrorCode.NETWORK_ERROR, "Failed to send input");
         }
+        return new TerminalBroadcastResponse(
+            groupId,
+            bytes,
+            results.size(),
+            delivered,
+            results.size() - delivered,
+            slowest != null ? slowest.latencyMicros() : 0,
+            slowest != null && slowest.latencyMicros() > 0 ? slowest.sessionId() : null,
+            results
+        );
     }
 
     @Override
@@ -154,7 +648,9 @@ public class TerminalSessionServiceImpl implements TerminalSessionService {
             session.channel.sendWindowChange(request.cols(), request.rows(), 0, 0);
             session.updateActivity();
             log.debug("Terminal resized for session {}: {}x{}", sessionId, request.cols(), request.rows());
-            return TerminalMessage.resized(sessionId, request.cols(), request.rows());
+            TerminalMessage resized = TerminalMessage.resized(sessionId, request.cols(), request.rows());
+            session.viewers.sendMessage(resized);
+            return resized;
         } catch (IOException e) {
             log.error("Failed to resize terminal for session {}: {}", sessionId, e.getMessage());
             return TerminalMessage.error(sessionId, ErrorCode.COMMAND_FAILED.getCode(), "Failed to resize terminal");
@@ -166,23 +662,53 @@ public class TerminalSessionServiceImpl implements TerminalSessionService {
         cleanupSession(sessionId, "Manual cleanup");
     }
 
-    private void cleanupSession(String sessionId, String reason) {
+    /**
+     * 요청에 idleTimeoutMs 가 있으면 max-timeout-ms 이하로 제한해 사용, 없으면 기본값
+     */
+    private long idleTimeoutMillis(TerminalConnectRequest request) {
+        if (request.idleTimeoutMs() == null || request.idleTimeoutMs() <= 0) {
+            return Math.max(0, sessionTimeout);
+        }
+        return maxIdleTimeoutMs > 0 ? Math.min(request.idleTimeoutMs(), maxIdleTimeoutMs) : request.idleTimeoutMs();
+    }
+
+    /**
+     * @return 이 호출에서 정리했으면 true (이미 정리된 세션이면 false)
+     */
+    private boolean cleanupSession(String sessionId, String reason) {
         TerminalSession session = sessions.remove(sessionId);
         if (session != null) {
             session.running = false;
-            closeQuietly(session.userInput);
+            if (session.idleTimeout != null) {
+                session.idleTimeout.cancel();
+            }
+            session.outputCoalescer.close();
+            session.scrollback.close();
+            session.directoryCache.clear();
+            session.directoryStreams.values().forEach(DirectoryListingStream::cancel);
+            hostMetricsService.stop(sessionId);
+            session.inputPipeline.close();
             closeQuietly(session.userOutput);
+            broadcastGroups.values().forEach(groups -> groups.values().removeIf(group -> group.remove(sessionId) && group.isEmpty()));
+            session.viewers.close(TerminalMessage.status(sessionId, "disconnected", reason));
+            unwatchConnection(session);
             closeQuietly(session.channel);
-            closeQuietly(session.clientSession);
+            connectionManager.release(session.clientSession);
+            ownershipRegistry.release(sessionId);
 
             // 연결 끊김 원인 상세 로깅
-            log.info("SSH session cleaned up: {} | Reason: {} | Duration: {}s | LastActivity: {}s ago",
+            TerminalSessionStatsResponse.CoalescingStats outputStats = session.outputCoalescer.getStats();
+            log.info("SSH session cleaned up: {} | Reason: {} | Duration: {}s | LastActivity: {}s ago | Output: {} chunks -> {} frames",
                 sessionId,
                 reason,
                 Duration.between(session.createdAt, Instant.now()).getSeconds(),
-                Duration.between(session.lastActivity, Instant.now()).getSeconds()
+                session.idleSeconds(),
+                outputStats.chunksIn(),
+                outputStats.framesOut()
             );
+            return true;
         }
+        return false;
     }
 
     @Override
@@ -190,53 +716,127 @@ public class TerminalSessionServiceImpl implements TerminalSessionService {
         return sessions.size();
     }
 
-    @Scheduled(fixedRate = 60000)
-    public void cleanupExpiredSessions() {
-        // 타임아웃이 0 이하면 세션 만료 비활성화 (무제한 연결)
-        if (sessionTimeout <= 0) {
-            return;
-        }
+    @Override
+    public List<TerminalSessionStatsResponse> getSessionStats() {
+        Instant now = Instant.now();
+        return sessions.values().stream()
+            .map(session -> new TerminalSessionStatsResponse(
+                sessionLabel(session.sessionId),
+                session.userOutput != null ? "pipe" : "async",
+                Duration.between(session.createdAt, now).getSeconds(),
+                session.idleSeconds(),
+                session.getDetachedAt() != null ? Duration.between(session.getDetachedAt(), now).getSeconds() : null,
+                session.inputPipeline.getStats(),
+                session.outputCoalescer.getStats(),
+                session.flowController.getStats(),
+                session.scrollback.getStats(),
+                session.directoryCache.getStats(),
+                session.viewers.getStats(session.scrollback.getEndOffset())
+            ))
+            .toList();
+    }
 
-        Instant cutoff = Instant.now().minusMillis(sessionTimeout);
-        sessions.entrySet().removeIf(entry -> {
-            TerminalSession session = entry.getValue();
-            if (session.lastActivity.isBefore(cutoff)) {
-                long inactiveSeconds = Duration.between(session.lastActivity, Instant.now()).getSeconds();
-                String reason = String.format("Session timeout (inactive for %ds)", inactiveSeconds);
-
-                log.warn("Cleaning up expired session: {} | Inactive: {}s | Threshold: {}s",
-                    entry.getKey(), inactiveSeconds, sessionTimeout / 1000);
-
-                session.running = false;
-                closeQuietly(session.userInput);
-                closeQuietly(session.userOutput);
-                closeQuietly(session.channel);
-                closeQuietly(session.clientSession);
-                sendStatus(entry.getKey(), "disconnected", reason);
-                return true;
-            }
-            return false;
-        });
+    @PreDestroy
+    public void shutdown() {
+        outputReaderExecutor.shutdownNow();
+        outputFlushScheduler.shutdownNow();
+        healthSweepScheduler.shutdownNow();
+        idleWheelScheduler.shutdownNow();
+        teardownExecutor.shutdownNow();
     }
 
-    @Scheduled(fixedRate = 15000)
-    public void healthCheckAllSessions() {
-        if (sessions.isEmpty()) {
+    /**
+     * 타이밍 휠에서 유휴 제한 시간이 지난 세션 (휠 스레드에서 호출, 정리는 teardown 풀에서 실행)
+     */
+    private void expireIdleSession(TerminalSession session) {
+        if (sessions.get(session.sessionId) != session) {
             return;
         }
+        long inactiveSeconds = session.idleSeconds();
+        log.warn("Cleaning up expired session: {} | Inactive: {}s | Threshold: {}s",
+            session.sessionId, inactiveSeconds, TimeUnit.NANOSECONDS.toSeconds(session.idleTimeoutNanos));
+        scheduleTeardown(session.sessionId, session,
+            String.format("Session timeout (inactive for %ds)", inactiveSeconds), "idle_timeout", idleExpirations);
+    }
 
-        log.trace("Running health check on {} sessions", sessions.size());
-        sessions.forEach((sessionId, session) -> {
+    /**
+     * 안전망 점검: 종료 이벤트를 놓친 세션만 찾아 정리 작업으로 넘긴다 (정리는 teardown 풀에서 실행)
+     */
+    public void healthCheckAllSessions() {
+        long startNanos = System.nanoTime();
+        int checked = 0;
+        int unhealthy = 0;
+
+        for (Map.Entry<String, TerminalSession> entry : sessions.entrySet()) {
+            TerminalSession session = entry.getValue();
+            checked++;
             String unhealthyReason = getSessionUnhealthyReason(session);
             if (unhealthyReason != null) {
-                log.warn("Unhealthy session detected: {} | Reason: {} | LastActivity: {}s ago",
-                    sessionId,
+                unhealthy++;
+                log.warn("Unhealthy session detected by sweep: {} | Reason: {} | LastActivity: {}s ago",
+                    entry.getKey(),
                     unhealthyReason,
-                    Duration.between(session.lastActivity, Instant.now()).getSeconds()
+                    session.idleSeconds()
                 );
-                handleUnhealthySession(sessionId, session, unhealthyReason);
+                handleUnhealthySession(entry.getKey(), session, unhealthyReason);
             }
-        });
+        }
+
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        synchronized (this) {
+            sweeps++;
+            lastSweepAt = System.currentTimeMillis();
+            lastSweepMicros = micros;
+            maxSweepMicros = Math.max(maxSweepMicros, micros);
+            lastSweepChecked = checked;
+            lastSweepUnhealthy = unhealthy;
+        }
+        log.debug("Health sweep: {} sessions checked, {} unhealthy, {}us", checked, unhealthy, micros);
+    }
+
+    @Override
+    public synchronized SessionHealthStatsResponse getHealthStats() {
+        return new SessionHealthStatsResponse(
+            eventTeardowns.get(),
+            sweepTeardowns.get(),
+            teardownExecutor.getQueue().size() + teardownExecutor.getActiveCount(),
+            healthSweepIntervalMs,
+            sweeps,
+            lastSweepAt,
+            lastSweepMicros,
+            maxSweepMicros,
+            lastSweepChecked,
+            lastSweepUnhealthy,
+            idleExpirations.get(),
+            idleWheel.getScheduledCount()
+        );
+    }
+
+    @Override
+    public KeystrokeLatencyResponse getKeystrokeLatency() {
+        List<KeystrokeLatencyResponse.SessionLatency> sessionLatencies = sessions.values().stream()
+            .filter(session -> session.latencyProbe.getSamples() > 0 || session.latencyProbe.getTimeouts() > 0)
+            .map(session -> new KeystrokeLatencyResponse.SessionLatency(
+                session.sessionId,
+                session.latencyProbe.getSamples(),
+                session.latencyProbe.getTimeouts(),
+                session.latencyProbe.getStages()
+            ))
+            .toList();
+        return new KeystrokeLatencyResponse(
+            latencyProbeEnabled,
+            latencyProbeTimeoutMs,
+            keystrokeLatency[KeystrokeLatencyProbe.TOTAL].getCount(),
+            keystrokeTimeouts.get(),
+            KeystrokeLatencyProbe.toStageLatencies(keystrokeLatency),
+            sessionLatencies
+        );
+    }
+
+    @Override
+    public void setLatencyProbeEnabled(boolean enabled) {
+        latencyProbeEnabled = enabled;
+        log.info("Keystroke latency probe {}", enabled ? "enabled" : "disabled");
     }
 
     private String getSessionUnhealthyReason(TerminalSession session) {
@@ -264,14 +864,89 @@ public class TerminalSessionServiceImpl implements TerminalSessionService {
         }
     }
 
+    /**
+     * getSessionUnhealthyReason 결과를 지표 태그용 코드로 변환
+     */
+    private static String unhealthyCause(String reason) {
+        return switch (reason) {
+            case "ClientSession closed" -> "connection_closed";
+            case "ChannelShell closed" -> "channel_closed";
+            case "ClientSession not authenticated" -> "not_authenticated";
+            default -> "check_error";
+        };
+    }
+
     private boolean isSessionHealthy(TerminalSession session) {
         return getSessionUnhealthyReason(session) == null;
     }
 
     private void handleUnhealthySession(String sessionId, TerminalSession session, String reason) {
-        String detailedReason = String.format("Health check failed: %s", reason);
-        cleanupSession(sessionId, detailedReason);
-        sendStatus(sessionId, "disconnected", detailedReason);
+        scheduleTeardown(sessionId, session, String.format("Health check failed: %s", reason),
+            "sweep_" + unhealthyCause(reason), sweepTeardowns);
+    }
+
+    /**
+     * 연결 종료, 연결 예외, 셸 채널 종료 이벤트를 받으면 바로 정리 작업을 예약한다.
+     * 공유 연결이면 그 위의 터미널 세션마다 각자의 리스너가 호출된다.
+     */
+    private void watchConnection(String sessionId, TerminalSession session) {
+        session.sessionListener = new SessionListener() {
+            @Override
+            public void sessionException(Session clientSession, Throwable t) {
+                scheduleTeardown(sessionId, session, "SSH connection error: " + t.getMessage(), "connection_error", eventTeardowns);
+            }
+
+            @Override
+            public void sessionClosed(Session clientSession) {
+                scheduleTeardown(sessionId, session, "SSH connection closed", "connection_closed", eventTeardowns);
+            }
+        };
+        session.channelListener = new ChannelListener() {
+            @Override
+            public void channelClosed(Channel channel, Throwable reason) {
+                scheduleTeardown(sessionId, session, reason != null
+                    ? "ChannelShell closed: " + reason.getMessage() : "ChannelShell closed", "channel_closed", eventTeardowns);
+            }
+        };
+        session.clientSession.addSessionListener(session.sessionListener);
+        session.channel.addChannelListener(session.channelListener);
+
+        // 등록 전에 이미 닫혔으면 이벤트가 오지 않음
+        if (!session.clientSession.isOpen() || !session.channel.isOpen()) {
+            scheduleTeardown(sessionId, session, "SSH connection closed before monitoring started",
+                "connection_closed", eventTeardowns);
+        }
+    }
+
+    private void unwatchConnection(TerminalSession session) {
+        if (session.sessionListener != null) {
+            session.clientSession.removeSessionListener(session.sessionListener);
+        }
+        if (session.channelListener != null) {
+            session.channel.removeChannelListener(session.channelListener);
+        }
+    }
+
+    /**
+     * @param cause 지표 태그용 고정 원인 코드
+     */
+    private void scheduleTeardown(String sessionId, TerminalSession session, String reason, String cause,
+                                  AtomicLong counter) {
+        if (!session.running) {
+            // 이미 정리 중 (직접 정리하면서 채널을 닫아 발생한 이벤트 등)
+            return;
+        }
+        try {
+            teardownExecutor.execute(() -> {
+                if (sessions.get(sessionId) == session && cleanupSession(sessionId, reason)) {
+                    counter.incrementAndGet();
+                    metrics.recordSessionFailure(cause);
+                    sendStatus(session, "disconnected", reason);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Teardown rejected (shutting down): {}", sessionId);
+        }
     }
 
     @Override
@@ -294,29 +969,246 @@ public class TerminalSessionServiceImpl implements TerminalSessionService {
             log.warn("Ping detected unhealthy session: {} | Reason: {} | LastActivity: {}s ago",
                 sessionId,
                 unhealthyReason,
-                Duration.between(session.lastActivity, Instant.now()).getSeconds()
+                session.idleSeconds()
             );
         }
 
         return TerminalMessage.pong(sessionId, healthy);
     }
 
-    private ClientSession createClientSession(TerminalConnectRequest request) throws Exception {
-        ClientSession session = sshClient.connect(
-            request.username(),
-            request.host(),
-            request.port()
-        ).verify(Duration.ofMillis(connectionTimeout)).getSession();
+    @Override
+    public TerminalMessage replay(TerminalReplayRequest request) {
+        String sessionId = request.sessionId();
+        int maxBytes = request.maxBytes() != null ? request.maxBytes() : scrollbackReplayBytes;
+        byte[] data = getScrollback(sessionId, maxBytes);
 
-        if ("password".equals(request.authType())) {
-            session.addPasswordIdentity(request.password());
-        } else if ("privateKey".equals(request.authType())) {
-            KeyPair keyPair = loadKeyPair(request.privateKey());
-            session.addPublicKeyIdentity(keyPair);
+        if (data == null) {
+            return TerminalMessage.error(sessionId, ErrorCode.SESSION_NOT_FOUND.getCode(), "Session not found");
         }
+        return TerminalMessage.replay(sessionId, new String(data, StandardCharsets.UTF_8));
+    }
 
-        session.auth().verify(Duration.ofMillis(connectionTimeout));
-        return session;
+    @Override
+    public byte[] getScrollback(String sessionId, int maxBytes) {
+        TerminalSession session = sessions.get(sessionId);
+        if (session == null) {
+            return null;
+        }
+        TerminalScrollbackBuffer.Chunk chunk = session.scrollback.tail(maxBytes);
+        log.debug("Scrollback replay for session {}: {} bytes (offset {})",
+            sessionId, chunk.data().length, chunk.offset());
+        return chunk.data();
+    }
+
+    @Override
+    public void detachSession(String sessionId) {
+        TerminalSession session = sessions.get(sessionId);
+        if (session == null) {
+            return;
+        }
+
+        if (detachGracePeriodMs <= 0) {
+            cleanupSession(sessionId, "WebSocket disconnected");
+            return;
+        }
+
+        // SSH 연결은 유지하고 출력은 계속 스크롤백에 기록, 유예 시간 안에 resume이 없으면 정리
+        ScheduledFuture<?> expiry = outputFlushScheduler.schedule(
+            () -> outputReaderExecutor.execute(() -> expireDetachedSession(sessionId, session)),
+            detachGracePeriodMs, TimeUnit.MILLISECONDS);
+        session.detach(expiry);
+        log.info("SSH session detached: {} | Grace period: {}s | Output offset: {}",
+            sessionId, detachGracePeriodMs / 1000, session.scrollback.getEndOffset());
+    }
+
+    @Override
+    public boolean resume(TerminalResumeRequest request) {
+        return resume(request, stompOutputSink);
+    }
+
+    @Override
+    public boolean resume(TerminalResumeRequest request, TerminalOutputSink outputSink) {
+        String sessionId = request.sessionId();
+        TerminalSession session = sessions.get(sessionId);
+
+        if (session == null || !session.matchesResumeToken(request.resumeToken())) {
+            log.warn("Resume rejected: {} | Reason: {}", sessionId, session == null ? "session not found" : "invalid token");
+            outputSink.sendMessage(sessionId,
+                TerminalMessage.error(sessionId, ErrorCode.SESSION_NOT_FOUND.getCode(), "Session not found or expired"));
+            return false;
+        }
+
+        Instant detachedAt = session.getDetachedAt();
+        if (!session.attach()) {
+            log.warn("Resume rejected: {} | Reason: grace period expired", sessionId);
+            outputSink.sendMessage(sessionId,
+                TerminalMessage.error(sessionId, ErrorCode.SESSION_NOT_FOUND.getCode(), "Session not found or expired"));
+            return false;
+        }
+        session.updateActivity();
+
+        // 대기 중인 출력까지 스크롤백에 반영한 뒤, 새 출력이 끼어들기 전에 빠진 구간을 보낸다
+        long[] replayed = new long[2];
+        session.outputCoalescer.flushAndRun(() -> {
+            session.outputSink.attach(outputSink);
+
+            long lastOffset = request.lastOffset() != null ? request.lastOffset() : session.scrollback.getEndOffset();
+            TerminalScrollbackBuffer.Chunk missed = session.scrollback.readFrom(lastOffset);
+            long lostBytes = Math.max(0, missed.offset() - lastOffset);
+
+            outputSink.sendMessage(sessionId, TerminalMessage.resumed(sessionId, missed.offset(), lostBytes));
+            if (missed.data().length > 0) {
+                outputSink.sendOutput(sessionId, missed.data(), 0, missed.data().length, missed.endOffset());
+            }
+            replayed[0] = missed.data().length;
+            replayed[1] = lostBytes;
+        });
+
+        log.info("SSH session resumed: {} | Detached: {}ms | Replayed: {} bytes | Lost: {} bytes",
+            sessionId,
+            detachedAt != null ? Duration.between(detachedAt, Instant.now()).toMillis() : 0,
+            replayed[0],
+            replayed[1]);
+        return true;
+    }
+
+    private void expireDetachedSession(String sessionId, TerminalSession session) {
+        if (sessions.get(sessionId) == session && session.expireDetached()) {
+            cleanupSession(sessionId, String.format("Not resumed within %ds after WebSocket disconnect",
+                detachGracePeriodMs / 1000));
+        }
+    }
+
+    @Override
+    public boolean attachViewer(TerminalViewerAttachRequest request, String connectionId) {
+        return attachViewer(request, connectionId,
+            new StompViewerOutputSink(messagingTemplate, stompOutboundTracker, request.viewerId()));
+    }
+
+    @Override
+    public boolean attachViewer(TerminalViewerAttachRequest request, String connectionId, TerminalOutputSink outputSink) {
+        String sessionId = request.sessionId();
+        String viewerId = request.viewerId();
+        TerminalSession session = sessions.get(sessionId);
+
+        if (session == null) {
+            outputSink.sendMessage(sessionId,
+                TerminalMessage.error(sessionId, ErrorCode.SESSION_NOT_FOUND.getCode(), "Session not found"));
+            return false;
+        }
+        if (viewerId == null || viewerId.isBlank() || viewerId.indexOf('/') >= 0) {
+            outputSink.sendMessage(sessionId,
+                TerminalMessage.error(sessionId, ErrorCode.INVALID_REQUEST.getCode(), "Invalid viewer id"));
+            return false;
+        }
+        boolean writable = TerminalViewers.MODE_WRITE.equalsIgnoreCase(request.mode());
+        if (writable && !session.matchesResumeToken(request.resumeToken())) {
+            log.warn("Viewer attach rejected: {} / {} | Reason: invalid token for write mode", sessionId, viewerId);
+            outputSink.sendMessage(sessionId, TerminalMessage.error(sessionId, ErrorCode.INVALID_REQUEST.getCode(),
+                "Read-write viewers need the session's resume token"));
+            return false;
+        }
+        if (!session.viewers.contains(viewerId) && session.viewers.size() >= maxViewers) {
+            outputSink.sendMessage(sessionId, TerminalMessage.error(sessionId, ErrorCode.SESSION_LIMIT.getCode(),
+                "Maximum viewer limit (" + maxViewers + ") reached"));
+            return false;
+        }
+
+        // 대기 중인 출력을 내보낸 뒤 현재 화면(스크롤백 마지막 부분)을 보내고 등록, 이후 출력은 빠짐없이 이어진다
+        String mode = writable ? TerminalViewers.MODE_WRITE : TerminalViewers.MODE_READ;
+        long[] screenBytes = new long[1];
+        session.outputCoalescer.flushAndRun(() -> {
+            TerminalScrollbackBuffer.Chunk screen = session.scrollback.tail(scrollbackReplayBytes);
+            outputSink.sendMessage(sessionId, TerminalMessage.attached(sessionId, mode, screen.offset()));
+            if (screen.data().length > 0) {
+                outputSink.sendOutput(sessionId, screen.data(), 0, screen.data().length, screen.endOffset());
+            }
+            session.viewers.attach(viewerId, connectionId, writable, outputSink, screen.endOffset());
+            screenBytes[0] = screen.data().length;
+        });
+
+        log.info("Viewer attached: {} / {} | Mode: {} | Connection: {} | Screen: {} bytes | Viewers: {}",
+            sessionId, viewerId, mode, connectionId, screenBytes[0], session.viewers.size());
+        return true;
+    }
+
+    @Override
+    public void detachViewer(TerminalViewerDetachRequest request, String connectionId) {
+        TerminalSession session = sessions.get(request.sessionId());
+        if (session != null && session.viewers.remove(request.viewerId(), connectionId)) {
+            log.info("Viewer detached: {} / {} | Viewers: {}", request.sessionId(), request.viewerId(), session.viewers.size());
+        }
+    }
+
+    @Override
+    public void detachViewers(String connectionId) {
+        for (TerminalSession session : sessions.values()) {
+            int removed = session.viewers.removeConnection(connectionId);
+            if (removed > 0) {
+                log.info("Viewers detached on WebSocket close: {} | Connection: {} | Removed: {}",
+                    session.sessionId, connectionId, removed);
+            }
+        }
+    }
+
+    @Override
+    public boolean authorizeViewerWrite(String sessionId, String connectionId) {
+        TerminalSession session = sessions.get(sessionId);
+        if (session == null) {
+            return false;
+        }
+        if (session.viewers.isWritable(connectionId)) {
+            return true;
+        }
+        log.debug("Write request from non-owner connection ignored: {} | Connection: {}", sessionId, connectionId);
+        // 읽기 전용 viewer 로 붙은 연결에만 전송됨 (붙지 않은 연결에는 응답 없음)
+        session.viewers.sendMessage(connectionId,
+            TerminalMessage.error(sessionId, ErrorCode.READ_ONLY.getCode(), "Read-only viewer cannot send input"));
+        return false;
+    }
+
+    /**
+     * 밀린 viewer 가 따라잡았는지 주기적으로 확인 (세션 출력이 없어도 재전송되도록 스케줄러에서 확인)
+     */
+    private void scheduleViewerResync(String sessionId) {
+        TerminalSession session = sessions.get(sessionId);
+        if (session != null && session.viewerResyncScheduled.compareAndSet(false, true)) {
+            outputFlushScheduler.schedule(() -> checkViewerResync(session), flowPollMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void checkViewerResync(TerminalSession session) {
+        session.viewerResyncScheduled.set(false);
+        if (!session.running) {
+            return;
+        }
+
+        // 재전송 구간과 새 출력 사이에 다른 출력이 끼어들지 않도록 병합기 락 안에서 실행
+        boolean[] stillLagging = new boolean[1];
+        session.outputCoalescer.flushAndRun(() -> stillLagging[0] = session.viewers.resync(session.scrollback));
+        if (stillLagging[0]) {
+            scheduleViewerResync(session.sessionId);
+        }
+    }
+
+    /**
+     * 진단 응답용 세션 라벨 (같은 세션이면 같은 값, 원본 sessionId 는 알 수 없음)
+     */
+    private String sessionLabel(String sessionId) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(sessionLabelKey);
+            byte[] digest = mac.doFinal(sessionId.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private String newResumeToken() {
+        byte[] token = new byte[24];
+        tokenRandom.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
     }
 
     private ChannelShell createShellChannel(ClientSession session, TerminalConnectRequest.TerminalConfig config)
@@ -336,12 +1228,24 @@ public class TerminalSessionServiceImpl implements TerminalSessionService {
 
             try {
                 while (session.running && !Thread.currentThread().isInterrupted()) {
+                    // 클라이언트가 밀려 있으면 파이프 읽기를 멈춤 (파이프가 차면 채널 쓰기도 멈춘다)
+                    while (session.running && session.flowController.shouldPauseReading()
+                            && !session.flowController.tryRelease()) {
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flowPollMs));
+                    }
+
                     // Blocking read - 데이터가 있을 때 즉시 반환
                     int read = session.userOutput.read(buffer);
                     if (read > 0) {
-                        String output = new String(buffer, 0, read, StandardCharsets.UTF_8);
-                        sendOutput(sessionId, output);
+                        if (latencyProbeEnabled) {
+                            session.latencyProbe.outputRead(System.nanoTime());
+                        }
+                        metrics.recordOutputRead(read);
+                        session.flowController.accept(buffer, 0, read);
                         session.updateActivity();
+                        if (session.flowController.isThrottled()) {
+                            scheduleFlowControlCheck(session);
+                        }
                     } else if (read == -1) {
                         // Stream closed
                         disconnectReason = "SSH output stream closed (EOF)";
@@ -364,33 +1268,185 @@ public class TerminalSessionServiceImpl implements TerminalSessionService {
                     log.error("Output reader error for session: {} | Error: {} | LastActivity: {}s ago",
                         sessionId,
                         e.getMessage(),
-                        Duration.between(session.lastActivity, Instant.now()).getSeconds(),
+                        session.idleSeconds(),
                         e
                     );
-                    sendError(sessionId, ErrorCode.NETWORK_ERROR, "Connection lost: " + e.getMessage());
+                    sendError(session, ErrorCode.NETWORK_ERROR, "Connection lost: " + e.getMessage());
                 }
             } finally {
+                session.outputCoalescer.close();
                 if (session.running) {
                     log.info("Output reader terminating for session: {} | Reason: {} | HasError: {}",
                         sessionId, disconnectReason, hasError);
 
-                    cleanupSession(sessionId, disconnectReason);
-                    sendStatus(sessionId, "disconnected", disconnectReason);
+                    if (cleanupSession(sessionId, disconnectReason)) {
+                        metrics.recordSessionFailure(hasError ? "output_error" : "output_eof");
+                    }
+                    sendStatus(session, "disconnected", disconnectReason);
                 }
             }
         });
     }
 
-    private KeyPair loadKeyPair(String privateKeyPem) throws GeneralSecurityException, IOException {
-        try (java.io.ByteArrayInputStream inputStream = new java.io.ByteArrayInputStream(
-                privateKeyPem.getBytes(java.nio.charset.StandardCharsets.UTF_8))) {
-            Iterable<KeyPair> keyPairs = org.apache.sshd.common.util.security.SecurityUtils
-                .loadKeyPairIdentities(null, null, inputStream, null);
-            for (KeyPair kp : keyPairs) {
-                return kp;
+    /**
+     * 세션 입력 파이프라인: async 모드는 비동기 inverted-in 스트림(IoOutputStream)에 쓰고 완료 콜백으로 이어가며,
+     * pipe 모드는 블로킹 inverted-in 스트림에 reader 실행기 스레드에서 쓴다 (어느 쪽도 inbound 스레드에서 기다리지 않음).
+     * 청크 크기는 원격 윈도우를 따르므로 윈도우가 닫혀 있으면 붙여넣기 나머지는 큐에서 기다린다.
+     */
+    private TerminalInputPipeline createInputPipeline(String sessionId, ChannelShell channel, boolean asyncOutput,
+                                                      KeystrokeLatencyProbe latencyProbe) {
+        TerminalInputPipeline.ChunkWriter writer;
+        if (asyncOutput) {
+            writer = (chunk, done) -> channel.getAsyncIn().writeBuffer(new ByteArrayBuffer(chunk))
+                .addListener(future -> {
+                    if (future.isWritten()) {
+                        metrics.recordInput(chunk.length);
+                        done.accept(null);
+                    } else {
+                        done.accept(future.getException() != null
+                            ? future.getException() : new IOException("Input write not completed"));
+                    }
+                });
+        } else {
+            OutputStream channelInput = channel.getInvertedIn();
+            writer = (chunk, done) -> outputReaderExecutor.execute(() -> {
+                try {
+                    channelInput.write(chunk);
+                    channelInput.flush();
+                    metrics.recordInput(chunk.length);
+                    done.accept(null);
+                } catch (IOException e) {
+                    done.accept(e);
+                }
+            });
+        }
+
+        return new TerminalInputPipeline(
+            writer,
+            () -> channel.getRemoteWindow().getSize(),
+            (int) channel.getRemoteWindow().getPacketSize(),
+            inputMaxChunkBytes,
+            inputMaxPendingBytes,
+            // 채널 쓰기에 넘기는 시점을 기록 (쓰기 완료까지는 소켓 전송을 포함하므로 remote 구간)
+            token -> latencyProbe.inputWritten(token, System.nanoTime()),
+            error -> {
+                log.error("Failed to send input to session {}: {}", sessionId, error.getMessage());
+                TerminalSession session = sessions.get(sessionId);
+                if (session != null) {
+                    sendError(session, ErrorCode.NETWORK_ERROR, "Failed to send input");
+                }
             }
+        );
+    }
+
+    /**
+     * 비동기 스트리밍 모드의 출력 처리.
+     * 읽기 완료 콜백(MINA I/O 스레드)에서 바로 전송하고 다음 읽기를 예약하므로 세션별 대기 스레드가 없다.
+     * PTY 셸은 stderr도 stdout으로 합쳐 보내지만, 확장 데이터가 오면 윈도우가 막히지 않도록 함께 소비한다.
+     */
+    private void startAsyncOutputReader(String sessionId, TerminalSession session) {
+        readAsyncOutput(sessionId, session, session.channel.getAsyncOut(), new ByteArrayBuffer(bufferSize), true);
+        readAsyncOutput(sessionId, session, session.channel.getAsyncErr(), new ByteArrayBuffer(bufferSize), false);
+    }
+
+    private void readAsyncOutput(String sessionId, TerminalSession session, IoInputStream stream,
+                                 ByteArrayBuffer buffer, boolean primary) {
+        if (!session.running) {
+            return;
+        }
+
+        buffer.clear();
+        stream.read(buffer).addListener(future -> handleAsyncRead(sessionId, session, stream, buffer, future, primary));
+    }
+
+    private void handleAsyncRead(String sessionId, TerminalSession session, IoInputStream stream,
+                                 ByteArrayBuffer buffer, IoReadFuture future, boolean primary) {
+        Throwable error = future.getException();
+        if (error != null) {
+            // stderr 스트림 종료는 무시하고 stdout 종료 시에만 세션을 정리
+            if (!primary || !session.running) {
+                return;
+            }
+
+            String disconnectReason;
+            if (error instanceof EOFException) {
+                disconnectReason = "SSH output stream closed (EOF)";
+                log.info("Output stream closed for session: {} | Duration: {}s",
+                    sessionId,
+                    Duration.between(session.createdAt, Instant.now()).getSeconds()
+                );
+            } else {
+                disconnectReason = String.format("IO error in output reader: %s", error.getMessage());
+                log.error("Output reader error for session: {} | Error: {} | LastActivity: {}s ago",
+                    sessionId,
+                    error.getMessage(),
+                    session.idleSeconds(),
+                    error
+                );
+                sendError(session, ErrorCode.NETWORK_ERROR, "Connection lost: " + error.getMessage());
+            }
+
+            session.outputCoalescer.close();
+            log.info("Output reader terminating for session: {} | Reason: {} | HasError: {}",
+                sessionId, disconnectReason, !(error instanceof EOFException));
+            // MINA I/O 스레드에서 채널/연결을 닫지 않도록 정리 풀로 넘김
+            scheduleTeardown(sessionId, session, disconnectReason,
+                error instanceof EOFException ? "output_eof" : "output_error", eventTeardowns);
+            return;
+        }
+
+        int read = buffer.available();
+        if (read > 0) {
+            if (latencyProbeEnabled) {
+                session.latencyProbe.outputRead(System.nanoTime());
+            }
+            metrics.recordOutputRead(read);
+            session.flowController.accept(buffer.array(), buffer.rpos(), read);
+            session.updateActivity();
+        }
+
+        if (session.flowController.shouldPauseReading()) {
+            // 다음 read를 예약하지 않으면 채널 로컬 윈도우가 반환되지 않아 원격 측 전송이 멈춘다
+            session.pausedReads.add(() -> readAsyncOutput(sessionId, session, stream, buffer, primary));
+            scheduleFlowControlCheck(session);
+            return;
+        }
+        if (session.flowController.isThrottled()) {
+            // drop 정책: 클라이언트가 따라잡으면 보관한 최신 출력을 전송
+            scheduleFlowControlCheck(session);
+        }
+
+        readAsyncOutput(sessionId, session, stream, buffer, primary);
+    }
+
+    private void scheduleFlowControlCheck(TerminalSession session) {
+        if (session.flowCheckScheduled.compareAndSet(false, true)) {
+            outputFlushScheduler.schedule(() -> checkFlowControl(session), flowPollMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 지연 상태 해제 여부를 주기적으로 확인하고, 해제되면 보류한 채널 읽기를 재개
+     */
+    private void checkFlowControl(TerminalSession session) {
+        session.flowCheckScheduled.set(false);
+        if (!session.running) {
+            return;
+        }
+
+        if (!session.flowController.tryRelease()) {
+            scheduleFlowControlCheck(session);
+            return;
+        }
+
+        Runnable pausedRead;
+        while ((pausedRead = session.pausedReads.poll()) != null) {
+            pausedRead.run();
         }
-        throw new GeneralSecurityException("No valid key pair found in PEM data");
+    }
+
+    private boolean isAsyncOutputMode() {
+        return "async".equalsIgnoreCase(outputMode);
     }
 
     private ErrorCode determineErrorCode(Exception e) {
@@ -404,25 +1460,14 @@ public class TerminalSessionServiceImpl implements TerminalSessionService {
         return ErrorCode.NETWORK_ERROR;
     }
 
-    private void sendOutput(String sessionId, String data) {
-        messagingTemplate.convertAndSend(
-            "/topic/terminal/" + sessionId,
-            TerminalMessage.output(sessionId, data)
-        );
+    private void sendError(TerminalSession session, ErrorCode errorCode, String message) {
+        session.outputSink.sendMessage(session.sessionId,
+            TerminalMessage.error(session.sessionId, errorCode.getCode(), message));
     }
 
-    private void sendError(String sessionId, ErrorCode errorCode, String message) {
-        messagingTemplate.convertAndSend(
-            "/topic/terminal/" + sessionId,
-            TerminalMessage.error(sessionId, errorCode.getCode(), message)
-        );
-    }
-
-    private void sendStatus(String sessionId, String status, String message) {
-        messagingTemplate.convertAndSend(
-            "/topic/terminal/" + sessionId,
-            TerminalMessage.status(sessionId, status, message)
-        );
+    private void sendStatus(TerminalSession session, String status, String message) {
+        session.outputSink.sendMessage(session.sessionId,
+            TerminalMessage.status(session.sessionId, status, message));
     }
 
     private void closeQuietly(Closeable closeable) {
@@ -444,190 +1489,325 @@ public class TerminalSessionServiceImpl implements TerminalSessionService {
             return DirectoryListResponse.error("Session not found");
         }
 
-        String path = request.path();
-        if (path == null || path.isEmpty()) {
-            path = ".";
+        session.updateActivity();
+        long startNanos = System.nanoTime();
+        if (directoryCacheEnabled) {
+            DirectoryListingCache.Lookup cached = session.directoryCache.lookup(request.path(), System.currentTimeMillis());
+            if (cached != null) {
+                if (cached.stale()) {
+                    revalidateDirectory(session, cached);
+                }
+                session.setCurrentPath(cached.path());
+                log.debug("listDirectory: cache {} for {}", cached.stale() ? "stale hit" : "hit", cached.path());
+                metrics.recordDirectoryListing(System.nanoTime() - startNanos, "cache", true);
+                return cached.response();
+            }
         }
 
         try {
-            // ls -la 명령 실행하여 디렉토리 목록 조회
-            String command = String.format("ls -la --time-style=long-iso %s 2>/dev/null || ls -la %s", path, path);
-            String output = executeCommand(session.clientSession, command);
-
-            // 실제 절대 경로 조회 (~ 등을 절대 경로로 변환)
-            String currentPath = executeCommand(session.clientSession, "cd " + path + " && pwd").trim();
-            log.debug("listDirectory: resolved path {} -> {}", path, currentPath);
-
-            java.util.List<DirectoryEntry> entries = parseLsOutput(output);
-
-            // 최상위 디렉토리(/)에서는 .. 제거
-            if ("/".equals(currentPath)) {
-                entries.removeIf(e -> "..".equals(e.name()));
+            RemoteDirectoryService.Listing listing =
+                remoteDirectoryService.listDirectory(session.clientSession, request.path());
+            DirectoryListResponse response = listing.response();
+            if (directoryCacheEnabled) {
+                session.directoryCache.put(request.path(), response, listing.modifiedTime(), System.currentTimeMillis());
             }
 
-            session.updateActivity();
-            session.setCurrentPath(currentPath);
-            log.debug("listDirectory: saved currentPath = {}", currentPath);
+            session.setCurrentPath(response.currentPath());
+            log.debug("listDirectory: saved currentPath = {}", response.currentPath());
 
-            return DirectoryListResponse.success(currentPath, entries);
+            metrics.recordDirectoryListing(System.nanoTime() - startNanos, "remote", true);
+            return response;
         } catch (Exception e) {
+            metrics.recordDirectoryListing(System.nanoTime() - startNanos, "remote", false);
             log.error("Failed to list directory for session {}: {}", sessionId, e.getMessage());
             return DirectoryListResponse.error(e.getMessage());
         }
     }
 
     @Override
-    public String getCurrentDirectory(String sessionId) {
+    public void streamDirectory(DirectoryStreamRequest request) {
+        String sessionId = request.sessionId();
+        String listingId = request.listingId();
         TerminalSession session = sessions.get(sessionId);
+
         if (session == null) {
-            log.debug("getCurrentDirectory: session not found for {}", sessionId);
-            return null;
+            sendDirectoryPage(sessionId, DirectoryPageResponse.error(listingId, "Session not found"));
+            return;
         }
+        session.updateActivity();
 
-        log.debug("getCurrentDirectory: session.currentPath = {}", session.currentPath);
+        int pageSize = Math.max(1, Math.min(request.pageSize() != null ? request.pageSize() : streamPageSize, streamMaxPageSize));
+        DirectoryListingStream listing = new DirectoryListingStream(listingId, pageSize, request.sortBy(),
+            Boolean.TRUE.equals(request.descending()), request.filter(), streamMaxEntries,
+            page -> sendDirectoryPage(sessionId, page));
+        registerDirectoryStream(session, listingId, listing);
 
-        // 마지막으로 탐색한 디렉토리 경로 반환
-        if (session.currentPath != null) {
-            log.debug("getCurrentDirectory: returning stored path {}", session.currentPath);
-            return session.currentPath;
-        }
+        // 디렉토리 크기와 관계없이 예산 안에 첫 페이지(미리보기)를 보낸다
+        ScheduledFuture<?> firstPageBudget = outputFlushScheduler.schedule(
+            () -> outputReaderExecutor.execute(listing::sendPreviewIfPending),
+            streamFirstPageBudgetMs, TimeUnit.MILLISECONDS);
 
-        // 없으면 홈 디렉토리 반환
-        try {
-            String homePath = executeCommand(session.clientSession, "pwd").trim();
-            session.setCurrentPath(homePath);
-            log.debug("getCurrentDirectory: returning home path {}", homePath);
-            return homePath;
-        } catch (Exception e) {
-            log.error("Failed to get current directory for session {}: {}", sessionId, e.getMessage());
-            return null;
-        }
+        outputReaderExecutor.execute(() -> {
+            try {
+                remoteDirectoryService.streamDirectory(session.clientSession, request.path(), listing);
+                if (listing.finish()) {
+                    log.debug("Directory stream finished: {} -> {} | {} entries{} | First page: {}ms | Total: {}ms",
+                        sessionId, request.path(), listing.getLoadedCount(), listing.isTruncated() ? " (truncated)" : "",
+                        listing.getFirstPageMillis(), (System.nanoTime() - listing.startedAtNanos) / 1_000_000);
+                }
+            } catch (Exception e) {
+                log.error("Failed to stream directory for session {}: {}", sessionId, e.getMessage());
+                listing.fail(e.getMessage());
+            } finally {
+                firstPageBudget.cancel(false);
+                // 완료 후 retain-ms 동안은 페이지 요청에 응답
+                outputFlushScheduler.schedule(() -> session.directoryStreams.remove(listingId, listing),
+                    streamRetainMs, TimeUnit.MILLISECONDS);
+            }
+        });
     }
 
-    private String executeCommand(ClientSession clientSession, String command) throws IOException {
-        try (org.apache.sshd.client.channel.ChannelExec execChannel = clientSession.createExecChannel(command)) {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            execChannel.setOut(outputStream);
-            execChannel.setErr(outputStream);
-
-            execChannel.open().verify(Duration.ofMillis(connectionTimeout));
-            execChannel.waitFor(java.util.EnumSet.of(org.apache.sshd.client.channel.ClientChannelEvent.CLOSED), Duration.ofSeconds(10));
+    @Override
+    public void requestDirectoryPage(DirectoryPageRequest request) {
+        TerminalSession session = sessions.get(request.sessionId());
+        DirectoryListingStream listing = session != null ? session.directoryStreams.get(request.listingId()) : null;
 
-            return outputStream.toString(StandardCharsets.UTF_8);
+        if (listing == null) {
+            sendDirectoryPage(request.sessionId(), DirectoryPageResponse.error(request.listingId(), "Listing not found or expired"));
+            return;
         }
+        session.updateActivity();
+        listing.sendRequestedPage(request.page());
     }
 
-    private java.util.List<DirectoryEntry> parseLsOutput(String output) {
-        java.util.List<DirectoryEntry> entries = new java.util.ArrayList<>();
-        String[] lines = output.split("\n");
+    @Override
+    public void cancelDirectoryStream(DirectoryStreamCancelRequest request) {
+        TerminalSession session = sessions.get(request.sessionId());
+        DirectoryListingStream listing = session != null ? session.directoryStreams.remove(request.listingId()) : null;
+        if (listing != null) {
+            int loaded = listing.cancel();
+            log.debug("Directory stream cancelled: {} / {} after {} entries", request.sessionId(), request.listingId(), loaded);
+        }
+    }
 
-        log.debug("Parsing ls output, lines count: {}", lines.length);
+    /**
+     * 세션당 동시 조회 수 제한: 한도를 넘으면 가장 오래된 조회를 취소
+     */
+    private void registerDirectoryStream(TerminalSession session, String listingId, DirectoryListingStream listing) {
+        DirectoryListingStream previous = session.directoryStreams.put(listingId, listing);
+        if (previous != null) {
+            previous.cancel();
+        }
 
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isEmpty() || line.startsWith("total")) {
-                continue;
+        while (session.directoryStreams.size() > streamMaxPerSession) {
+            Optional<Map.Entry<String, DirectoryListingStream>> oldest = session.directoryStreams.entrySet().stream()
+                .filter(entry -> entry.getValue() != listing)
+                .min(Comparator.comparingLong(entry -> entry.getValue().startedAtNanos));
+            if (oldest.isEmpty()) {
+                // 취소할 다른 조회가 없음 (남은 것은 새 조회뿐)
+                break;
+            }
+            if (session.directoryStreams.remove(oldest.get().getKey(), oldest.get().getValue())) {
+                oldest.get().getValue().cancel();
             }
+        }
+    }
 
-            // ls -la 출력 파싱 (다양한 형식 지원)
-            // 형식1: drwxr-xr-x 2 user group 4096 2024-01-15 10:30 filename (--time-style=long-iso)
-            // 형식2: drwxr-xr-x 2 user group 4096 Jan 15 10:30 filename (기본 형식)
-            String[] parts = line.split("\\s+");
-            log.debug("Line: '{}', parts count: {}", line, parts.length);
+    private void sendDirectoryPage(String sessionId, DirectoryPageResponse page) {
+        messagingTemplate.convertAndSend("/topic/terminal/" + sessionId + "/directory/page", page);
+    }
 
-            if (parts.length < 8) {
-                log.debug("Skipping line with {} parts (need at least 8)", parts.length);
-                continue;
-            }
+    /**
+     * 캐시 응답 후 백그라운드 재검증. 명령 실행 전의 목록이 아니면 디렉토리 수정 시각만 비교하고,
+     * 목록이 바뀌었고 사용자가 아직 그 디렉토리를 보고 있으면 새 목록을 전송
+     */
+    private void revalidateDirectory(TerminalSession session, DirectoryListingCache.Lookup cached) {
+        String path = cached.path();
+        if (!session.directoryCache.beginRevalidation(path)) {
+            return;
+        }
 
-            String permissions = parts[0];
-            String owner = parts[2];
-            String group = parts[3];
-            long size = 0;
+        outputReaderExecutor.execute(() -> {
             try {
-                size = Long.parseLong(parts[4]);
-            } catch (NumberFormatException ignored) {}
-
-            // 파일명은 마지막에 있음 (공백이 포함될 수 있으므로 앞부분 제거 후 추출)
-            String name;
-            String modified;
-
-            // 날짜 형식에 따라 파일명 위치가 다름
-            // --time-style=long-iso: drwxr-xr-x 2 user group 4096 2024-01-15 10:30 filename (9+ parts)
-            // 기본 형식: drwxr-xr-x 2 user group 4096 Jan 15 10:30 filename (9+ parts)
-            if (parts.length >= 9) {
-                modified = parts[5] + " " + parts[6];
-                // 파일명은 8번째 인덱스부터 끝까지 (공백 포함 파일명 처리)
-                StringBuilder nameBuilder = new StringBuilder(parts[8]);
-                for (int i = 9; i < parts.length; i++) {
-                    nameBuilder.append(" ").append(parts[i]);
+                if (!cached.dirty() && cached.modifiedTime() != null
+                        && cached.modifiedTime().equals(remoteDirectoryService.getModifiedTime(session.clientSession, path))) {
+                    session.directoryCache.touch(path, System.currentTimeMillis());
+                    return;
                 }
-                name = nameBuilder.toString();
-            } else {
-                // 8 parts: drwxr-xr-x 2 user group 4096 Jan 15 filename
-                modified = parts[5] + " " + parts[6];
-                name = parts[7];
-            }
 
-            // . 은 항상 제외
-            if (name.equals(".")) {
-                continue;
-            }
+                RemoteDirectoryService.Listing listing = remoteDirectoryService.listDirectory(session.clientSession, path);
+                DirectoryListResponse response = listing.response();
+                session.directoryCache.put(path, response, listing.modifiedTime(), System.currentTimeMillis());
 
-            String type = "file";
-            if (permissions.startsWith("d")) {
-                type = "directory";
-            } else if (permissions.startsWith("l")) {
-                type = "link";
-                // 심볼릭 링크의 경우 -> 이후 제거
-                int arrowIdx = name.indexOf(" -> ");
-                if (arrowIdx > 0) {
-                    name = name.substring(0, arrowIdx);
+                if (!response.entries().equals(cached.response().entries()) && path.equals(session.currentPath)) {
+                    log.debug("Directory changed, pushing refreshed listing: {} -> {}", session.sessionId, path);
+                    messagingTemplate.convertAndSend("/topic/terminal/" + session.sessionId + "/directory", response);
                 }
+            } catch (Exception e) {
+                // 삭제된 디렉토리 등: 다음 조회는 원격에서 다시 받아 오류를 그대로 전달
+                log.debug("Directory revalidation failed for session {}: {} ({})", session.sessionId, path, e.getMessage());
+                session.directoryCache.invalidate(path);
+            } finally {
+                session.directoryCache.endRevalidation(path);
             }
+        });
+    }
 
-            log.debug("Parsed entry: name={}, type={}, permissions={}", name, type, permissions);
-            entries.add(new DirectoryEntry(name, type, permissions, owner, group, size, modified));
+    private static boolean containsLineEnd(byte[] data) {
+        for (byte b : data) {
+            if (b == '\r' || b == '\n') {
+                return true;
+            }
         }
+        return false;
+    }
 
-        // .. 먼저, 그 다음 디렉토리, 그 다음 파일 (이름순 정렬)
-        entries.sort((a, b) -> {
-            // .. 은 항상 맨 위
-            if (a.name().equals("..")) return -1;
-            if (b.name().equals("..")) return 1;
-            // 디렉토리 먼저
-            if (a.type().equals("directory") && !b.type().equals("directory")) return -1;
-            if (!a.type().equals("directory") && b.type().equals("directory")) return 1;
-            return a.name().compareToIgnoreCase(b.name());
-        });
+    @Override
+    public String getCurrentDirectory(String sessionId) {
+        TerminalSession session = sessions.get(sessionId);
+        if (session == null) {
+            log.debug("getCurrentDirectory: session not found for {}", sessionId);
+            return null;
+        }
+
+        log.debug("getCurrentDirectory: session.currentPath = {}", session.currentPath);
 
-        return entries;
+        // 마지막으로 탐색한 디렉토리 경로 반환
+        if (session.currentPath != null) {
+            log.debug("getCurrentDirectory: returning stored path {}", session.currentPath);
+            return session.currentPath;
+        }
+
+        // 없으면 홈 디렉토리 반환
+        try {
+            String homePath = remoteDirectoryService.getHomeDirectory(session.clientSession);
+            session.setCurrentPath(homePath);
+            log.debug("getCurrentDirectory: returning home path {}", homePath);
+            return homePath;
+        } catch (Exception e) {
+            log.error("Failed to get current directory for session {}: {}", sessionId, e.getMessage());
+            return null;
+        }
     }
 
-    private static class TerminalSession {
+    private static class TerminalSession implements IdleTimeoutWheel.Target {
         final String sessionId;
         final ClientSession clientSession;
         final ChannelShell channel;
-        final PipedOutputStream userInput;
+        final TerminalInputPipeline inputPipeline;
+        // pipe 모드 전용 (async 모드에서는 null)
         final PipedInputStream userOutput;
+        final TerminalOutputCoalescer outputCoalescer;
+        final TerminalFlowController flowController;
+        final TerminalScrollbackBuffer scrollback;
+        final DetachableOutputSink outputSink;
+        final TerminalViewers viewers;
+        final DirectoryListingCache directoryCache;
+        final Map<String, DirectoryListingStream> directoryStreams = new ConcurrentHashMap<>();
+        final String resumeToken;
         final Instant createdAt;
-        volatile Instant lastActivity;
+        // 키 입력, 출력마다 갱신되므로 객체를 만들지 않는 nanoTime 값만 기록
+        volatile long lastActivityNanos;
+        final long idleTimeoutNanos;
+        final KeystrokeLatencyProbe latencyProbe;
+        IdleTimeoutWheel.Timeout<TerminalSession> idleTimeout;
         volatile boolean running = true;
         volatile String currentPath;
+        // 흐름 제어로 보류된 비동기 채널 읽기
+        final Queue<Runnable> pausedReads = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean flowCheckScheduled = new AtomicBoolean();
+        final AtomicBoolean viewerResyncScheduled = new AtomicBoolean();
+        // 연결/채널 종료 이벤트 리스너 (정리 시 제거)
+        SessionListener sessionListener;
+        ChannelListener channelListener;
+        // WebSocket 분리 상태 (detachedAt == null 이면 연결됨)
+        private Instant detachedAt;
+        private ScheduledFuture<?> detachExpiry;
+        private boolean detachExpired;
 
         TerminalSession(String sessionId, ClientSession clientSession, ChannelShell channel,
-                       PipedOutputStream userInput, PipedInputStream userOutput, Instant createdAt) {
+                       TerminalInputPipeline inputPipeline, PipedInputStream userOutput,
+                       TerminalOutputCoalescer outputCoalescer, TerminalFlowController flowController,
+                       TerminalScrollbackBuffer scrollback, DetachableOutputSink outputSink,
+                       TerminalViewers viewers, DirectoryListingCache directoryCache, long idleTimeoutNanos,
+                       KeystrokeLatencyProbe latencyProbe, String resumeToken, Instant createdAt) {
             this.sessionId = sessionId;
             this.clientSession = clientSession;
             this.channel = channel;
-            this.userInput = userInput;
+            this.inputPipeline = inputPipeline;
             this.userOutput = userOutput;
+            this.outputCoalescer = outputCoalescer;
+            this.flowController = flowController;
+            this.scrollback = scrollback;
+            this.outputSink = outputSink;
+            this.viewers = viewers;
+            this.directoryCache = directoryCache;
+            this.idleTimeoutNanos = idleTimeoutNanos;
+            this.latencyProbe = latencyProbe;
+            this.resumeToken = resumeToken;
             this.createdAt = createdAt;
-            this.lastActivity = createdAt;
+            this.lastActivityNanos = System.nanoTime();
         }
 
         void updateActivity() {
-            this.lastActivity = Instant.now();
+            this.lastActivityNanos = System.nanoTime();
+        }
+
+        long idleSeconds() {
+            return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - lastActivityNanos);
+        }
+
+        @Override
+        public long lastActivityNanos() {
+            return lastActivityNanos;
+        }
+
+        @Override
+        public long idleTimeoutNanos() {
+            return idleTimeoutNanos;
+        }
+
+        boolean matchesResumeToken(String token) {
+            return token != null && MessageDigest.isEqual(
+                resumeToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+        }
+
+        synchronized void detach(ScheduledFuture<?> expiry) {
+            if (detachExpiry != null) {
+                detachExpiry.cancel(false);
+            }
+            detachedAt = Instant.now();
+            detachExpiry = expiry;
+        }
+
+        /**
+         * @return 유예 시간이 이미 만료되어 정리 중이면 false
+         */
+        synchronized boolean attach() {
+            if (detachExpired) {
+                return false;
+            }
+            if (detachExpiry != null) {
+                detachExpiry.cancel(false);
+                detachExpiry = null;
+            }
+            detachedAt = null;
+            return true;
+        }
+
+        /**
+         * @return 아직 분리 상태라면 만료 처리하고 true (이후 attach 불가)
+         */
+        synchronized boolean expireDetached() {
+            if (detachedAt == null) {
+                return false;
+            }
+            detachExpired = true;
+            return true;
+        }
+
+        synchronized Instant getDetachedAt() {
+            return detachedAt;
         }
 
         void setCurrentPath(String path) {
@@ -0,0 +1,225 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.TerminalMessage;
+import com.sshmonitor.dto.TerminalSessionStatsResponse.ViewerStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션 출력을 함께 보는 viewer 목록 (소유자 패널 외의 WebSocket 연결).
+ * 채널 출력은 세션에서 한 번만 읽고, 병합된 프레임을 소유자에게 보낸 뒤 같은 프레임을 각 viewer 전송 대상으로 보낸다.
+ * viewer 마다 미전송 바이트를 따로 보고 max-lag-bytes 를 넘으면 그 viewer 로의 전송만 건너뛰며,
+ * 따라잡으면 스크롤백에서 빠진 구간(최대 resync-bytes)을 다시 보낸다. 소유자의 흐름 제어와 채널 읽기에는 영향이 없다.
+ * publish, resync, attach 시 초기 화면 전송은 세션 출력 병합기의 락 안에서 호출되어 출력 순서가 유지된다.
+ */
+class TerminalViewers {
+
+    static final String MODE_READ = "read";
+    static final String MODE_WRITE = "write";
+
+    private final String sessionId;
+    private final long maxLagBytes;
+    private final long resumeLagBytes;
+    private final int resyncBytes;
+    private final Map<String, Viewer> viewers = new ConcurrentHashMap<>();
+
+    TerminalViewers(String sessionId, long maxLagBytes, int resyncBytes) {
+        this.sessionId = sessionId;
+        this.maxLagBytes = maxLagBytes;
+        // 따라잡은 것으로 보는 기준 (한도 근처에서 건너뛰기/재전송이 반복되지 않도록 여유를 둠)
+        this.resumeLagBytes = maxLagBytes / 4;
+        this.resyncBytes = resyncBytes;
+    }
+
+    /**
+     * 같은 viewerId 가 이미 있으면 교체 (재연결한 viewer)
+     *
+     * @param deliveredOffset 초기 화면으로 보낸 출력의 끝 위치
+     */
+    void attach(String viewerId, String connectionId, boolean writable, TerminalOutputSink sink, long deliveredOffset) {
+        viewers.put(viewerId, new Viewer(viewerId, connectionId, writable, sink, deliveredOffset));
+    }
+
+    boolean remove(String viewerId, String connectionId) {
+        Viewer viewer = viewers.get(viewerId);
+        return viewer != null && Objects.equals(viewer.connectionId, connectionId) && viewers.remove(viewerId, viewer);
+    }
+
+    /**
+     * WebSocket 연결이 끊기면 그 연결의 viewer 를 모두 제거
+     *
+     * @return 제거한 viewer 수
+     */
+    int removeConnection(String connectionId) {
+        int removed = 0;
+        for (Viewer viewer : viewers.values()) {
+            if (Objects.equals(viewer.connectionId, connectionId) && viewers.remove(viewer.viewerId, viewer)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    boolean contains(String viewerId) {
+        return viewers.containsKey(viewerId);
+    }
+
+    int size() {
+        return viewers.size();
+    }
+
+    /**
+     * 이 연결이 쓰기 가능한 viewer 로 붙어 있으면 true
+     */
+    boolean isWritable(String connectionId) {
+        if (viewers.isEmpty() || connectionId == null) {
+            return false;
+        }
+        for (Viewer viewer : viewers.values()) {
+            if (viewer.writable && Objects.equals(viewer.connectionId, connectionId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 소유자에게 보낸 출력 프레임을 각 viewer 에게 전송 (밀린 viewer 는 건너뜀)
+     *
+     * @return 이번 호출로 밀린 상태가 된 viewer 가 있으면 true (재전송 확인 예약 필요)
+     */
+    boolean publish(byte[] data, int offset, int length, long endOffset) {
+        if (viewers.isEmpty()) {
+            return false;
+        }
+        boolean newlyLagging = false;
+        for (Viewer viewer : viewers.values()) {
+            if (viewer.lagging) {
+                viewer.skippedBytes += length;
+                continue;
+            }
+            long pending = viewer.sink.getPendingBytes(sessionId);
+            viewer.maxPendingBytes = Math.max(viewer.maxPendingBytes, pending);
+            if (pending >= maxLagBytes) {
+                viewer.lagging = true;
+                viewer.lagEvents++;
+                viewer.skippedBytes += length;
+                newlyLagging = true;
+                continue;
+            }
+            viewer.sink.sendOutput(sessionId, data, offset, length, endOffset);
+            viewer.deliveredOffset = endOffset;
+        }
+        return newlyLagging;
+    }
+
+    /**
+     * 따라잡은 viewer 에게 건너뛴 구간을 스크롤백에서 다시 보낸다 (resync-bytes 보다 많이 밀렸으면 마지막 부분만)
+     *
+     * @return 아직 밀려 있는 viewer 가 남아 있으면 true
+     */
+    boolean resync(TerminalScrollbackBuffer scrollback) {
+        boolean stillLagging = false;
+        for (Viewer viewer : viewers.values()) {
+            if (!viewer.lagging) {
+                continue;
+            }
+            if (viewer.sink.getPendingBytes(sessionId) > resumeLagBytes) {
+                stillLagging = true;
+                continue;
+            }
+
+            long delivered = viewer.deliveredOffset;
+            TerminalScrollbackBuffer.Chunk missed = scrollback.getEndOffset() - delivered > resyncBytes
+                ? scrollback.tail(resyncBytes)
+                : scrollback.readFrom(delivered);
+            long lostBytes = Math.max(0, missed.offset() - delivered);
+
+            viewer.sink.sendMessage(sessionId, TerminalMessage.resumed(sessionId, missed.offset(), lostBytes));
+            if (missed.data().length > 0) {
+                viewer.sink.sendOutput(sessionId, missed.data(), 0, missed.data().length, missed.endOffset());
+            }
+            viewer.deliveredOffset = missed.endOffset();
+            viewer.lostBytes += lostBytes;
+            viewer.resyncs++;
+            viewer.lagging = false;
+        }
+        return stillLagging;
+    }
+
+    void sendMessage(TerminalMessage message) {
+        for (Viewer viewer : viewers.values()) {
+            viewer.sink.sendMessage(sessionId, message);
+        }
+    }
+
+    void sendMessage(String connectionId, TerminalMessage message) {
+        for (Viewer viewer : viewers.values()) {
+            if (Objects.equals(viewer.connectionId, connectionId)) {
+                viewer.sink.sendMessage(sessionId, message);
+            }
+        }
+    }
+
+    /**
+     * 세션 종료: 모든 viewer 에게 상태를 알리고 목록을 비운다
+     */
+    void close(TerminalMessage message) {
+        sendMessage(message);
+        viewers.clear();
+    }
+
+    List<ViewerStats> getStats(long endOffset) {
+        if (viewers.isEmpty()) {
+            return List.of();
+        }
+        long now = System.nanoTime();
+        List<ViewerStats> stats = new ArrayList<>(viewers.size());
+        for (Viewer viewer : viewers.values()) {
+            stats.add(new ViewerStats(
+                viewer.viewerId,
+                viewer.writable ? MODE_WRITE : MODE_READ,
+                (now - viewer.attachedAtNanos) / 1_000_000_000L,
+                viewer.sink.getPendingBytes(sessionId),
+                viewer.maxPendingBytes,
+                Math.max(0, endOffset - viewer.deliveredOffset),
+                viewer.lagging,
+                viewer.lagEvents,
+                viewer.resyncs,
+                viewer.skippedBytes,
+                viewer.lostBytes
+            ));
+        }
+        return stats;
+    }
+
+    /**
+     * 상태 값은 병합기 락 안에서만 변경하고, 통계 조회용으로 volatile 로 읽는다
+     */
+    private static class Viewer {
+        final String viewerId;
+        final String connectionId;
+        final boolean writable;
+        final TerminalOutputSink sink;
+        final long attachedAtNanos = System.nanoTime();
+        volatile long deliveredOffset;
+        volatile boolean lagging;
+        volatile long maxPendingBytes;
+        volatile long lagEvents;
+        volatile long resyncs;
+        volatile long skippedBytes;
+        volatile long lostBytes;
+
+        Viewer(String viewerId, String connectionId, boolean writable, TerminalOutputSink sink, long deliveredOffset) {
+            this.viewerId = viewerId;
+            this.connectionId = connectionId;
+            this.writable = writable;
+            this.sink = sink;
+            this.deliveredOffset = deliveredOffset;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.ThreadDiagnosticsResponse;
+
+public interface ThreadDiagnosticsService {
+
+    /**
+     * 스레드 수, 스택 메모리 추정치, 가상 스레드 pinning 통계를 조회합니다.
+     */
+    ThreadDiagnosticsResponse getDiagnostics();
+}
@@ -0,0 +1,148 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.ThreadDiagnosticsResponse;
+import com.sshmonitor.dto.ThreadDiagnosticsResponse.PinnedSite;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+public class ThreadDiagnosticsServiceImpl implements ThreadDiagnosticsService {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_PINNED_SITES = 10;
+
+    private final LongAdder pinnedEventCount = new LongAdder();
+    private final LongAdder pinnedTotalNanos = new LongAdder();
+    private final Map<String, PinnedCounter> pinnedSites = new ConcurrentHashMap<>();
+
+    private RecordingStream recordingStream;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // 이 시간 이상 고정된 경우만 기록 (JFR 기본값 20ms)
+    @Value("${terminal.diagnostics.pinned-threshold-ms:20}")
+    private long pinnedThresholdMs;
+
+    @PostConstruct
+    public void startPinningMonitor() {
+        if (!virtualThreads) {
+            return;
+        }
+
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(pinnedThresholdMs))
+                .withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::recordPinnedEvent);
+            recordingStream.startAsync();
+            log.info("Virtual thread pinning monitor started (threshold: {}ms)", pinnedThresholdMs);
+        } catch (Exception e) {
+            log.warn("Failed to start virtual thread pinning monitor: {}", e.getMessage());
+            recordingStream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stopPinningMonitor() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    @Override
+    public ThreadDiagnosticsResponse getDiagnostics() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        int platformThreads = threadMXBean.getThreadCount();
+        long stackSize = getThreadStackSizeBytes();
+
+        List<PinnedSite> topSites = pinnedSites.entrySet().stream()
+            .map(entry -> new PinnedSite(
+                entry.getKey(),
+                entry.getValue().count.sum(),
+                Duration.ofNanos(entry.getValue().totalNanos.sum()).toMillis()
+            ))
+            .sorted(Comparator.comparingLong(PinnedSite::totalMillis).reversed())
+            .limit(MAX_PINNED_SITES)
+            .toList();
+
+        return new ThreadDiagnosticsResponse(
+            virtualThreads,
+            platformThreads,
+            threadMXBean.getPeakThreadCount(),
+            threadMXBean.getDaemonThreadCount(),
+            countCarrierThreads(),
+            stackSize,
+            platformThreads * stackSize,
+            pinnedEventCount.sum(),
+            Duration.ofNanos(pinnedTotalNanos.sum()).toMillis(),
+            topSites
+        );
+    }
+
+    private void recordPinnedEvent(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        pinnedEventCount.increment();
+        pinnedTotalNanos.add(nanos);
+
+        PinnedCounter counter = pinnedSites.computeIfAbsent(resolvePinnedSite(event), key -> new PinnedCounter());
+        counter.count.increment();
+        counter.totalNanos.add(nanos);
+    }
+
+    /**
+     * 스택에서 애플리케이션 코드 프레임을 우선 선택하고, 없으면 최상단 프레임을 사용
+     */
+    private String resolvePinnedSite(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "unknown";
+        }
+
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        RecordedFrame selected = frames.stream()
+            .filter(frame -> frame.getMethod().getType().getName().startsWith("com.sshmonitor"))
+            .findFirst()
+            .orElse(frames.get(0));
+        return selected.getMethod().getType().getName() + "." + selected.getMethod().getName()
+            + ":" + selected.getLineNumber();
+    }
+
+    private int countCarrierThreads() {
+        return (int) Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().startsWith("ForkJoinPool-") && thread.getName().contains("-worker-"))
+            .count();
+    }
+
+    private long getThreadStackSizeBytes() {
+        try {
+            HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            // ThreadStackSize는 KB 단위
+            return Long.parseLong(hotSpot.getVMOption("ThreadStackSize").getValue()) * 1024;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static class PinnedCounter {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+    }
+}
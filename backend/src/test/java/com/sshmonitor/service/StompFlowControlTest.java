@@ -0,0 +1,132 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.config.StompOutboundTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * STOMP 출력 흐름 제어 테스트.
+ * 브로커 채널은 발행된 메시지를 쌓아 두기만 한다 (구독자의 순서 보장 큐에서 멈춘 상태).
+ * 쌓인 메시지를 clientOutboundChannel 에서 처리한 것처럼 afterMessageHandled 를 호출하면 구독자가 따라잡은 상태.
+ */
+class StompFlowControlTest {
+
+    private static final String SESSION_ID = "s1";
+    private static final int CHUNK = 32 * 1024;
+    private static final long HIGH_WATERMARK = 1024 * 1024;
+    private static final long LOW_WATERMARK = 256 * 1024;
+
+    private final List<Message<?>> queued = new ArrayList<>();
+    private StompOutboundTracker tracker;
+    private StompTerminalOutputSink sink;
+    private TerminalFlowController flowController;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new StompOutboundTracker();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        brokerChannel.subscribe(queued::add);
+        sink = new StompTerminalOutputSink(new SimpMessagingTemplate(brokerChannel), tracker);
+        flowController = new TerminalFlowController(SESSION_ID, sink, null, true, TerminalFlowController.POLICY_PAUSE,
+            HIGH_WATERMARK, LOW_WATERMARK, 0);
+    }
+
+    @Test
+    void stalledSubscriberPausesReading() {
+        subscribe("ws1", "sub-0");
+
+        int sent = 0;
+        while (!flowController.shouldPauseReading() && sent < 64) {
+            sink.sendOutput(SESSION_ID, chunk(), 0, CHUNK);
+            sent++;
+        }
+
+        assertTrue(flowController.isThrottled());
+        assertEquals(HIGH_WATERMARK / CHUNK, sent);
+        assertEquals(HIGH_WATERMARK, tracker.getPendingBytes(SESSION_ID));
+        assertFalse(flowController.tryRelease());
+
+        // 구독자가 따라잡으면 해제
+        deliver(queued.size());
+        assertEquals(0, tracker.getPendingBytes(SESSION_ID));
+        assertTrue(flowController.tryRelease());
+        assertFalse(flowController.shouldPauseReading());
+    }
+
+    @Test
+    void releasesOnlyBelowLowWatermark() {
+        subscribe("ws1", "sub-0");
+        for (int i = 0; i < HIGH_WATERMARK / CHUNK; i++) {
+            sink.sendOutput(SESSION_ID, chunk(), 0, CHUNK);
+        }
+        assertTrue(flowController.shouldPauseReading());
+
+        deliver((int) ((HIGH_WATERMARK - LOW_WATERMARK) / CHUNK) - 1);
+        assertFalse(flowController.tryRelease());
+        deliver(1);
+        assertEquals(LOW_WATERMARK, tracker.getPendingBytes(SESSION_ID));
+        assertTrue(flowController.tryRelease());
+    }
+
+    @Test
+    void outputWithoutSubscriberIsNotCounted() {
+        for (int i = 0; i < 64; i++) {
+            sink.sendOutput(SESSION_ID, chunk(), 0, CHUNK);
+        }
+
+        assertEquals(0, tracker.getPendingBytes(SESSION_ID));
+        assertFalse(flowController.shouldPauseReading());
+    }
+
+    @Test
+    void disconnectDropsPendingBytes() {
+        subscribe("ws1", "sub-0");
+        for (int i = 0; i < HIGH_WATERMARK / CHUNK; i++) {
+            sink.sendOutput(SESSION_ID, chunk(), 0, CHUNK);
+        }
+        assertTrue(flowController.shouldPauseReading());
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT);
+        accessor.setSessionId("ws1");
+        tracker.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+
+        assertEquals(0, tracker.getPendingBytes(SESSION_ID));
+        assertTrue(flowController.tryRelease());
+    }
+
+    private void subscribe(String wsSessionId, String subscriptionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(wsSessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination("/topic/terminal/" + SESSION_ID);
+        tracker.preSend(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), null);
+    }
+
+    private void deliver(int count) {
+        for (int i = 0; i < count; i++) {
+            Message<?> message = queued.remove(0);
+            tracker.preSend(message, null);
+            tracker.afterMessageHandled(message, null, null, null);
+        }
+    }
+
+    private static byte[] chunk() {
+        byte[] data = new byte[CHUNK];
+        Arrays.fill(data, (byte) 'a');
+        return data;
+    }
+}
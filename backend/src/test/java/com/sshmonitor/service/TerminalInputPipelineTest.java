@@ -0,0 +1,223 @@
+package com.sshmonitor.service;
+
+import com.sshmonitor.dto.TerminalSessionStatsResponse.InputStats;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TerminalInputPipeline 단위 테스트.
+ * 채널 대신 FakeWriter 로 청크를 기록하고, 쓰기 완료 시점(호출 안에서 바로 / 나중에)을 테스트에서 정한다.
+ */
+class TerminalInputPipelineTest {
+
+    private static final int MIN_CHUNK = 1024;
+    private static final int MAX_CHUNK = 32 * 1024;
+
+    @Test
+    void synchronousCompletionWritesEachMessageInCallingThread() {
+        FakeWriter writer = new FakeWriter(true);
+        List<Throwable> written = new ArrayList<>();
+        TerminalInputPipeline pipeline = pipeline(writer, MAX_CHUNK, 1024 * 1024);
+
+        assertTrue(pipeline.submit(bytes("ls"), 0, written::add));
+        assertTrue(pipeline.submit(bytes("\r"), 0, written::add));
+
+        assertEquals(List.of("ls", "\r"), writer.chunkStrings());
+        assertEquals(2, written.size());
+        written.forEach(error -> assertNull(error));
+        InputStats stats = pipeline.getStats();
+        assertEquals(2, stats.chunksOut());
+        assertEquals(0, stats.mergedWrites());
+        assertEquals(0, stats.pendingBytes());
+    }
+
+    @Test
+    void deferredCompletionContinuesFromCallback() {
+        FakeWriter writer = new FakeWriter(false);
+        List<Throwable> written = new ArrayList<>();
+        TerminalInputPipeline pipeline = pipeline(writer, MAX_CHUNK, 1024 * 1024);
+
+        assertTrue(pipeline.submit(bytes("a"), 0, written::add));
+        assertEquals(1, writer.chunks.size());
+        assertTrue(written.isEmpty());
+
+        assertTrue(pipeline.submit(bytes("b"), 0, written::add));
+        // 이전 쓰기가 끝나기 전에는 다음 청크를 쓰지 않음
+        assertEquals(1, writer.chunks.size());
+        assertEquals(1, pipeline.getStats().pendingBytes());
+
+        writer.completeNext();
+        assertEquals(1, written.size());
+        assertEquals(List.of("a", "b"), writer.chunkStrings());
+
+        writer.completeNext();
+        assertEquals(2, written.size());
+        assertTrue(writer.pending.isEmpty());
+        assertEquals(0, pipeline.getStats().pendingBytes());
+    }
+
+    @Test
+    void largePasteIsSplitByRemoteWindow() {
+        FakeWriter writer = new FakeWriter(false);
+        List<Throwable> written = new ArrayList<>();
+        int window = 4096;
+        TerminalInputPipeline pipeline = pipeline(writer, window, 2 * 1024 * 1024);
+
+        byte[] paste = new byte[1024 * 1024];
+        for (int i = 0; i < paste.length; i++) {
+            paste[i] = (byte) ('a' + i % 26);
+        }
+        assertTrue(pipeline.submit(paste, 0, written::add));
+
+        while (!writer.pending.isEmpty()) {
+            // 마지막 청크가 쓰이기 전에는 완료 통지 없음
+            assertTrue(written.isEmpty());
+            writer.completeNext();
+        }
+
+        assertEquals(paste.length / window, writer.chunks.size());
+        writer.chunks.forEach(chunk -> assertEquals(window, chunk.length));
+        assertArrayEquals(paste, writer.concat());
+        assertEquals(1, written.size());
+        assertNull(written.get(0));
+
+        InputStats stats = pipeline.getStats();
+        assertEquals(1, stats.splitFrames());
+        assertEquals(paste.length, stats.bytesOut());
+        assertEquals(0, stats.pendingBytes());
+    }
+
+    @Test
+    void keystrokesAreMergedWhileWriteIsPending() {
+        FakeWriter writer = new FakeWriter(false);
+        List<Long> dispatched = new ArrayList<>();
+        TerminalInputPipeline pipeline = new TerminalInputPipeline(writer, () -> MAX_CHUNK, MIN_CHUNK, MAX_CHUNK,
+            1024 * 1024, dispatched::add, error -> { });
+
+        assertTrue(pipeline.submit(bytes("l"), 1));
+        assertTrue(pipeline.submit(bytes("s"), 2));
+        assertTrue(pipeline.submit(bytes(" "), 3));
+        assertTrue(pipeline.submit(bytes("-"), 4));
+        assertEquals(List.of(1L), dispatched);
+
+        writer.completeNext();
+        assertEquals(List.of("l", "s -"), writer.chunkStrings());
+        // 합쳐진 메시지의 측정 토큰은 모두 함께 넘겨짐
+        assertEquals(List.of(1L, 2L, 3L, 4L), dispatched);
+
+        writer.completeNext();
+        InputStats stats = pipeline.getStats();
+        assertEquals(4, stats.framesIn());
+        assertEquals(2, stats.chunksOut());
+        assertEquals(1, stats.mergedWrites());
+    }
+
+    @Test
+    void messageOverMaxPendingBytesIsRejected() {
+        FakeWriter writer = new FakeWriter(false);
+        List<Throwable> written = new ArrayList<>();
+        TerminalInputPipeline pipeline = pipeline(writer, MAX_CHUNK, 8);
+
+        // 첫 메시지는 바로 청크로 넘어가 대기 입력에 포함되지 않음
+        assertTrue(pipeline.submit(bytes("12345"), 0, written::add));
+        assertTrue(pipeline.submit(bytes("123456"), 0, written::add));
+        assertFalse(pipeline.submit(bytes("123"), 0, written::add));
+        assertTrue(pipeline.submit(bytes("12"), 0, written::add));
+
+        InputStats stats = pipeline.getStats();
+        assertEquals(8, stats.pendingBytes());
+        assertEquals(1, stats.rejectedFrames());
+        assertEquals(3, stats.rejectedBytes());
+
+        writer.completeNext();
+        writer.completeNext();
+        assertEquals(List.of("12345", "12345612"), writer.chunkStrings());
+        // 거부된 메시지는 완료 통지 없음
+        assertEquals(3, written.size());
+    }
+
+    @Test
+    void closeDuringInFlightWriteDropsQueuedInput() {
+        FakeWriter writer = new FakeWriter(false);
+        List<Throwable> written = new ArrayList<>();
+        TerminalInputPipeline pipeline = pipeline(writer, MAX_CHUNK, 1024 * 1024);
+
+        assertTrue(pipeline.submit(bytes("a"), 0, written::add));
+        assertTrue(pipeline.submit(bytes("b"), 0, written::add));
+
+        pipeline.close();
+        // 대기 중이던 b 는 세션 종료로 실패 통지
+        assertEquals(1, written.size());
+        assertInstanceOf(IOException.class, written.get(0));
+        assertFalse(pipeline.submit(bytes("c"), 0, written::add));
+
+        // 진행 중이던 a 의 쓰기가 끝나도 더 쓰지 않음
+        writer.completeNext();
+        assertEquals(2, written.size());
+        assertNull(written.get(1));
+        assertEquals(List.of("a"), writer.chunkStrings());
+        assertTrue(writer.pending.isEmpty());
+        assertEquals(0, pipeline.getStats().pendingBytes());
+    }
+
+    private static TerminalInputPipeline pipeline(FakeWriter writer, long window, long maxPendingBytes) {
+        return new TerminalInputPipeline(writer, () -> window, MIN_CHUNK, MAX_CHUNK, maxPendingBytes,
+            token -> { }, error -> { });
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * synchronous 이면 write() 안에서 바로 완료, 아니면 completeNext() 호출 시 완료
+     */
+    private static final class FakeWriter implements TerminalInputPipeline.ChunkWriter {
+
+        final boolean synchronous;
+        final List<byte[]> chunks = new ArrayList<>();
+        final ArrayDeque<Consumer<Throwable>> pending = new ArrayDeque<>();
+
+        FakeWriter(boolean synchronous) {
+            this.synchronous = synchronous;
+        }
+
+        @Override
+        public void write(byte[] chunk, Consumer<Throwable> done) {
+            chunks.add(chunk);
+            if (synchronous) {
+                done.accept(null);
+            } else {
+                pending.add(done);
+            }
+        }
+
+        void completeNext() {
+            pending.poll().accept(null);
+        }
+
+        List<String> chunkStrings() {
+            return chunks.stream().map(chunk -> new String(chunk, StandardCharsets.UTF_8)).toList();
+        }
+
+        byte[] concat() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            chunks.forEach(out::writeBytes);
+            return out.toByteArray();
+        }
+    }
+}